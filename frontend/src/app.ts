@@ -30,6 +30,57 @@ interface Balance {
     initialBalance: number;
 }
 
+interface AnalyticsPoint {
+    key: string;
+    income: number;
+    expense: number;
+    net: number;
+    count: number;
+    previousIncome?: number | null;
+    previousExpense?: number | null;
+    incomeChangePercent?: number | null;
+    expenseChangePercent?: number | null;
+}
+
+interface AnalyticsResponse {
+    from: string;
+    to: string;
+    groupBy: string;
+    yearOverYear: boolean;
+    series: AnalyticsPoint[];
+    totals: AnalyticsPoint;
+}
+
+interface TransactionFilters {
+    type?: string;
+    category?: string;
+    from?: string;
+    to?: string;
+    minAmount?: number;
+    maxAmount?: number;
+    q?: string;
+    cursor?: string;
+    limit?: number;
+    totals?: boolean;
+}
+
+interface TransactionPage {
+    transactions: Transaction[];
+    nextCursor: string | null;
+    hasMore: boolean;
+    totalCount?: number | null;
+    totalIncome?: number | null;
+    totalExpense?: number | null;
+}
+
+interface BalanceSummary {
+    totalBalance: number;
+    totalIncome: number;
+    totalExpense: number;
+    initialBalance: number;
+    transactionCount: number;
+}
+
 interface Category {
     name: string;
     displayName: string;
@@ -61,15 +112,56 @@ interface ActivityLog {
  */
 class MoneyMateAPI {
     private baseUrl: string;
+    // Response terakhir per URL + ETag-nya, untuk conditional GET (If-None-Match)
+    private etagCache = new Map<string, { etag: string; body: any }>();
 
     constructor(baseUrl: string) {
         this.baseUrl = baseUrl;
     }
 
+    /**
+     * GET dengan validator: server membalas 304 tanpa body jika data belum berubah
+     */
+    private async getJson<T>(path: string, errorMessage: string): Promise<T> {
+        const url = `${this.baseUrl}${path}`;
+        const cached = this.etagCache.get(url);
+        const response = await fetch(url, {
+            cache: 'no-store',
+            headers: cached ? { 'If-None-Match': cached.etag } : {}
+        });
+
+        if (response.status === 304 && cached) return cached.body as T;
+        if (!response.ok) {
+            const error = await response.json().catch(() => ({}));
+            throw new Error(error.error || errorMessage);
+        }
+
+        const body = await response.json();
+        const etag = response.headers.get('ETag');
+        if (etag) {
+            this.etagCache.delete(url);
+            this.etagCache.set(url, { etag, body });
+            // Batasi ukuran cache: buang entri paling lama
+            if (this.etagCache.size > 100) {
+                const oldest = this.etagCache.keys().next().value;
+                if (oldest !== undefined) this.etagCache.delete(oldest);
+            }
+        }
+        return body as T;
+    }
+
     async getTransactions(): Promise<Transaction[]> {
-        const response = await fetch(`${this.baseUrl}/transactions`);
-        if (!response.ok) throw new Error('Failed to fetch transactions');
-        return response.json();
+        return this.getJson<Transaction[]>('/transactions', 'Failed to fetch transactions');
+    }
+
+    // Filter + keyset pagination dijalankan di server (SQL)
+    async getTransactionsPage(filters: TransactionFilters): Promise<TransactionPage> {
+        const query = new URLSearchParams();
+        Object.entries(filters).forEach(([key, value]) => {
+            if (value !== undefined && value !== null && value !== '') query.set(key, String(value));
+        });
+        if (!query.has('limit')) query.set('limit', '50');
+        return this.getJson<TransactionPage>(`/transactions?${query.toString()}`, 'Failed to fetch transactions');
     }
 
     async addTransaction(data: any): Promise<any> {
@@ -94,9 +186,7 @@ class MoneyMateAPI {
     }
 
     async getBalance(): Promise<Balance> {
-        const response = await fetch(`${this.baseUrl}/balance`);
-        if (!response.ok) throw new Error('Failed to fetch balance');
-        return response.json();
+        return this.getJson<Balance>('/balance', 'Failed to fetch balance');
     }
 
     async getCategories(): Promise<CategoryResponse> {
@@ -106,9 +196,16 @@ class MoneyMateAPI {
     }
 
     async getMonthlyReport(month: string): Promise<any> {
-        const response = await fetch(`${this.baseUrl}/report/${month}`);
-        if (!response.ok) throw new Error('Failed to fetch report');
-        return response.json();
+        return this.getJson<any>(`/report/${month}`, 'Failed to fetch report');
+    }
+
+    async getAnalytics(params: { from?: string; to?: string; groupBy?: string; yoy?: boolean } = {}): Promise<AnalyticsResponse> {
+        const query = new URLSearchParams();
+        if (params.from) query.set('from', params.from);
+        if (params.to) query.set('to', params.to);
+        if (params.groupBy) query.set('groupBy', params.groupBy);
+        if (params.yoy) query.set('yoy', 'true');
+        return this.getJson<AnalyticsResponse>(`/analytics?${query.toString()}`, 'Failed to fetch analytics');
     }
 
     async initUser(data: any): Promise<any> {
@@ -170,6 +267,11 @@ class MoneyMateUI {
     private categories: CategoryResponse | null = null;
     private currentUser: User | null = null;
     private currentPage: string = 'dashboard';
+    private loadedTransactions: Transaction[] = [];
+    private transactionsCursor: string | null = null;
+    private searchDebounceTimer: number | undefined;
+    private recentTransactions: Transaction[] = [];
+    private streamConnected: boolean = false;
 
     constructor(api: MoneyMateAPI) {
         this.api = api;
@@ -183,6 +285,80 @@ class MoneyMateUI {
         this.setDefaultDate();
         this.updateAddPreview();
         await this.loadDashboard();
+        this.connectStream();
+    }
+
+    /**
+     * Live update lewat Server-Sent Events (EventSource reconnect otomatis).
+     * Delta diterapkan langsung ke data yang sudah tampil, tanpa polling.
+     */
+    private connectStream(): void {
+        if (typeof EventSource === 'undefined') return;
+
+        const source = new EventSource(`${API_BASE_URL}/stream`);
+        const parse = (e: Event) => JSON.parse((e as MessageEvent).data);
+
+        source.onopen = () => { this.streamConnected = true; };
+        source.onerror = () => { this.streamConnected = false; };
+        source.addEventListener('balance', e => this.applyBalance(parse(e).balance));
+        source.addEventListener('added', e => this.applyTransactionUpsert(parse(e).transaction, true));
+        source.addEventListener('updated', e => this.applyTransactionUpsert(parse(e).transaction, false));
+        source.addEventListener('deleted', e => this.applyTransactionDelete(parse(e).transactionId));
+        source.addEventListener('resync', () => this.reloadCurrentPage());
+    }
+
+    private applyBalance(balance: BalanceSummary): void {
+        this.renderBalance(balance.totalBalance, balance.totalIncome, balance.totalExpense, balance.transactionCount);
+        if (!this.hasActiveFilters()) {
+            this.updateTransactionStats(balance.transactionCount, balance.totalIncome, balance.totalExpense);
+        }
+        if (this.currentPage === 'dashboard') {
+            this.loadCategoryBreakdown();
+        }
+    }
+
+    private applyTransactionUpsert(tx: Transaction, isNew: boolean): void {
+        const byNewest = (a: Transaction, b: Transaction) =>
+            b.date.localeCompare(a.date) || b.transactionId.localeCompare(a.transactionId);
+
+        const recent = this.recentTransactions.filter(t => t.transactionId !== tx.transactionId);
+        recent.push(tx);
+        this.recentTransactions = recent.sort(byNewest).slice(0, 5);
+        this.renderRecentTransactions();
+
+        const index = this.loadedTransactions.findIndex(t => t.transactionId === tx.transactionId);
+        if (index >= 0) {
+            this.loadedTransactions[index] = tx;
+            this.loadedTransactions.sort(byNewest);
+        } else if (isNew && !this.hasActiveFilters()) {
+            // Hanya sisipkan jika masuk rentang halaman yang sudah dimuat
+            const last = this.loadedTransactions[this.loadedTransactions.length - 1];
+            if (!this.transactionsCursor || !last || byNewest(tx, last) < 0) {
+                this.loadedTransactions.push(tx);
+                this.loadedTransactions.sort(byNewest);
+            }
+        }
+        if (this.currentPage === 'transactions') this.renderTransactions(this.loadedTransactions);
+    }
+
+    private applyTransactionDelete(transactionId: string): void {
+        const before = this.recentTransactions.length;
+        this.recentTransactions = this.recentTransactions.filter(t => t.transactionId !== transactionId);
+        if (this.recentTransactions.length !== before) {
+            // Isi ulang daftar terbaru (5 item) dari server
+            this.loadRecentTransactions();
+        }
+
+        this.loadedTransactions = this.loadedTransactions.filter(t => t.transactionId !== transactionId);
+        if (this.currentPage === 'transactions') this.renderTransactions(this.loadedTransactions);
+    }
+
+    private reloadCurrentPage(): void {
+        if (this.currentPage === 'transactions') {
+            this.loadTransactionsPage();
+        } else {
+            this.loadDashboard();
+        }
     }
 
     private async loadCategories(): Promise<void> {
@@ -241,7 +417,11 @@ class MoneyMateUI {
         filterType?.addEventListener('change', () => this.loadTransactionsPage());
 
         const filterSearch = document.getElementById('filterSearch') as HTMLInputElement;
-        filterSearch?.addEventListener('input', () => this.loadTransactionsPage());
+        filterSearch?.addEventListener('input', () => {
+            // Debounce: satu request setelah user berhenti mengetik
+            window.clearTimeout(this.searchDebounceTimer);
+            this.searchDebounceTimer = window.setTimeout(() => this.loadTransactionsPage(), 300);
+        });
 
         const filterStartDate = document.getElementById('filterStartDate') as HTMLInputElement;
         const filterEndDate = document.getElementById('filterEndDate') as HTMLInputElement;
@@ -385,70 +565,76 @@ class MoneyMateUI {
     private async updateBalance(): Promise<void> {
         try {
             const balance = await this.api.getBalance();
-
-            const balanceEl = document.getElementById('totalBalance');
-            const incomeEl = document.getElementById('totalIncome');
-            const expenseEl = document.getElementById('totalExpense');
-
-            if (balanceEl) balanceEl.textContent = `Rp ${this.formatNumber(balance.totalBalance)}`;
-            if (incomeEl) incomeEl.textContent = `Rp ${this.formatNumber(balance.totalIncome)}`;
-            if (expenseEl) expenseEl.textContent = `Rp ${this.formatNumber(balance.totalExpense)}`;
-
-            // Update transaction count
-            const transactions = await this.api.getTransactions();
-            const countEl = document.getElementById('totalTransactions');
-            if (countEl) countEl.textContent = transactions.length.toString();
+            // Jumlah transaksi dari COUNT di server, bukan dari seluruh list
+            const page = await this.api.getTransactionsPage({ limit: 1, totals: true });
+            this.renderBalance(balance.totalBalance, balance.totalIncome, balance.totalExpense, page.totalCount ?? 0);
         } catch (error) {
             console.error('Failed to update balance:', error);
         }
     }
 
+    private renderBalance(totalBalance: number, totalIncome: number, totalExpense: number, count: number): void {
+        const balanceEl = document.getElementById('totalBalance');
+        const incomeEl = document.getElementById('totalIncome');
+        const expenseEl = document.getElementById('totalExpense');
+        const countEl = document.getElementById('totalTransactions');
+
+        if (balanceEl) balanceEl.textContent = `Rp ${this.formatNumber(totalBalance)}`;
+        if (incomeEl) incomeEl.textContent = `Rp ${this.formatNumber(totalIncome)}`;
+        if (expenseEl) expenseEl.textContent = `Rp ${this.formatNumber(totalExpense)}`;
+        if (countEl) countEl.textContent = count.toString();
+    }
+
     private async loadRecentTransactions(): Promise<void> {
         try {
-            const transactions = await this.api.getTransactions();
-            const recent = transactions.slice(0, 5);
-            const container = document.getElementById('recentTransactions');
+            const page = await this.api.getTransactionsPage({ limit: 5 });
+            this.recentTransactions = page.transactions;
+            this.renderRecentTransactions();
+        } catch (error) {
+            console.error('Failed to load recent transactions:', error);
+        }
+    }
 
-            if (!container) return;
+    private renderRecentTransactions(): void {
+        const recent = this.recentTransactions;
+        const container = document.getElementById('recentTransactions');
 
-            if (recent.length === 0) {
-                container.innerHTML = '<p class="empty-state">No recent transactions</p>';
-                return;
-            }
+        if (!container) return;
 
-            container.innerHTML = recent.map(tx => {
-                const escapeHtml = (text: string) => {
-                    const div = document.createElement('div');
-                    div.textContent = text;
-                    return div.innerHTML;
-                };
-                return `
-                    <div style="display: flex; justify-content: space-between; align-items: center; padding: 8px 0; border-bottom: 1px solid var(--border-color);">
-                        <div>
-                            <div style="font-weight: 500;">${escapeHtml(tx.description)}</div>
-                            <div style="font-size: 12px; color: var(--text-muted);">${this.formatDate(tx.date)}</div>
-                        </div>
-                        <div style="font-weight: 600; color: ${tx.transactionType === 'PEMASUKAN' ? '#10b981' : '#ef4444'};">
-                            ${tx.transactionType === 'PEMASUKAN' ? '+' : '-'}Rp ${this.formatNumber(tx.amount)}
-                        </div>
-                    </div>
-                `;
-            }).join('');
-        } catch (error) {
-            console.error('Failed to load recent transactions:', error);
+        if (recent.length === 0) {
+            container.innerHTML = '<p class="empty-state">No recent transactions</p>';
+            return;
         }
+
+        container.innerHTML = recent.map(tx => {
+            const escapeHtml = (text: string) => {
+                const div = document.createElement('div');
+                div.textContent = text;
+                return div.innerHTML;
+            };
+            return `
+                <div style="display: flex; justify-content: space-between; align-items: center; padding: 8px 0; border-bottom: 1px solid var(--border-color);">
+                    <div>
+                        <div style="font-weight: 500;">${escapeHtml(tx.description)}</div>
+                        <div style="font-size: 12px; color: var(--text-muted);">${this.formatDate(tx.date)}</div>
+                    </div>
+                    <div style="font-weight: 600; color: ${tx.transactionType === 'PEMASUKAN' ? '#10b981' : '#ef4444'};">
+                        ${tx.transactionType === 'PEMASUKAN' ? '+' : '-'}Rp ${this.formatNumber(tx.amount)}
+                    </div>
+                </div>
+            `;
+        }).join('');
     }
 
     private async loadCategoryBreakdown(): Promise<void> {
         try {
-            const transactions = await this.api.getTransactions();
+            // Server-side aggregation: one request, already grouped per category
+            const analytics = await this.api.getAnalytics({ groupBy: 'category' });
             const categoryMap = new Map<string, number>();
 
-            transactions.forEach(tx => {
-                // Handle both Category enum name and displayName
-                const categoryKey = tx.category || 'Unknown';
-                const current = categoryMap.get(categoryKey) || 0;
-                categoryMap.set(categoryKey, current + tx.amount);
+            analytics.series.forEach(point => {
+                const categoryKey = point.key || 'Unknown';
+                categoryMap.set(categoryKey, point.income + point.expense);
             });
 
             const container = document.getElementById('categoryBreakdown');
@@ -487,46 +673,49 @@ class MoneyMateUI {
 
     private async loadTransactionsPage(): Promise<void> {
         try {
-            const transactions = await this.api.getTransactions();
-            const filterType = (document.getElementById('filterType') as HTMLSelectElement)?.value;
-            const filtered = this.applyTransactionFilters(transactions, filterType);
-            this.renderTransactions(filtered);
-            this.updateTransactionStats(filtered);
+            const page = await this.api.getTransactionsPage({ ...this.getTransactionFilters(), totals: true });
+            this.loadedTransactions = page.transactions;
+            this.transactionsCursor = page.nextCursor;
+            this.renderTransactions(this.loadedTransactions);
+            this.updateTransactionStats(page.totalCount ?? 0, page.totalIncome ?? 0, page.totalExpense ?? 0);
         } catch (error) {
             console.error('Failed to load transactions:', error);
             this.showToast('Failed to load transactions', 'error');
         }
     }
 
-    private applyTransactionFilters(transactions: Transaction[], filterType: string | undefined): Transaction[] {
-        const search = (document.getElementById('filterSearch') as HTMLInputElement)?.value?.toLowerCase() || '';
-        const startDateStr = (document.getElementById('filterStartDate') as HTMLInputElement)?.value;
-        const endDateStr = (document.getElementById('filterEndDate') as HTMLInputElement)?.value;
-
-        return transactions.filter(t => {
-            const matchesType =
-                filterType === 'income' ? t.transactionType === 'PEMASUKAN' :
-                filterType === 'expense' ? t.transactionType === 'PENGELUARAN' : true;
+    async loadMoreTransactions(): Promise<void> {
+        if (!this.transactionsCursor) return;
 
-            const haystack = `${t.description} ${t.category}`.toLowerCase();
-            const matchesSearch = search ? haystack.includes(search) : true;
+        try {
+            const page = await this.api.getTransactionsPage({
+                ...this.getTransactionFilters(),
+                cursor: this.transactionsCursor
+            });
+            this.loadedTransactions = this.loadedTransactions.concat(page.transactions);
+            this.transactionsCursor = page.nextCursor;
+            this.renderTransactions(this.loadedTransactions);
+        } catch (error) {
+            console.error('Failed to load more transactions:', error);
+            this.showToast('Failed to load transactions', 'error');
+        }
+    }
 
-            const txDate = new Date(t.date);
-            const afterStart = startDateStr ? txDate >= new Date(startDateStr) : true;
-            const beforeEnd = endDateStr ? txDate <= new Date(endDateStr) : true;
+    private getTransactionFilters(): TransactionFilters {
+        const filterType = (document.getElementById('filterType') as HTMLSelectElement)?.value;
+        return {
+            type: filterType && filterType !== 'all' ? filterType : undefined,
+            q: (document.getElementById('filterSearch') as HTMLInputElement)?.value?.trim() || undefined,
+            from: (document.getElementById('filterStartDate') as HTMLInputElement)?.value || undefined,
+            to: (document.getElementById('filterEndDate') as HTMLInputElement)?.value || undefined
+        };
+    }
 
-            return matchesType && matchesSearch && afterStart && beforeEnd;
-        });
+    private hasActiveFilters(): boolean {
+        return Object.values(this.getTransactionFilters()).some(value => value !== undefined);
     }
 
-    private updateTransactionStats(transactions: Transaction[]): void {
-        const total = transactions.length;
-        const income = transactions
-            .filter(t => t.transactionType === 'PEMASUKAN')
-            .reduce((sum, t) => sum + t.amount, 0);
-        const expense = transactions
-            .filter(t => t.transactionType === 'PENGELUARAN')
-            .reduce((sum, t) => sum + t.amount, 0);
+    private updateTransactionStats(total: number, income: number, expense: number): void {
         const balance = income - expense;
 
         const setText = (id: string, value: string) => {
@@ -587,7 +776,13 @@ class MoneyMateUI {
                     </td>
                 </tr>
             `;
-        }).join('');
+        }).join('') + (this.transactionsCursor ? `
+                <tr>
+                    <td colspan="8" class="loading-state">
+                        <button class="btn btn-secondary btn-sm" onclick="app.loadMoreTransactions()">Load more</button>
+                    </td>
+                </tr>
+            ` : '');
     }
 
     private async handleAddTransaction(e: Event): Promise<void> {
@@ -618,7 +813,8 @@ class MoneyMateUI {
                     dateInput.value = new Date().toISOString().split('T')[0];
                 }
                 this.updateAddPreview();
-                await this.loadDashboard();
+                // Dengan stream aktif, dashboard di-update lewat event 'added'
+                if (!this.streamConnected) await this.loadDashboard();
                 this.navigateToPage('transactions');
             } else {
                 this.showToast(result.error || 'Failed to add transaction', 'error');
@@ -634,8 +830,10 @@ class MoneyMateUI {
         try {
             await this.api.deleteTransaction(id);
             this.showToast('Transaction deleted successfully!', 'success');
-            await this.loadTransactionsPage();
-            await this.loadDashboard();
+            if (!this.streamConnected) {
+                await this.loadTransactionsPage();
+                await this.loadDashboard();
+            }
         } catch (error) {
             this.showToast('Failed to delete transaction', 'error');
         }
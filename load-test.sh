@@ -0,0 +1,56 @@
+#!/bin/bash
+# Bandingkan mode virtual thread vs platform thread dengan LoadTest
+# Usage: bash load-test.sh [clients] [duration-seconds]
+
+CLIENTS=${1:-1000}
+DURATION=${2:-30}
+PORT=${PORT:-18090}
+ROOT=$(cd "$(dirname "$0")" && pwd)
+JAR="$ROOT/target/moneymate-1.0.0.jar"
+TEST_CLASSES="$ROOT/target/test-classes"
+
+echo "========================================"
+echo "   MoneyMate Load Test"
+echo "   $CLIENTS clients, ${DURATION}s per mode"
+echo "========================================"
+echo
+
+if [ ! -f "$JAR" ]; then
+    echo "❌ Backend JAR missing - run build-spring.sh first"
+    exit 1
+fi
+if [ ! -f "$TEST_CLASSES/moneymate/util/LoadTest.class" ]; then
+    echo "❌ LoadTest missing - run mvn test-compile first"
+    exit 1
+fi
+
+RESULTS=()
+for MODE in platform virtual; do
+    # Database baru per mode supaya hasilnya sebanding
+    WORKDIR=$(mktemp -d)
+    if [ "$MODE" = "virtual" ]; then VIRTUAL=true; else VIRTUAL=false; fi
+
+    echo "[$MODE] Starting backend on port $PORT..."
+    (cd "$WORKDIR" && exec java -jar "$JAR" --server.port=$PORT \
+        --spring.threads.virtual.enabled=$VIRTUAL > server.log 2>&1) &
+    SERVER_PID=$!
+
+    for i in $(seq 1 60); do
+        curl -s "http://localhost:$PORT/api/balance" > /dev/null && break
+        sleep 1
+    done
+
+    RESULTS+=("$(java -cp "$TEST_CLASSES" moneymate.util.LoadTest \
+        --url "http://localhost:$PORT/api" --clients "$CLIENTS" \
+        --duration "$DURATION" --label "$MODE")")
+    echo "${RESULTS[-1]}"
+
+    kill $SERVER_PID
+    wait $SERVER_PID 2> /dev/null
+    rm -rf "$WORKDIR"
+    echo
+done
+
+echo "========================================"
+printf '%s\n' "${RESULTS[@]}"
+echo "========================================"
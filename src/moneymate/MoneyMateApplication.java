@@ -1,7 +1,9 @@
 package moneymate;
 
+import moneymate.database.DatabaseManager;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import java.util.Map;
 
 /**
  * MoneyMate Spring Boot Application
@@ -9,11 +11,37 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * OOP Concepts:
  * - Main entry point for Spring Boot
  * - Auto-configuration
+ *
+ * Request dijalankan di virtual thread secara default. Mode platform thread
+ * (pool Tomcat biasa) tetap bisa dipakai dengan
+ * --spring.threads.virtual.enabled=false atau SPRING_THREADS_VIRTUAL_ENABLED=false.
  */
 @SpringBootApplication
 public class MoneyMateApplication {
 
+    static final String VIRTUAL_THREADS_PROPERTY = "spring.threads.virtual.enabled";
+    static final String CARRIER_PARALLELISM_PROPERTY = "jdk.virtualThreadScheduler.parallelism";
+
     public static void main(String[] args) {
-        SpringApplication.run(MoneyMateApplication.class, args);
+        configureCarrierThreads();
+
+        SpringApplication app = new SpringApplication(MoneyMateApplication.class);
+        app.setDefaultProperties(Map.of(VIRTUAL_THREADS_PROPERTY, "true"));
+        app.run(args);
+    }
+
+    /**
+     * Panggilan JDBC SQLite adalah native code, jadi virtual thread yang sedang
+     * menjalankannya tetap menempel di carrier thread. Pool koneksi membatasi
+     * jumlahnya (reader + writer); carrier disiapkan minimal satu lebih banyak
+     * supaya request lain (parsing, JSON, SSE) tidak pernah kehabisan carrier.
+     * Harus di-set sebelum virtual thread pertama dibuat.
+     */
+    private static void configureCarrierThreads() {
+        if (System.getProperty(CARRIER_PARALLELISM_PROPERTY) == null) {
+            int carriers = Math.max(Runtime.getRuntime().availableProcessors(),
+                DatabaseManager.getMaxConnections() + 1);
+            System.setProperty(CARRIER_PARALLELISM_PROPERTY, Integer.toString(carriers));
+        }
     }
 }
@@ -0,0 +1,54 @@
+package moneymate.api;
+
+import moneymate.database.ConnectionPool;
+import moneymate.database.DatabaseManager;
+import org.springframework.core.env.Environment;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpStatus;
+import java.util.Map;
+import java.util.HashMap;
+import java.lang.management.ManagementFactory;
+
+/**
+ * REST API Controller for runtime metrics
+ */
+@RestController
+@RequestMapping("/api/metrics")
+@CrossOrigin(origins = "*")
+public class MetricsController {
+
+    private final Environment environment;
+
+    public MetricsController(Environment environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * GET /api/metrics/database - Connection pool wait time & utilisation
+     */
+    @GetMapping("/database")
+    public ResponseEntity<?> getDatabaseMetrics() {
+        ConnectionPool.Stats stats = DatabaseManager.getInstance().getPoolStats();
+        if (stats == null) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Database is not available");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * GET /api/metrics/threads - Mode eksekusi request (virtual / platform thread)
+     */
+    @GetMapping("/threads")
+    public ResponseEntity<?> getThreadMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("virtualThreadsEnabled",
+            environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false));
+        metrics.put("requestThreadVirtual", Thread.currentThread().isVirtual());
+        metrics.put("carrierParallelism", System.getProperty("jdk.virtualThreadScheduler.parallelism"));
+        metrics.put("platformThreads", ManagementFactory.getThreadMXBean().getThreadCount());
+        return ResponseEntity.ok(metrics);
+    }
+}
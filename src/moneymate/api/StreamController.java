@@ -0,0 +1,263 @@
+package moneymate.api;
+
+import moneymate.controller.TransactionManager;
+import moneymate.interfaces.TransactionListener;
+import moneymate.model.TransactionEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * REST API Controller for live updates (Server-Sent Events)
+ *
+ * Setiap client punya antrean sendiri yang menggabungkan event: beberapa
+ * perubahan pada transaksi yang sama jadi satu, saldo hanya yang terbaru,
+ * dan jika antrean terlalu panjang (client lambat) diganti satu event
+ * resync. Pengiriman jalan di virtual thread per client, jadi client
+ * lambat tidak menahan TransactionManager maupun client lain.
+ */
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+public class StreamController implements TransactionListener {
+
+    private static final long EMITTER_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(30);
+    private static final long HEARTBEAT_SECONDS = 20;
+    private static final int MAX_PENDING_EVENTS = 500;
+
+    private final TransactionManager transactionManager;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "sse-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public StreamController(TransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+    }
+
+    /**
+     * Daftar listener & heartbeat setelah bean selesai dibuat, supaya
+     * TransactionManager tidak melihat instance yang belum lengkap
+     */
+    @PostConstruct
+    public void start() {
+        transactionManager.addListener(this);
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * GET /api/stream - Event stream: added, updated, deleted, balance, resync
+     * Event id = versi data; saat reconnect dengan Last-Event-ID lama, client dapat resync.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Subscriber subscriber = new Subscriber(emitter);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Daftar dulu, baru ambil state awal, supaya tidak ada event yang terlewat
+        subscribers.add(subscriber);
+        TransactionEvent initial = transactionManager.getBalanceEvent();
+        if (lastEventId != null && !lastEventId.equals(Long.toString(initial.getVersion()))) {
+            subscriber.offer(TransactionEvent.resync(initial.getVersion()));
+        }
+        subscriber.offer(initial);
+        schedule(subscriber);
+
+        return emitter;
+    }
+
+    @Override
+    public void onTransactionEvent(TransactionEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event);
+            schedule(subscriber);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        transactionManager.removeListener(this);
+        heartbeat.shutdownNow();
+        sender.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    private void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.requestHeartbeat();
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Jalankan pengiriman untuk subscriber ini, maksimal satu task sekaligus
+     */
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> drain(subscriber));
+            } catch (RuntimeException e) {
+                subscriber.scheduled.set(false); // executor sudah shutdown
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            List<SseEmitter.SseEventBuilder> events;
+            while (!(events = subscriber.takePending()).isEmpty()) {
+                for (SseEmitter.SseEventBuilder event : events) {
+                    subscriber.emitter.send(event);
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client sudah putus
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        // Event yang masuk setelah antrean kosong tapi sebelum flag dilepas
+        if (subscriber.hasPending()) {
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Antrean event per client, dengan penggabungan (coalescing)
+     */
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private final LinkedHashMap<String, TransactionEvent> pendingTransactions = new LinkedHashMap<>();
+        private TransactionEvent pendingBalance;
+        private TransactionEvent pendingResync;
+        private boolean pendingHeartbeat;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized void offer(TransactionEvent event) {
+            switch (event.getType()) {
+                case BALANCE:
+                    if (pendingBalance == null || event.getVersion() >= pendingBalance.getVersion()) {
+                        pendingBalance = event;
+                    }
+                    break;
+                case RESYNC:
+                    resync(event.getVersion());
+                    break;
+                default:
+                    if (pendingResync == null) {
+                        mergeTransactionEvent(event);
+                        if (pendingTransactions.size() > MAX_PENDING_EVENTS) {
+                            resync(event.getVersion());
+                        }
+                    }
+            }
+        }
+
+        private void mergeTransactionEvent(TransactionEvent event) {
+            TransactionEvent previous = pendingTransactions.get(event.getTransactionId());
+            if (previous != null && previous.getType() == TransactionEvent.Type.ADDED) {
+                if (event.getType() == TransactionEvent.Type.DELETED) {
+                    // Ditambah lalu dihapus sebelum terkirim: client tidak perlu tahu
+                    pendingTransactions.remove(event.getTransactionId());
+                } else {
+                    pendingTransactions.put(event.getTransactionId(), previous.withTransaction(event.getTransaction()));
+                }
+                return;
+            }
+            pendingTransactions.put(event.getTransactionId(), event);
+        }
+
+        // Client akan reload semuanya, jadi delta yang tertunda tidak perlu dikirim
+        private void resync(long version) {
+            pendingTransactions.clear();
+            pendingResync = TransactionEvent.resync(version);
+        }
+
+        synchronized void requestHeartbeat() {
+            pendingHeartbeat = true;
+        }
+
+        synchronized boolean hasPending() {
+            return pendingResync != null || pendingBalance != null
+                || pendingHeartbeat || !pendingTransactions.isEmpty();
+        }
+
+        /**
+         * Ambil semua event tertunda sebagai SSE event: resync, delta transaksi, lalu saldo
+         */
+        synchronized List<SseEmitter.SseEventBuilder> takePending() {
+            List<SseEmitter.SseEventBuilder> events = new ArrayList<>();
+            if (pendingResync != null) {
+                events.add(toSse(pendingResync));
+                pendingResync = null;
+            }
+            for (TransactionEvent event : pendingTransactions.values()) {
+                events.add(toSse(event));
+            }
+            pendingTransactions.clear();
+            if (pendingBalance != null) {
+                events.add(toSse(pendingBalance));
+                pendingBalance = null;
+            }
+            if (pendingHeartbeat && events.isEmpty()) {
+                events.add(SseEmitter.event().comment("ping"));
+            }
+            pendingHeartbeat = false;
+            return events;
+        }
+
+        private static SseEmitter.SseEventBuilder toSse(TransactionEvent event) {
+            Map<String, Object> data = new HashMap<>();
+            data.put("version", event.getVersion());
+            switch (event.getType()) {
+                case ADDED:
+                case UPDATED:
+                    data.put("transaction", event.getTransaction());
+                    break;
+                case DELETED:
+                    data.put("transactionId", event.getTransactionId());
+                    break;
+                case BALANCE:
+                    data.put("balance", event.getBalance());
+                    break;
+                default:
+                    break;
+            }
+            return SseEmitter.event()
+                .id(Long.toString(event.getVersion()))
+                .name(event.getType().name().toLowerCase())
+                .data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+}
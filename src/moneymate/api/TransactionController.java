@@ -1,16 +1,24 @@
 package moneymate.api;
 
 import moneymate.controller.TransactionManager;
+import moneymate.database.TransactionQuery;
 import moneymate.model.*;
 import moneymate.exception.*;
+import moneymate.util.TransactionImporter;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.CacheControl;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Set;
 
 /**
  * REST API Controller for Transaction operations
@@ -22,11 +30,21 @@ import java.util.HashMap;
  */
 @RestController
 @RequestMapping("/api")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = "ETag")
 public class TransactionController {
 
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final int MAX_AUDIT_LIMIT = 1000;
+
+    // Parameter yang membuat GET /api/transactions mengembalikan TransactionPage
+    private static final Set<String> QUERY_PARAMS = Set.of(
+        "type", "category", "from", "to", "minAmount", "maxAmount", "q", "cursor", "limit", "totals");
+
     private final TransactionManager transactionManager;
 
+    // Versi data mulai dari 0 lagi setelah restart, jadi ETag diberi prefix per proses
+    private final String etagPrefix = Long.toString(System.currentTimeMillis(), 36);
+
     // Spring Dependency Injection - shares singleton instance
     public TransactionController(TransactionManager transactionManager) {
         this.transactionManager = transactionManager;
@@ -34,10 +52,44 @@ public class TransactionController {
 
     /**
      * GET /api/transactions - Get all transactions
+     *
+     * Dengan query parameter (type, category, from, to, minAmount, maxAmount, q,
+     * cursor, limit, totals) hasilnya satu halaman TransactionPage: difilter di
+     * SQL dan di-paginate dengan keyset (tanggal, ID). Tanpa parameter tersebut
+     * (parameter lain seperti cache buster ?_=123 diabaikan) tetap mengembalikan
+     * seluruh list seperti sebelumnya.
      */
     @GetMapping("/transactions")
-    public ResponseEntity<List<Transaction>> getAllTransactions() {
-        return ResponseEntity.ok(transactionManager.getTransactions());
+    public ResponseEntity<?> getAllTransactions(
+            @RequestParam Map<String, String> params,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        if (params.keySet().stream().noneMatch(QUERY_PARAMS::contains)) {
+            String etag = currentETag();
+            if (isNotModified(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+            return okWithETag(etag, transactionManager.getTransactions());
+        }
+
+        try {
+            String etag = currentDatabaseETag();
+            if (isNotModified(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+            return okWithETag(etag, transactionManager.findTransactions(createQueryFromParams(params)));
+        } catch (DateTimeParseException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Invalid date format. Use YYYY-MM-DD");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        } catch (SQLException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to query transactions: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
     }
 
     /**
@@ -62,6 +114,194 @@ public class TransactionController {
         }
     }
 
+    /**
+     * POST /api/transactions/import - Bulk import (CSV atau NDJSON, streaming)
+     * Format dipilih dari parameter ?format=csv|ndjson atau dari Content-Type
+     */
+    @PostMapping("/transactions/import")
+    public ResponseEntity<?> importTransactions(
+            InputStream body,
+            @RequestParam(value = "format", required = false) String format,
+            @RequestHeader(value = "Content-Type", required = false) String contentType) {
+
+        TransactionImporter.Format importFormat = resolveImportFormat(format, contentType);
+        if (importFormat == null) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Unsupported import format. Use text/csv or application/x-ndjson");
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(error);
+        }
+
+        try {
+            TransactionImporter.ImportResult result =
+                new TransactionImporter(transactionManager).importFrom(body, importFormat);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        } catch (IOException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to read upload: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+
+    /**
+     * GET /api/transactions/search?q= - Full-text search, urut relevansi + snippet
+     */
+    @GetMapping("/transactions/search")
+    public ResponseEntity<?> searchTransactions(
+            @RequestParam("q") String q,
+            @RequestParam(value = "limit", required = false, defaultValue = "20") int limit,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        try {
+            String etag = currentDatabaseETag();
+            if (isNotModified(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+            int boundedLimit = Math.max(1, Math.min(MAX_SEARCH_LIMIT, limit));
+            return okWithETag(etag, transactionManager.searchTransactions(q, boundedLimit));
+        } catch (SQLException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to search transactions: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    /**
+     * GET /api/transactions/audit?from=&limit= - Riwayat perubahan dari event log
+     * (butuh -Dmoneymate.eventLog), urut seq mulai dari "from"
+     */
+    @GetMapping("/transactions/audit")
+    public ResponseEntity<?> getAuditLog(
+            @RequestParam(value = "from", required = false, defaultValue = "1") long from,
+            @RequestParam(value = "limit", required = false, defaultValue = "100") int limit) {
+        if (!transactionManager.isEventLogEnabled()) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Event log is not enabled");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+
+        try {
+            int boundedLimit = Math.max(1, Math.min(MAX_AUDIT_LIMIT, limit));
+            return ResponseEntity.ok(transactionManager.getAuditLog(from, boundedLimit));
+        } catch (IOException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to read event log: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    /**
+     * ETag untuk versi data saat ini (diambil sebelum body dibuat, jadi tidak
+     * pernah lebih baru dari isi response)
+     */
+    private String currentETag() {
+        return "\"" + etagPrefix + "-" + transactionManager.getVersion() + "\"";
+    }
+
+    /**
+     * ETag untuk endpoint yang membaca SQLite (listing terfilter & search):
+     * ditambah jumlah perubahan di database, supaya tulisan dari proses lain
+     * (GUI/CLI di database yang sama) juga membuat ETag berubah
+     */
+    private String currentDatabaseETag() throws SQLException {
+        return "\"" + etagPrefix + "-" + transactionManager.getVersion()
+            + "-" + transactionManager.getDatabaseChangeCount() + "\"";
+    }
+
+    /**
+     * Cek header If-None-Match (bisa berisi beberapa ETag atau *)
+     */
+    private static boolean isNotModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag) || value.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 304 Not Modified tanpa body (tidak ada serialisasi)
+     */
+    private static ResponseEntity<?> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache())
+            .build();
+    }
+
+    private static ResponseEntity<?> okWithETag(String etag, Object body) {
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache())
+            .body(body);
+    }
+
+    /**
+     * Helper: build TransactionQuery dari query parameter GET /api/transactions
+     */
+    private TransactionQuery createQueryFromParams(Map<String, String> params) {
+        TransactionQuery query = new TransactionQuery();
+
+        String type = params.get("type");
+        if (type != null && !type.isBlank() && !type.equalsIgnoreCase("all")) {
+            if (type.equalsIgnoreCase("income") || type.equalsIgnoreCase("pemasukan")) {
+                query.setTransactionType("PEMASUKAN");
+            } else if (type.equalsIgnoreCase("expense") || type.equalsIgnoreCase("pengeluaran")) {
+                query.setTransactionType("PENGELUARAN");
+            } else {
+                throw new IllegalArgumentException("Unknown type: " + type);
+            }
+        }
+
+        query.setCategory(params.get("category"));
+        query.setText(params.get("q"));
+        query.setCursor(params.get("cursor"));
+        if (hasValue(params, "from")) {
+            query.setFromDate(LocalDate.parse(params.get("from")));
+        }
+        if (hasValue(params, "to")) {
+            query.setToDate(LocalDate.parse(params.get("to")));
+        }
+        if (hasValue(params, "minAmount")) {
+            query.setMinAmount(parseAmount(params, "minAmount"));
+        }
+        if (hasValue(params, "maxAmount")) {
+            query.setMaxAmount(parseAmount(params, "maxAmount"));
+        }
+        if (hasValue(params, "limit")) {
+            query.setLimit(parseNumber(params, "limit").intValue());
+        }
+        query.setIncludeTotals(Boolean.parseBoolean(params.get("totals")));
+        return query;
+    }
+
+    private static boolean hasValue(Map<String, String> params, String name) {
+        return params.get(name) != null && !params.get(name).isBlank();
+    }
+
+    private static Money parseAmount(Map<String, String> params, String name) {
+        try {
+            return Money.parse(params.get(name));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + name + ": " + params.get(name));
+        }
+    }
+
+    private static Double parseNumber(Map<String, String> params, String name) {
+        try {
+            return Double.parseDouble(params.get(name));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + name + ": " + params.get(name));
+        }
+    }
+
     /**
      * DELETE /api/transactions/{id} - Delete transaction
      */
@@ -84,20 +324,33 @@ public class TransactionController {
      * GET /api/balance - Get balance summary
      */
     @GetMapping("/balance")
-    public ResponseEntity<Map<String, Double>> getBalance() {
-        Map<String, Double> balance = new HashMap<>();
+    public ResponseEntity<?> getBalance(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        String etag = currentETag();
+        if (isNotModified(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+
+        Map<String, Money> balance = new HashMap<>();
         balance.put("totalBalance", transactionManager.calculateTotalBalance());
         balance.put("totalIncome", transactionManager.calculateTotalIncome());
         balance.put("totalExpense", transactionManager.calculateTotalExpense());
         balance.put("initialBalance", transactionManager.getInitialBalance());
-        return ResponseEntity.ok(balance);
+        return okWithETag(etag, balance);
     }
 
     /**
      * GET /api/report/{month} - Get monthly report
      */
     @GetMapping("/report/{month}")
-    public ResponseEntity<?> getMonthlyReport(@PathVariable String month) {
+    public ResponseEntity<?> getMonthlyReport(
+            @PathVariable String month,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        String etag = currentETag();
+        if (isNotModified(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+
         try {
             YearMonth yearMonth = YearMonth.parse(month);
             Report report = transactionManager.generateMonthlyReport(yearMonth);
@@ -111,7 +364,7 @@ public class TransactionController {
             response.put("incomeByCategory", report.getIncomeByCategory());
             response.put("summary", report.generateSummary());
 
-            return ResponseEntity.ok(response);
+            return okWithETag(etag, response);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Invalid month format. Use YYYY-MM");
@@ -119,15 +372,56 @@ public class TransactionController {
         }
     }
 
+    /**
+     * GET /api/analytics - Multi-period analytics in one response
+     * Params: from, to (YYYY-MM), groupBy (month|category|paymentMethod), yoy (true|false)
+     */
+    @GetMapping("/analytics")
+    public ResponseEntity<?> getAnalytics(
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "to", required = false) String to,
+            @RequestParam(value = "groupBy", required = false) String groupBy,
+            @RequestParam(value = "yoy", required = false, defaultValue = "false") boolean yearOverYear,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        String etag = currentETag();
+        if (isNotModified(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+
+        try {
+            AnalyticsReport analytics = transactionManager.generateAnalytics(
+                from == null ? null : YearMonth.parse(from),
+                to == null ? null : YearMonth.parse(to),
+                AnalyticsReport.GroupBy.parse(groupBy),
+                yearOverYear);
+            return okWithETag(etag, analytics);
+        } catch (DateTimeParseException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Invalid month format. Use YYYY-MM");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+
     /**
      * GET /api/transactions/type/{type} - Filter by type
      */
     @GetMapping("/transactions/type/{type}")
-    public ResponseEntity<List<Transaction>> getTransactionsByType(@PathVariable String type) {
+    public ResponseEntity<?> getTransactionsByType(
+            @PathVariable String type,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        String etag = currentETag();
+        if (isNotModified(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+
         if (type.equalsIgnoreCase("income")) {
-            return ResponseEntity.ok(transactionManager.getTransactionsByType(Income.class));
+            return okWithETag(etag, transactionManager.getTransactionsByType(Income.class));
         } else if (type.equalsIgnoreCase("expense")) {
-            return ResponseEntity.ok(transactionManager.getTransactionsByType(Expense.class));
+            return okWithETag(etag, transactionManager.getTransactionsByType(Expense.class));
         } else {
             return ResponseEntity.badRequest().build();
         }
@@ -150,7 +444,7 @@ public class TransactionController {
      * OOP Concept: Factory pattern
      */
     private Transaction createTransactionFromRequest(TransactionRequest request) {
-        double amount = request.getAmount();
+        Money amount = request.getAmount() != null ? request.getAmount() : Money.ZERO;
         String description = request.getDescription();
         LocalDate date = LocalDate.parse(request.getDate());
         boolean isIncome = request.getType().equalsIgnoreCase("income");
@@ -164,13 +458,28 @@ public class TransactionController {
         }
     }
 
+    private TransactionImporter.Format resolveImportFormat(String format, String contentType) {
+        String hint = format != null ? format : contentType;
+        if (hint == null) {
+            return null;
+        }
+        hint = hint.toLowerCase();
+        if (hint.contains("csv")) {
+            return TransactionImporter.Format.CSV;
+        }
+        if (hint.contains("ndjson") || hint.contains("jsonl") || hint.contains("json")) {
+            return TransactionImporter.Format.NDJSON;
+        }
+        return null;
+    }
+
     /**
      * Inner class for Transaction request body
      * OOP Concept: Encapsulation
      */
     public static class TransactionRequest {
         private String type;
-        private double amount;
+        private Money amount;
         private String description;
         private String date;
         private String category;
@@ -182,8 +491,8 @@ public class TransactionController {
         public String getType() { return type; }
         public void setType(String type) { this.type = type; }
 
-        public double getAmount() { return amount; }
-        public void setAmount(double amount) { this.amount = amount; }
+        public Money getAmount() { return amount; }
+        public void setAmount(Money amount) { this.amount = amount; }
 
         public String getDescription() { return description; }
         public void setDescription(String description) { this.description = description; }
@@ -2,6 +2,7 @@ package moneymate.api;
 
 import moneymate.controller.TransactionManager;
 import moneymate.database.DatabaseManager;
+import moneymate.model.Money;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
 import java.sql.*;
@@ -51,14 +52,14 @@ public class UserController {
             VALUES (?, ?, ?, ?)
         """;
 
-        Connection conn = DatabaseManager.getInstance().getConnection();
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseManager.getInstance().getWriteConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             // Use a fixed user_id (since we only support single user for now)
             pstmt.setString(1, "USER_001");
             pstmt.setString(2, request.getUsername());
             pstmt.setString(3, request.getEmail());
-            pstmt.setDouble(4, request.getInitialBalance());
+            pstmt.setDouble(4, request.getInitialBalance().toDouble());
 
             pstmt.executeUpdate();
             System.out.println("✓ User saved to database: " + request.getUsername());
@@ -72,7 +73,7 @@ public class UserController {
     public static class InitRequest {
         private String username;
         private String email;
-        private double initialBalance;
+        private Money initialBalance = Money.ZERO;
 
         public String getUsername() { return username; }
         public void setUsername(String username) { this.username = username; }
@@ -80,7 +81,7 @@ public class UserController {
         public String getEmail() { return email; }
         public void setEmail(String email) { this.email = email; }
 
-        public double getInitialBalance() { return initialBalance; }
-        public void setInitialBalance(double initialBalance) { this.initialBalance = initialBalance; }
+        public Money getInitialBalance() { return initialBalance; }
+        public void setInitialBalance(Money initialBalance) { this.initialBalance = initialBalance; }
     }
 }
@@ -1,6 +1,8 @@
 package moneymate.config;
 
 import moneymate.controller.TransactionManager;
+import moneymate.database.DatabaseManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -15,9 +17,15 @@ public class AppConfig {
     /**
      * Create a single shared TransactionManager instance
      * Spring ensures this is a Singleton across the application
+     *
+     * Di mode virtual thread semua request bisa antre koneksi reader sekaligus,
+     * jadi antrean reader default-nya fair (FIFO); bisa diatur lewat
+     * moneymate.db.fairReaders. Diteruskan sebelum pool pertama kali dibuka.
      */
     @Bean
-    public TransactionManager transactionManager() {
+    public TransactionManager transactionManager(
+            @Value("${moneymate.db.fairReaders:${spring.threads.virtual.enabled:false}}") boolean fairReaders) {
+        DatabaseManager.configureFairReaders(fairReaders);
         return new TransactionManager();
     }
 }
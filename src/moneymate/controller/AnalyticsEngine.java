@@ -0,0 +1,159 @@
+package moneymate.controller;
+
+import moneymate.model.AnalyticsReport;
+import moneymate.model.AnalyticsReport.GroupBy;
+import moneymate.model.AnalyticsReport.Point;
+import moneymate.model.Expense;
+import moneymate.model.Transaction;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+/**
+ * AnalyticsEngine - hitung AnalyticsReport untuk rentang bulan
+ *
+ * Group by bulan/kategori dibaca langsung dari RollupCube (tanpa menyentuh
+ * transaksi). Group by metode pembayaran tidak ada di cube: jika store punya
+ * TransactionColumns dihitung dengan loop atas kolom, selain itu dengan satu
+ * pass atas index tanggal, hanya untuk transaksi dalam rentang (dalam mode
+ * window, rentang di luar window dibaca lewat sumber dari TransactionManager).
+ */
+class AnalyticsEngine {
+
+    /**
+     * Batas rentang supaya waktu server tetap terbatas (50 tahun)
+     */
+    static final int MAX_MONTHS = 600;
+
+    private static final String NO_PAYMENT_METHOD = "Tidak disebutkan";
+
+    private final TransactionStore store;
+    private final BiFunction<LocalDate, LocalDate, Stream<Transaction>> range;
+
+    AnalyticsEngine(TransactionStore store) {
+        this(store, store::streamBetween);
+    }
+
+    /**
+     * @param range sumber transaksi per rentang tanggal (inklusif) untuk group by metode pembayaran
+     */
+    AnalyticsEngine(TransactionStore store, BiFunction<LocalDate, LocalDate, Stream<Transaction>> range) {
+        this.store = store;
+        this.range = range;
+    }
+
+    /**
+     * Akumulator per key: pemasukan, pengeluaran (sen) dan jumlah transaksi
+     */
+    private static final class Bucket {
+        long incomeMinor;
+        long expenseMinor;
+        long count;
+
+        void add(boolean income, long amountMinor, long n) {
+            if (income) {
+                incomeMinor += amountMinor;
+            } else {
+                expenseMinor += amountMinor;
+            }
+            count += n;
+        }
+    }
+
+    AnalyticsReport compute(YearMonth from, YearMonth to, GroupBy groupBy, boolean yearOverYear) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (from.plusMonths(MAX_MONTHS).isBefore(to)) {
+            throw new IllegalArgumentException("Range too large (max " + MAX_MONTHS + " months)");
+        }
+
+        Map<String, Bucket> current = aggregate(from, to, groupBy);
+        Map<String, Bucket> previous = yearOverYear
+            ? aggregate(from.minusYears(1), to.minusYears(1), groupBy)
+            : null;
+
+        List<String> keys = new ArrayList<>(current.keySet());
+        if (groupBy != GroupBy.MONTH) {
+            // Kategori/metode pembayaran: urut total terbesar dulu
+            keys.sort(Comparator.comparingLong((String k) ->
+                current.get(k).incomeMinor + current.get(k).expenseMinor).reversed());
+        }
+
+        List<Point> series = new ArrayList<>(keys.size());
+        Bucket total = new Bucket();
+        Bucket previousTotal = new Bucket();
+        for (String key : keys) {
+            Bucket bucket = current.get(key);
+            Point previousPoint = null;
+            if (previous != null) {
+                String previousKey = groupBy == GroupBy.MONTH ? YearMonth.parse(key).minusYears(1).toString() : key;
+                previousPoint = toPoint(previousKey, previous.getOrDefault(previousKey, new Bucket()), null);
+            }
+            series.add(toPoint(key, bucket, previousPoint));
+            total.incomeMinor += bucket.incomeMinor;
+            total.expenseMinor += bucket.expenseMinor;
+            total.count += bucket.count;
+        }
+        if (previous != null) {
+            for (Bucket bucket : previous.values()) {
+                previousTotal.incomeMinor += bucket.incomeMinor;
+                previousTotal.expenseMinor += bucket.expenseMinor;
+                previousTotal.count += bucket.count;
+            }
+        }
+
+        Point totals = toPoint("total", total, previous == null ? null : toPoint("total", previousTotal, null));
+        return new AnalyticsReport(from, to, groupBy, yearOverYear, series, totals);
+    }
+
+    private Map<String, Bucket> aggregate(YearMonth from, YearMonth to, GroupBy groupBy) {
+        Map<String, Bucket> buckets = new LinkedHashMap<>();
+
+        switch (groupBy) {
+            case MONTH:
+                // Semua bulan muncul di series, termasuk yang kosong
+                for (YearMonth m = from; !m.isAfter(to); m = m.plusMonths(1)) {
+                    buckets.put(m.toString(), new Bucket());
+                }
+                store.getRollup().forEachCell(from, to, (month, income, category, totalMinor, count) ->
+                    buckets.get(month.toString()).add(income, totalMinor, count));
+                break;
+
+            case CATEGORY:
+                store.getRollup().forEachCell(from, to, (month, income, category, totalMinor, count) ->
+                    buckets.computeIfAbsent(category, k -> new Bucket()).add(income, totalMinor, count));
+                break;
+
+            case PAYMENT_METHOD:
+                TransactionColumns columns = store.getColumns();
+                if (columns != null) {
+                    columns.forEachGroup(TransactionColumns.Dimension.PAYMENT_METHOD,
+                        from.atDay(1).toEpochDay(), to.atEndOfMonth().toEpochDay(),
+                        (method, incomeMinor, expenseMinor, count) ->
+                            buckets.computeIfAbsent(method == null ? NO_PAYMENT_METHOD : method, k -> new Bucket())
+                                   .add(false, expenseMinor, count));
+                    break;
+                }
+                range.apply(from.atDay(1), to.atEndOfMonth()).forEach(t -> {
+                    if (t instanceof Expense) {
+                        String method = ((Expense) t).getPaymentMethod();
+                        buckets.computeIfAbsent(method == null ? NO_PAYMENT_METHOD : method, k -> new Bucket())
+                               .add(false, t.getAmount().getMinor(), 1);
+                    }
+                });
+                break;
+        }
+        return buckets;
+    }
+
+    private Point toPoint(String key, Bucket bucket, Point previous) {
+        return new Point(key, bucket.incomeMinor, bucket.expenseMinor, bucket.count, previous);
+    }
+}
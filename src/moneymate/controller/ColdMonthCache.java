@@ -0,0 +1,81 @@
+package moneymate.controller;
+
+import moneymate.model.Transaction;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ColdMonthCache - cache LRU transaksi per bulan untuk periode di luar window
+ *
+ * Dipakai TransactionManager dalam mode window: bulan lama di-load dari
+ * database saat dibutuhkan dan bulan yang paling lama tidak dipakai dibuang
+ * saat cache penuh. Mutasi pada bulan cold harus memanggil invalidate().
+ */
+class ColdMonthCache {
+
+    @FunctionalInterface
+    interface Loader {
+        List<Transaction> load(YearMonth month) throws SQLException;
+    }
+
+    private final int capacity;
+    private final Loader loader;
+    private final Map<YearMonth, List<Transaction>> months;
+    private long hits;
+    private long misses;
+
+    ColdMonthCache(int capacity, Loader loader) {
+        this.capacity = capacity;
+        this.loader = loader;
+        // accessOrder = true: urutan iterasi = paling lama tidak diakses dulu
+        this.months = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<YearMonth, List<Transaction>> eldest) {
+                return size() > ColdMonthCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Transaksi satu bulan (urut terbaru dulu, read-only), load dari database jika belum ada.
+     * Load terjadi di luar monitor supaya bulan lain tetap bisa dibaca.
+     */
+    List<Transaction> get(YearMonth month) throws SQLException {
+        synchronized (this) {
+            List<Transaction> cached = months.get(month);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+        List<Transaction> loaded = List.copyOf(loader.load(month));
+        synchronized (this) {
+            months.put(month, loaded);
+        }
+        return loaded;
+    }
+
+    synchronized void invalidate(YearMonth month) {
+        months.remove(month);
+    }
+
+    synchronized void clear() {
+        months.clear();
+    }
+
+    synchronized int size() {
+        return months.size();
+    }
+
+    synchronized long getHits() {
+        return hits;
+    }
+
+    synchronized long getMisses() {
+        return misses;
+    }
+}
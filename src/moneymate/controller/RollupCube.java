@@ -0,0 +1,138 @@
+package moneymate.controller;
+
+import moneymate.model.MonthlyRollup;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * RollupCube - agregat transaksi per (bulan, tipe, kategori)
+ *
+ * Dijaga incremental oleh TransactionStore pada setiap add/remove, jadi
+ * ringkasan bulanan bisa dibaca tanpa scan riwayat transaksi. Tabel
+ * monthly_rollup di SQLite berisi data yang sama (dijaga oleh trigger).
+ */
+class RollupCube {
+
+    /**
+     * Sel cube: jumlah (sen) dan banyak transaksi
+     */
+    private static final class Cell {
+        long totalMinor;
+        int count;
+    }
+
+    /**
+     * Semua sel untuk satu bulan
+     */
+    private static final class MonthBucket {
+        final Map<String, Cell> income = new HashMap<>();
+        final Map<String, Cell> expense = new HashMap<>();
+
+        boolean isEmpty() {
+            return income.isEmpty() && expense.isEmpty();
+        }
+    }
+
+    private final NavigableMap<YearMonth, MonthBucket> months = new TreeMap<>();
+
+    /**
+     * Tambah (sign = 1) atau kurangi (sign = -1) satu transaksi dari cube
+     */
+    void apply(long epochDay, boolean income, String category, long amountMinor, int sign) {
+        add(YearMonth.from(LocalDate.ofEpochDay(epochDay)), income, category, sign * amountMinor, sign);
+    }
+
+    /**
+     * Tambah total & jumlah transaksi ke satu sel (mis. dari tabel monthly_rollup)
+     */
+    void add(YearMonth month, boolean income, String category, long totalMinor, int count) {
+        MonthBucket bucket = months.computeIfAbsent(month, m -> new MonthBucket());
+        Map<String, Cell> cells = income ? bucket.income : bucket.expense;
+
+        Cell cell = cells.computeIfAbsent(category, c -> new Cell());
+        cell.totalMinor += totalMinor;
+        cell.count += count;
+        if (cell.count <= 0) {
+            cells.remove(category);
+            if (bucket.isEmpty()) {
+                months.remove(month);
+            }
+        }
+    }
+
+    void clear() {
+        months.clear();
+    }
+
+    /**
+     * Callback untuk setiap sel cube dalam rentang bulan
+     */
+    @FunctionalInterface
+    interface CellVisitor {
+        void visit(YearMonth month, boolean income, String category, long totalMinor, int count);
+    }
+
+    /**
+     * Kunjungi semua sel dengan bulan from..to (inklusif), urut bulan
+     */
+    void forEachCell(YearMonth from, YearMonth to, CellVisitor visitor) {
+        for (Map.Entry<YearMonth, MonthBucket> month : months.subMap(from, true, to, true).entrySet()) {
+            for (Map.Entry<String, Cell> e : month.getValue().income.entrySet()) {
+                visitor.visit(month.getKey(), true, e.getKey(), e.getValue().totalMinor, e.getValue().count);
+            }
+            for (Map.Entry<String, Cell> e : month.getValue().expense.entrySet()) {
+                visitor.visit(month.getKey(), false, e.getKey(), e.getValue().totalMinor, e.getValue().count);
+            }
+        }
+    }
+
+    /**
+     * Ada transaksi di bulan ini
+     */
+    boolean contains(YearMonth month) {
+        return months.containsKey(month);
+    }
+
+    YearMonth firstMonth() {
+        return months.isEmpty() ? null : months.firstKey();
+    }
+
+    YearMonth lastMonth() {
+        return months.isEmpty() ? null : months.lastKey();
+    }
+
+    /**
+     * Snapshot immutable untuk satu bulan
+     */
+    MonthlyRollup get(YearMonth month) {
+        MonthBucket bucket = months.get(month);
+        if (bucket == null) {
+            return MonthlyRollup.empty(month);
+        }
+
+        Map<String, Long> incomeByCategory = new HashMap<>();
+        Map<String, Long> expenseByCategory = new HashMap<>();
+        long totalIncome = 0;
+        long totalExpense = 0;
+        int incomeCount = 0;
+        int expenseCount = 0;
+
+        for (Map.Entry<String, Cell> e : bucket.income.entrySet()) {
+            incomeByCategory.put(e.getKey(), e.getValue().totalMinor);
+            totalIncome += e.getValue().totalMinor;
+            incomeCount += e.getValue().count;
+        }
+        for (Map.Entry<String, Cell> e : bucket.expense.entrySet()) {
+            expenseByCategory.put(e.getKey(), e.getValue().totalMinor);
+            totalExpense += e.getValue().totalMinor;
+            expenseCount += e.getValue().count;
+        }
+
+        return new MonthlyRollup(month, totalIncome, totalExpense, incomeCount, expenseCount,
+                                 incomeByCategory, expenseByCategory);
+    }
+}
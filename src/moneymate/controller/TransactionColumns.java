@@ -0,0 +1,256 @@
+package moneymate.controller;
+
+import moneymate.database.ValueDictionary;
+import moneymate.model.Expense;
+import moneymate.model.Income;
+import moneymate.model.Transaction;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * TransactionColumns - salinan transaksi dalam bentuk kolom array primitif
+ *
+ * Satu baris per transaksi: tanggal (epoch day, int[]), jumlah (sen, long[]),
+ * tipe (BitSet, bit = pemasukan), kategori & metode pembayaran sebagai kode
+ * ValueDictionary (int[]). Group by berjalan sebagai loop atas array tanpa
+ * menyentuh objek Transaction atau instanceof per baris, dengan biaya sekitar
+ * 20 byte per baris.
+ *
+ * Group by besar dibagi per rentang baris dan dijalankan paralel di
+ * ForkJoinPool; baris tidak urut tanggal, jadi filter tanggal dicek per baris.
+ *
+ * Baris tidak punya identitas: remove() menghapus satu baris dengan nilai
+ * yang sama (hasil agregat identik) lalu memindahkan baris terakhir ke
+ * posisinya, jadi urutan baris tidak bermakna.
+ *
+ * Tidak thread-safe; dijaga lock milik TransactionManager seperti TransactionStore.
+ */
+class TransactionColumns {
+
+    /**
+     * Kolom dictionary yang bisa dipakai untuk group by
+     */
+    enum Dimension {
+        CATEGORY,
+        /** Hanya pengeluaran; key null = metode pembayaran tidak disebutkan */
+        PAYMENT_METHOD
+    }
+
+    @FunctionalInterface
+    interface GroupConsumer {
+        void accept(String key, long incomeMinor, long expenseMinor, long count);
+    }
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Minimal jumlah baris untuk group by paralel (lihat AggregationBenchmark)
+     */
+    static final int PARALLEL_THRESHOLD = Integer.getInteger("moneymate.parallel.threshold", 200_000);
+    private static final int MIN_CHUNK_ROWS = 16_384;
+
+    private int size;
+    private int[] epochDay = new int[INITIAL_CAPACITY];
+    private long[] amountMinor = new long[INITIAL_CAPACITY];
+    private final BitSet income = new BitSet();
+    private int[] category = new int[INITIAL_CAPACITY];
+    private int[] paymentMethod = new int[INITIAL_CAPACITY];
+    private final ValueDictionary dictionary;
+
+    TransactionColumns(ValueDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    void add(Transaction transaction) {
+        add(transaction.getDate().toEpochDay(), transaction instanceof Income,
+            transaction.getAmount().getMinor(), transaction.getCategory(), paymentMethodOf(transaction));
+    }
+
+    void add(long day, boolean isIncome, long amount, String categoryName, String paymentMethodName) {
+        if (size == epochDay.length) {
+            grow();
+        }
+        epochDay[size] = Math.toIntExact(day);
+        amountMinor[size] = amount;
+        income.set(size, isIncome);
+        category[size] = dictionary.code(ValueDictionary.Kind.CATEGORY, categoryName);
+        paymentMethod[size] = dictionary.code(ValueDictionary.Kind.PAYMENT_METHOD, paymentMethodName);
+        size++;
+    }
+
+    /**
+     * Hapus satu baris dengan nilai yang sama; false jika tidak ada.
+     * Scan dari belakang, jadi baris yang baru ditambahkan paling cepat ditemukan.
+     */
+    boolean remove(long day, boolean isIncome, long amount, String categoryName, String paymentMethodName) {
+        int categoryCode = dictionary.lookup(ValueDictionary.Kind.CATEGORY, categoryName);
+        int paymentMethodCode = dictionary.lookup(ValueDictionary.Kind.PAYMENT_METHOD, paymentMethodName);
+        if (categoryCode == ValueDictionary.UNKNOWN || paymentMethodCode == ValueDictionary.UNKNOWN) {
+            return false;
+        }
+        int dayValue = Math.toIntExact(day);
+        for (int row = size - 1; row >= 0; row--) {
+            if (epochDay[row] == dayValue && amountMinor[row] == amount
+                    && category[row] == categoryCode && paymentMethod[row] == paymentMethodCode
+                    && income.get(row) == isIncome) {
+                int last = --size;
+                epochDay[row] = epochDay[last];
+                amountMinor[row] = amountMinor[last];
+                income.set(row, income.get(last));
+                income.clear(last);
+                category[row] = category[last];
+                paymentMethod[row] = paymentMethod[last];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean remove(Transaction transaction) {
+        return remove(transaction.getDate().toEpochDay(), transaction instanceof Income,
+            transaction.getAmount().getMinor(), transaction.getCategory(), paymentMethodOf(transaction));
+    }
+
+    /**
+     * Agregat per key untuk baris dengan tanggal fromDay..toDay (epoch day, inklusif).
+     * Key tanpa baris tidak dikirim ke consumer. Paralel di common ForkJoinPool
+     * jika jumlah baris >= PARALLEL_THRESHOLD dan pool punya lebih dari satu worker.
+     */
+    void forEachGroup(Dimension dimension, long fromDay, long toDay, GroupConsumer consumer) {
+        boolean parallel = size >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1;
+        forEachGroup(dimension, fromDay, toDay, parallel ? ForkJoinPool.commonPool() : null, consumer);
+    }
+
+    /**
+     * Seperti forEachGroup di atas dengan pool eksplisit; null = sequential
+     */
+    void forEachGroup(Dimension dimension, long fromDay, long toDay, ForkJoinPool pool, GroupConsumer consumer) {
+        // Satu slot per kode dictionary; slot 0 = ValueDictionary.NONE (null)
+        Scan scan = new Scan(epochDay, amountMinor, income,
+            dimension == Dimension.CATEGORY ? category : paymentMethod,
+            fromDay, toDay, dimension == Dimension.PAYMENT_METHOD, dictionary.maxCode() + 1);
+
+        GroupTotals totals;
+        if (pool == null) {
+            totals = scan.run(0, size);
+        } else {
+            int chunkRows = Math.max(MIN_CHUNK_ROWS, size / (pool.getParallelism() * 4));
+            totals = pool.invoke(new ScanTask(scan, 0, size, chunkRows));
+        }
+
+        for (int slot = 0; slot < totals.count.length; slot++) {
+            if (totals.count[slot] > 0) {
+                consumer.accept(dictionary.value(slot), totals.incomeMinor[slot],
+                    totals.expenseMinor[slot], totals.count[slot]);
+            }
+        }
+    }
+
+    /**
+     * Akumulator group by per kode (jumlah pemasukan/pengeluaran & banyak baris);
+     * hasil beberapa chunk digabung dengan merge()
+     */
+    private static final class GroupTotals {
+        final long[] incomeMinor;
+        final long[] expenseMinor;
+        final long[] count;
+
+        GroupTotals(int slots) {
+            incomeMinor = new long[slots];
+            expenseMinor = new long[slots];
+            count = new long[slots];
+        }
+
+        GroupTotals merge(GroupTotals other) {
+            for (int slot = 0; slot < count.length; slot++) {
+                incomeMinor[slot] += other.incomeMinor[slot];
+                expenseMinor[slot] += other.expenseMinor[slot];
+                count[slot] += other.count[slot];
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Parameter satu group by; array diambil sekali oleh thread pemanggil
+     * (yang memegang lock) supaya worker ForkJoin membaca array yang sama
+     */
+    private record Scan(int[] epochDay, long[] amountMinor, BitSet income, int[] codes,
+                        long fromDay, long toDay, boolean expenseOnly, int slots) {
+
+        GroupTotals run(int fromRow, int toRow) {
+            GroupTotals totals = new GroupTotals(slots);
+            for (int row = fromRow; row < toRow; row++) {
+                int day = epochDay[row];
+                if (day < fromDay || day > toDay) {
+                    continue;
+                }
+                boolean isIncome = income.get(row);
+                if (isIncome && expenseOnly) {
+                    continue;
+                }
+                int slot = codes[row];
+                if (isIncome) {
+                    totals.incomeMinor[slot] += amountMinor[row];
+                } else {
+                    totals.expenseMinor[slot] += amountMinor[row];
+                }
+                totals.count[slot]++;
+            }
+            return totals;
+        }
+    }
+
+    /**
+     * Bagi rentang baris dua sampai paling banyak chunkRows, lalu gabungkan hasilnya
+     */
+    @SuppressWarnings("serial") // hanya dipakai di dalam ForkJoinPool, tidak pernah diserialisasi
+    private static final class ScanTask extends RecursiveTask<GroupTotals> {
+        private final transient Scan scan;
+        private final int fromRow;
+        private final int toRow;
+        private final int chunkRows;
+
+        ScanTask(Scan scan, int fromRow, int toRow, int chunkRows) {
+            this.scan = scan;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.chunkRows = chunkRows;
+        }
+
+        @Override
+        protected GroupTotals compute() {
+            if (toRow - fromRow <= chunkRows) {
+                return scan.run(fromRow, toRow);
+            }
+            int mid = (fromRow + toRow) >>> 1;
+            ScanTask left = new ScanTask(scan, fromRow, mid, chunkRows);
+            left.fork();
+            GroupTotals right = new ScanTask(scan, mid, toRow, chunkRows).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+        income.clear();
+    }
+
+    private void grow() {
+        int capacity = epochDay.length + (epochDay.length >> 1);
+        epochDay = Arrays.copyOf(epochDay, capacity);
+        amountMinor = Arrays.copyOf(amountMinor, capacity);
+        category = Arrays.copyOf(category, capacity);
+        paymentMethod = Arrays.copyOf(paymentMethod, capacity);
+    }
+
+    static String paymentMethodOf(Transaction transaction) {
+        return transaction instanceof Expense expense ? expense.getPaymentMethod() : null;
+    }
+}
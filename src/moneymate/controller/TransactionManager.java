@@ -3,12 +3,29 @@ package moneymate.controller;
 import moneymate.model.*;
 import moneymate.exception.*;
 import moneymate.interfaces.Calculable;
+import moneymate.interfaces.TransactionListener;
 import moneymate.database.TransactionDAO;
 import moneymate.database.TransactionDAOImpl;
+import moneymate.database.TransactionEventStore;
+import moneymate.database.TransactionLogEntry;
+import moneymate.database.MonthlyRollupCell;
+import moneymate.database.TransactionPage;
+import moneymate.database.TransactionQuery;
+import moneymate.database.TransactionSearchHit;
+import moneymate.database.WriteBehindTransactionDAO;
+import moneymate.database.ValueDictionary;
+import moneymate.util.TimeOrderedIdGenerator;
+import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.time.LocalDate;
 import java.time.YearMonth;
 
@@ -20,24 +37,71 @@ import java.time.YearMonth;
  * - Dependency Injection: Uses TransactionDAO interface
  * - Encapsulation: Private DAO field
  * - Interface Implementation: Implements Calculable
+ *
+ * Concurrency: satu instance dipakai bersama oleh semua request thread.
+ * Read memakai read lock (tidak saling blokir); setiap mutasi, termasuk
+ * cek saldo + insert ke database + update memory, berjalan atomik di
+ * bawah write lock, jadi urutan mutasi linearizable.
+ * Daftar transaksi dibaca lewat TransactionSnapshot yang immutable dan
+ * dipakai bersama sampai mutasi berikutnya.
+ * Setiap mutasi juga dikirim sebagai TransactionEvent ke TransactionListener.
+ *
+ * Dengan -Dmoneymate.writeBehind=REQUEST|GROUP|PERIODIC, DAO menulis lewat
+ * write-behind log; menunggu fsync (awaitDurable) dilakukan setelah write
+ * lock dilepas supaya request yang bersamaan bisa berbagi satu fsync.
+ *
+ * Dengan -Dmoneymate.eventLog=<dir>, setiap mutasi juga dicatat di
+ * TransactionEventStore; startup memakai snapshot + replay event jika
+ * change_count database cocok, selain itu load penuh dari database.
+ *
+ * Dengan -Dmoneymate.window.months=N, hanya transaksi N bulan terakhir
+ * (dihitung saat start) yang disimpan di memory. Total & rollup bulan lama
+ * diisi dari tabel monthly_rollup, dan query per tanggal/bulan untuk periode
+ * lama di-load dari database lewat ColdMonthCache (LRU per bulan). List tanpa
+ * rentang tanggal (getTransactions, by type/kategori) hanya berisi window;
+ * riwayat lengkap lewat findTransactions (paginasi SQL). Event log tetap
+ * mencatat mutasi, tapi snapshot hanya dibuat jika semua transaksi di memory.
+ *
+ * Dengan -Dmoneymate.columnar=true, TransactionStore juga menyimpan semua
+ * transaksi (termasuk bulan di luar window) sebagai TransactionColumns, dan
+ * analytics per metode pembayaran dihitung dari kolom tersebut.
  */
 public class TransactionManager implements Calculable {
 
-    private List<Transaction> transactions;
-    private double initialBalance;
+    // Batch lebih besar dari ini dikirim sebagai satu event RESYNC
+    private static final int MAX_BATCH_EVENTS = 50;
+
+    private final TransactionStore transactions;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile long version;                 // naik di setiap mutasi (di bawah write lock)
+    private volatile TransactionSnapshot snapshot; // dibuat ulang lazily per versi
+    private final List<TransactionListener> listeners = new CopyOnWriteArrayList<>();
+    private Money initialBalance;
     private TransactionDAO transactionDAO;
+    private final TransactionEventStore eventStore = TransactionEventStore.openIfEnabled();
+
+    // Mode window: jumlah bulan terakhir yang disimpan di memory (0 = semua)
+    private static final int WINDOW_MONTHS = Integer.getInteger("moneymate.window.months", 0);
+    private static final int COLD_CACHE_MONTHS = Integer.getInteger("moneymate.window.cacheMonths", 24);
+    private final ColdMonthCache coldMonths = WINDOW_MONTHS > 0
+        ? new ColdMonthCache(COLD_CACHE_MONTHS, this::loadColdMonth)
+        : null;
+    private boolean consistencyCheck = Boolean.getBoolean("moneymate.consistencyCheck");
+
+    // Salinan columnar untuk group by yang tidak ada di rollup (lihat TransactionColumns)
+    private static final boolean COLUMNAR = Boolean.getBoolean("moneymate.columnar");
 
     public TransactionManager() {
-        this.transactions = new ArrayList<>();
-        this.initialBalance = 0.0;
-        this.transactionDAO = new TransactionDAOImpl();
+        this.transactions = new TransactionStore(ValueDictionary.getInstance(), COLUMNAR);
+        this.initialBalance = Money.ZERO;
+        this.transactionDAO = WriteBehindTransactionDAO.wrapIfEnabled(new TransactionDAOImpl());
         loadTransactionsFromDatabase();
     }
 
-    public TransactionManager(double initialBalance) {
-        this.transactions = new ArrayList<>();
+    public TransactionManager(Money initialBalance) {
+        this.transactions = new TransactionStore(ValueDictionary.getInstance(), COLUMNAR);
         this.initialBalance = initialBalance;
-        this.transactionDAO = new TransactionDAOImpl();
+        this.transactionDAO = WriteBehindTransactionDAO.wrapIfEnabled(new TransactionDAOImpl());
         loadTransactionsFromDatabase();
     }
 
@@ -46,14 +110,90 @@ public class TransactionManager implements Calculable {
      */
     private void loadTransactionsFromDatabase() {
         try {
-            this.transactions = transactionDAO.findAll();
-            System.out.println("✓ Loaded " + transactions.size() + " transactions from database");
+            if (coldMonths != null) {
+                loadWindowFromDatabase();
+            } else if (!loadTransactionsFromEventLog()) {
+                List<Transaction> all = transactionDAO.findAll();
+                transactions.addAll(all);
+                if (eventStore != null) {
+                    eventStore.rebase(all, transactionDAO.getChangeCount());
+                }
+                System.out.println("✓ Loaded " + transactions.size() + " transactions from database");
+            }
+            // Seed generator ID supaya ID baru selalu lebih besar dari yang tersimpan
+            Transaction.getIdGenerator().observe(
+                transactionDAO.findMaxTransactionId(TimeOrderedIdGenerator.idLength()));
         } catch (SQLException e) {
             System.err.println("Failed to load transactions: " + e.getMessage());
-            this.transactions = new ArrayList<>();
+            transactions.clear();
+        }
+        claimIdNode();
+    }
+
+    /**
+     * Node generator ID unik per proses, supaya proses lain di database yang sama tidak membuat ID yang sama
+     */
+    private void claimIdNode() {
+        if (Transaction.getIdGenerator() instanceof TimeOrderedIdGenerator generator) {
+            try {
+                generator.setNode(transactionDAO.claimIdNode(TimeOrderedIdGenerator.NODE_COUNT));
+            } catch (SQLException e) {
+                System.err.println("Failed to claim ID generator node, using a random node: " + e.getMessage());
+            }
         }
     }
     
+    /**
+     * Mode window: load transaksi WINDOW_MONTHS bulan terakhir, bulan lama
+     * hanya sebagai agregat dari monthly_rollup
+     */
+    private void loadWindowFromDatabase() throws SQLException {
+        LocalDate windowStart = YearMonth.now().minusMonths(WINDOW_MONTHS - 1).atDay(1);
+        transactions.setResidentFrom(windowStart);
+        for (MonthlyRollupCell cell : transactionDAO.findRollupCellsBefore(YearMonth.from(windowStart))) {
+            transactions.seedCold(cell.getMonth(), cell.isIncome(), cell.getCategory(),
+                cell.getTotalMinor(), cell.getCount());
+        }
+        if (transactions.getColumns() != null) {
+            transactionDAO.scanColumnsBefore(windowStart, transactions::seedColdRow);
+        }
+        transactions.addAll(transactionDAO.findByDateRange(windowStart, LocalDate.MAX));
+        System.out.printf("✓ Loaded %d transactions since %s (%d older in aggregates)%n",
+            transactions.size(), windowStart, transactions.totalCount() - transactions.size());
+    }
+
+    /**
+     * Load dari snapshot + replay event log; false jika tidak ada state yang
+     * bisa dipakai atau database sudah berubah di luar event log
+     */
+    private boolean loadTransactionsFromEventLog() throws SQLException {
+        if (eventStore == null) {
+            return false;
+        }
+        long start = System.nanoTime();
+        TransactionEventStore.RecoveredState state;
+        try {
+            state = eventStore.recover();
+        } catch (IOException e) {
+            System.err.println("Failed to read event log: " + e.getMessage());
+            return false;
+        }
+        if (state == null) {
+            return false;
+        }
+        long databaseChanges = transactionDAO.getChangeCount();
+        if (state.getChangeCount() != databaseChanges) {
+            System.err.println("Event log out of sync with database (" + state.getChangeCount()
+                + " vs " + databaseChanges + " changes), loading from database");
+            return false;
+        }
+        transactions.addAll(state.getTransactions());
+        System.out.printf("✓ Loaded %d transactions from snapshot @%d + %d events (%d ms)%n",
+            transactions.size(), state.getSnapshotSeq(), state.getReplayedEvents(),
+            (System.nanoTime() - start) / 1_000_000);
+        return true;
+    }
+
     /**
      * Tambah transaksi baru (save to database)
      */
@@ -66,34 +206,125 @@ public class TransactionManager implements Calculable {
             throw new InvalidTransactionException("Data transaksi tidak valid!");
         }
 
-        // Validasi saldo untuk expense
-        if (transaction instanceof Expense) {
-            double currentBalance = calculateTotalBalance();
-            if (currentBalance < transaction.getAmount()) {
-                throw new InsufficientBalanceException(currentBalance, transaction.getAmount());
+        lock.writeLock().lock();
+        try {
+            // Validasi saldo untuk expense (atomik dengan insert di bawah)
+            if (transaction instanceof Expense) {
+                Money currentBalance = balance();
+                if (currentBalance.isLessThan(transaction.getAmount())) {
+                    throw new InsufficientBalanceException(currentBalance, transaction.getAmount());
+                }
             }
-        }
 
-        try {
             transactionDAO.save(transaction);
-            transactions.add(transaction);
+            storeAdd(transaction);
+            if (eventStore != null) {
+                eventStore.appendAdded(transaction);
+            }
+            version++;
+            checkConsistency();
+            snapshotEventLogIfDue();
+            publish(TransactionEvent.added(version, transaction));
+            publishBalance();
             System.out.println("✓ Transaksi berhasil ditambahkan: " + transaction.getTransactionId());
         } catch (SQLException e) {
             throw new InvalidTransactionException("Gagal menyimpan ke database: " + e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
         }
+        awaitDurable();
     }
     
+    /**
+     * Tambah banyak transaksi sekaligus (satu batch insert ke database)
+     * Saldo divalidasi sekali untuk seluruh batch: total pengeluaran batch
+     * tidak boleh melebihi saldo saat ini ditambah total pemasukan batch.
+     */
+    public void addTransactions(List<? extends Transaction> batch)
+            throws InvalidTransactionException, InsufficientBalanceException {
+        if (batch == null) {
+            throw new InvalidTransactionException("Transaksi tidak boleh null!");
+        }
+
+        long batchIncomeMinor = 0;
+        long batchExpenseMinor = 0;
+        for (Transaction transaction : batch) {
+            if (transaction == null) {
+                throw new InvalidTransactionException("Transaksi tidak boleh null!");
+            }
+            if (!transaction.isValid()) {
+                throw new InvalidTransactionException("Data transaksi tidak valid: " + transaction.getTransactionId());
+            }
+            if (transaction instanceof Income) {
+                batchIncomeMinor += transaction.getAmount().getMinor();
+            } else if (transaction instanceof Expense) {
+                batchExpenseMinor += transaction.getAmount().getMinor();
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (batchExpenseMinor > 0) {
+                long availableMinor = balance().getMinor() + batchIncomeMinor;
+                if (availableMinor < batchExpenseMinor) {
+                    throw new InsufficientBalanceException(Money.ofMinor(availableMinor), Money.ofMinor(batchExpenseMinor));
+                }
+            }
+
+            transactionDAO.saveAll(batch);
+            for (Transaction transaction : batch) {
+                storeAdd(transaction);
+            }
+            if (eventStore != null) {
+                eventStore.appendAdded(batch);
+            }
+            version++;
+            checkConsistency();
+            snapshotEventLogIfDue();
+            if (batch.size() <= MAX_BATCH_EVENTS) {
+                for (Transaction transaction : batch) {
+                    publish(TransactionEvent.added(version, transaction));
+                }
+            } else {
+                publish(TransactionEvent.resync(version));
+            }
+            publishBalance();
+            System.out.println("✓ " + batch.size() + " transaksi berhasil ditambahkan");
+        } catch (SQLException e) {
+            throw new InvalidTransactionException("Gagal menyimpan ke database: " + e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        awaitDurable();
+    }
+
     /**
      * Hapus transaksi berdasarkan ID (delete from database)
      */
     public void deleteTransaction(String transactionId) throws TransactionNotFoundException {
-        Transaction toRemove = findTransactionById(transactionId);
+        lock.writeLock().lock();
         try {
+            Transaction removed = findTransactionById(transactionId);
             transactionDAO.delete(transactionId);
-            transactions.remove(toRemove);
+            storeRemove(removed);
+            if (eventStore != null) {
+                eventStore.appendDeleted(removed);
+            }
+            version++;
+            checkConsistency();
+            snapshotEventLogIfDue();
+            publish(TransactionEvent.deleted(version, transactionId));
+            publishBalance();
             System.out.println("✓ Transaksi berhasil dihapus: " + transactionId);
         } catch (SQLException e) {
             throw new TransactionNotFoundException("Gagal menghapus dari database: " + e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            transactionDAO.awaitDurable();
+        } catch (SQLException e) {
+            throw new TransactionNotFoundException("Gagal menghapus dari database: " + e.getMessage());
         }
     }
     
@@ -107,22 +338,88 @@ public class TransactionManager implements Calculable {
             throw new InvalidTransactionException("Data transaksi tidak valid!");
         }
 
-        Transaction oldTransaction = findTransactionById(transactionId);
-        int index = transactions.indexOf(oldTransaction);
+        // Data baru dengan ID lama
+        Transaction replacement = updatedTransaction.withTransactionId(transactionId);
 
+        lock.writeLock().lock();
         try {
-            // Set transaction ID to match the old one
-            java.lang.reflect.Field idField = Transaction.class.getDeclaredField("transactionId");
-            idField.setAccessible(true);
-            idField.set(updatedTransaction, transactionId);
-
-            transactionDAO.update(updatedTransaction);
-            transactions.set(index, updatedTransaction);
+            Transaction previous = findTransactionById(transactionId);
+            transactionDAO.update(replacement);
+            storeRemove(previous);
+            storeAdd(replacement);
+            if (eventStore != null) {
+                eventStore.appendUpdated(replacement);
+            }
+            version++;
+            checkConsistency();
+            snapshotEventLogIfDue();
+            publish(TransactionEvent.updated(version, replacement));
+            publishBalance();
             System.out.println("✓ Transaksi berhasil diupdate: " + transactionId);
         } catch (SQLException e) {
             throw new InvalidTransactionException("Gagal update database: " + e.getMessage());
-        } catch (Exception e) {
-            throw new InvalidTransactionException("Gagal set transaction ID: " + e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        awaitDurable();
+    }
+
+    /**
+     * Masukkan transaksi ke memory, atau hanya ke agregat jika di luar window;
+     * dipanggil di bawah write lock
+     */
+    private void storeAdd(Transaction transaction) {
+        if (transactions.isResident(transaction.getDate())) {
+            transactions.add(transaction);
+        } else {
+            transactions.applyCold(transaction, 1);
+            coldMonths.invalidate(YearMonth.from(transaction.getDate()));
+        }
+    }
+
+    private void storeRemove(Transaction transaction) {
+        if (transactions.isResident(transaction.getDate())) {
+            transactions.remove(transaction.getTransactionId());
+        } else {
+            transactions.applyCold(transaction, -1);
+            coldMonths.invalidate(YearMonth.from(transaction.getDate()));
+        }
+    }
+
+    /**
+     * Snapshot state ke event log tiap N event; dipanggil di bawah write lock
+     * supaya snapshot cocok dengan seq event terakhir (ditulis di background)
+     */
+    private void snapshotEventLogIfDue() {
+        if (eventStore != null && coldMonths == null && eventStore.isSnapshotDue()) {
+            eventStore.snapshotAsync(getSnapshot().getTransactions());
+        }
+    }
+
+    /**
+     * Riwayat perubahan dari event log (audit trail), mulai seq fromSeq
+     */
+    public List<TransactionLogEntry> getAuditLog(long fromSeq, int limit) throws IOException {
+        if (eventStore == null) {
+            throw new IllegalStateException("Event log tidak aktif (jalankan dengan -D"
+                + TransactionEventStore.DIRECTORY_PROPERTY + "=<dir>)");
+        }
+        return eventStore.readEntries(fromSeq, limit);
+    }
+
+    public boolean isEventLogEnabled() {
+        return eventStore != null;
+    }
+
+    /**
+     * Tunggu perubahan tahan crash (no-op kecuali write-behind GROUP);
+     * dipanggil di luar write lock
+     */
+    private void awaitDurable() throws InvalidTransactionException {
+        try {
+            transactionDAO.awaitDurable();
+        } catch (SQLException e) {
+            throw new InvalidTransactionException("Gagal menyimpan ke database: " + e.getMessage());
         }
     }
     
@@ -130,36 +427,130 @@ public class TransactionManager implements Calculable {
      * Cari transaksi berdasarkan ID
      */
     public Transaction findTransactionById(String transactionId) throws TransactionNotFoundException {
-        return transactions.stream()
-            .filter(t -> t.getTransactionId().equals(transactionId))
-            .findFirst()
-            .orElseThrow(() -> new TransactionNotFoundException(transactionId));
+        Transaction transaction = readLocked(() -> transactions.get(transactionId));
+        if (transaction == null && coldMonths != null) {
+            transaction = findColdTransaction(transactionId);
+        }
+        if (transaction == null) {
+            throw new TransactionNotFoundException(transactionId);
+        }
+        return transaction;
     }
     
     /**
-     * Get semua transaksi
+     * Cari transaksi di luar window langsung di database
+     */
+    private Transaction findColdTransaction(String transactionId) {
+        try {
+            Transaction transaction = transactionDAO.findById(transactionId);
+            return transaction != null && !transactions.isResident(transaction.getDate()) ? transaction : null;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Gagal membaca database: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Get semua transaksi (urut tanggal terbaru dulu)
+     * List read-only dari snapshot terbaru; tidak disalin per pemanggil.
      */
     @Override
     public List<Transaction> getTransactions() {
-        return new ArrayList<>(transactions);
+        return getSnapshot().getTransactions();
+    }
+
+    /**
+     * Get snapshot immutable untuk versi data saat ini
+     * Tanpa mutasi baru, semua pemanggil menerima instance yang sama.
+     */
+    public TransactionSnapshot getSnapshot() {
+        TransactionSnapshot current = snapshot;
+        if (current != null && current.getVersion() == version) {
+            return current;
+        }
+        return readLocked(() -> {
+            // Versi tidak bisa berubah selama read lock dipegang
+            TransactionSnapshot latest = snapshot;
+            if (latest == null || latest.getVersion() != version) {
+                latest = new TransactionSnapshot(version, transactions.toList());
+                snapshot = latest;
+            }
+            return latest;
+        });
+    }
+
+    /**
+     * Daftarkan listener untuk perubahan data
+     */
+    public void addListener(TransactionListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(TransactionListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Event BALANCE untuk versi data saat ini (dipakai sebagai state awal subscriber)
+     */
+    public TransactionEvent getBalanceEvent() {
+        return readLocked(this::balanceEvent);
+    }
+
+    private TransactionEvent balanceEvent() {
+        return TransactionEvent.balance(version, new TransactionEvent.BalanceSummary(
+            balance(),
+            Money.ofMinor(transactions.getTotalIncomeMinor()),
+            Money.ofMinor(transactions.getTotalExpenseMinor()),
+            initialBalance,
+            transactions.totalCount()));
+    }
+
+    private void publishBalance() {
+        publish(balanceEvent());
+    }
+
+    /**
+     * Kirim event ke semua listener; dipanggil di bawah write lock supaya
+     * urutan event sama dengan urutan versi
+     */
+    private void publish(TransactionEvent event) {
+        for (TransactionListener listener : listeners) {
+            try {
+                listener.onTransactionEvent(event);
+            } catch (RuntimeException e) {
+                System.err.println("Transaction listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Versi data saat ini (transaksi & saldo awal); naik di setiap perubahan
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Jumlah perubahan baris transactions di database (termasuk dari proses lain)
+     */
+    public long getDatabaseChangeCount() throws SQLException {
+        return transactionDAO.getChangeCount();
     }
     
     /**
      * Get transaksi berdasarkan tipe
      */
     public List<Transaction> getTransactionsByType(Class<? extends Transaction> type) {
-        return transactions.stream()
+        return readLocked(() -> transactions.stream()
             .filter(type::isInstance)
-            .collect(Collectors.toList());
+            .collect(Collectors.toList()));
     }
     
     /**
-     * Get transaksi berdasarkan kategori
+     * Get transaksi berdasarkan kategori (tanpa memperhatikan huruf besar/kecil)
      */
     public List<Transaction> getTransactionsByCategory(String category) {
-        return transactions.stream()
-            .filter(t -> t.getCategory().equalsIgnoreCase(category))
-            .collect(Collectors.toList());
+        return readLocked(() -> transactions.byCategory(category));
     }
 
     /**
@@ -174,65 +565,191 @@ public class TransactionManager implements Calculable {
      * Get transaksi berdasarkan tanggal
      */
     public List<Transaction> getTransactionsByDate(LocalDate date) {
-        return transactions.stream()
-            .filter(t -> t.getDate().equals(date))
-            .collect(Collectors.toList());
+        return readLocked(() -> streamBetween(date, date).collect(Collectors.toList()));
     }
     
     /**
      * Get transaksi dalam periode bulan tertentu
      */
     public List<Transaction> getTransactionsByMonth(YearMonth month) {
-        return transactions.stream()
-            .filter(t -> YearMonth.from(t.getDate()).equals(month))
-            .collect(Collectors.toList());
+        return readLocked(() -> streamBetween(month.atDay(1), month.atEndOfMonth()).collect(Collectors.toList()));
+    }
+
+    /**
+     * Transaksi tanggal from..to (inklusif), urut terbaru dulu; bagian di luar
+     * window dibaca dari ColdMonthCache. Pemanggil harus memegang read atau
+     * write lock (cache tidak pernah diisi bersamaan dengan mutasi).
+     */
+    private Stream<Transaction> streamBetween(LocalDate from, LocalDate to) {
+        LocalDate residentFrom = transactions.getResidentFrom();
+        if (residentFrom == null || !from.isBefore(residentFrom)) {
+            return transactions.streamBetween(from, to);
+        }
+
+        Stream<Transaction> hot = to.isBefore(residentFrom)
+            ? Stream.empty()
+            : transactions.streamBetween(residentFrom, to);
+        LocalDate coldTo = to.isBefore(residentFrom) ? to : residentFrom.minusDays(1);
+        List<Transaction> cold = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(coldTo); !month.isBefore(YearMonth.from(from)); month = month.minusMonths(1)) {
+            if (!transactions.getRollup().contains(month)) {
+                continue; // Bulan kosong menurut agregat, tidak perlu query
+            }
+            for (Transaction transaction : coldMonth(month)) {
+                if (!transaction.getDate().isBefore(from) && !transaction.getDate().isAfter(coldTo)) {
+                    cold.add(transaction);
+                }
+            }
+        }
+        return Stream.concat(hot, cold.stream());
+    }
+
+    private List<Transaction> coldMonth(YearMonth month) {
+        try {
+            return coldMonths.get(month);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Gagal memuat transaksi " + month + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Loader ColdMonthCache, urutan sama dengan TransactionStore (tanggal lalu ID, terbaru dulu)
+     */
+    private List<Transaction> loadColdMonth(YearMonth month) throws SQLException {
+        List<Transaction> loaded = new ArrayList<>(transactionDAO.findByMonth(month));
+        loaded.sort(Comparator.comparing(Transaction::getDate)
+            .thenComparing(Transaction::getTransactionId).reversed());
+        return loaded;
+    }
+    
+    /**
+     * Baca semua transaksi (tanggal terbaru dulu) langsung dari database
+     * tanpa menyalin list; tidak memegang lock, jadi aman untuk export yang lama
+     */
+    public void scanAllTransactions(TransactionDAO.RowVisitor visitor) throws SQLException {
+        transactionDAO.scanAll(visitor);
+    }
+
+    /**
+     * Cari transaksi dengan filter + keyset pagination (dijalankan di SQL, pakai index)
+     */
+    public TransactionPage findTransactions(TransactionQuery query) throws SQLException {
+        return transactionDAO.findPage(query);
+    }
+
+    /**
+     * Full-text search (index FTS5), hasil urut relevansi dengan snippet
+     */
+    public List<TransactionSearchHit> searchTransactions(String text, int limit) throws SQLException {
+        return transactionDAO.search(text, limit);
     }
     
     // Implementation of Calculable interface
+    // Total dijaga incremental oleh TransactionStore (fixed-point sen), jadi O(1)
     
     @Override
-    public double calculateTotalBalance() {
-        return initialBalance + calculateTotalIncome() - calculateTotalExpense();
+    public Money calculateTotalBalance() {
+        return readLocked(this::balance);
     }
     
     @Override
-    public double calculateTotalIncome() {
-        return transactions.stream()
-            .filter(t -> t instanceof Income)
-            .mapToDouble(Transaction::getAmount)
-            .sum();
+    public Money calculateTotalIncome() {
+        return readLocked(() -> Money.ofMinor(transactions.getTotalIncomeMinor()));
     }
     
     @Override
-    public double calculateTotalExpense() {
-        return transactions.stream()
-            .filter(t -> t instanceof Expense)
-            .mapToDouble(Transaction::getAmount)
-            .sum();
+    public Money calculateTotalExpense() {
+        return readLocked(() -> Money.ofMinor(transactions.getTotalExpenseMinor()));
+    }
+
+    /**
+     * Saldo saat ini; pemanggil harus memegang read atau write lock
+     */
+    private Money balance() {
+        return Money.ofMinor(initialBalance.getMinor()
+                             + transactions.getTotalIncomeMinor()
+                             - transactions.getTotalExpenseMinor());
+    }
+
+    /**
+     * Jalankan operasi baca di bawah read lock
+     */
+    private <T> T readLocked(Supplier<T> read) {
+        lock.readLock().lock();
+        try {
+            return read.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Aktifkan self-check konsistensi total setelah setiap mutasi
+     * (untuk testing; default dari -Dmoneymate.consistencyCheck=true)
+     */
+    public void setConsistencyCheck(boolean enabled) {
+        lock.writeLock().lock();
+        try {
+            this.consistencyCheck = enabled;
+            checkConsistency();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void checkConsistency() {
+        if (consistencyCheck) {
+            transactions.verifyTotals();
+        }
     }
     
     /**
-     * Generate laporan bulanan
+     * Generate laporan bulanan (dari rollup, tanpa scan riwayat transaksi)
      */
     public Report generateMonthlyReport(YearMonth month) {
-        return new Report(transactions, month);
+        return new Report(this::getMonthlyRollup, this::getTransactionsByMonth, month);
+    }
+
+    /**
+     * Generate analytics multi-periode (time series / breakdown) dari rollup
+     * @param from bulan awal, null = bulan pertama yang punya data
+     * @param to bulan akhir, null = bulan terakhir yang punya data
+     * @param yearOverYear sertakan perbandingan dengan periode sama tahun lalu
+     */
+    public AnalyticsReport generateAnalytics(YearMonth from, YearMonth to,
+                                             AnalyticsReport.GroupBy groupBy, boolean yearOverYear) {
+        return readLocked(() -> {
+            YearMonth first = transactions.getRollup().firstMonth();
+            YearMonth last = transactions.getRollup().lastMonth();
+            YearMonth end = to != null ? to : (last != null ? last : YearMonth.now());
+            YearMonth start = from != null ? from : (first != null && !first.isAfter(end) ? first : end.minusMonths(11));
+            return new AnalyticsEngine(transactions, this::streamBetween).compute(start, end, groupBy, yearOverYear);
+        });
+    }
+
+    /**
+     * Get ringkasan agregat (per tipe & kategori) untuk satu bulan
+     */
+    public MonthlyRollup getMonthlyRollup(YearMonth month) {
+        return readLocked(() -> transactions.getMonthlyRollup(month));
     }
     
     /**
      * Display semua transaksi
      */
     public void displayAllTransactions() {
-        if (transactions.isEmpty()) {
+        List<Transaction> all = getTransactions();
+        if (all.isEmpty()) {
             System.out.println("Belum ada transaksi.");
             return;
         }
         
         System.out.println("\n========== DAFTAR TRANSAKSI ==========");
-        for (Transaction t : transactions) {
+        for (Transaction t : all) {
             System.out.println(t);
         }
         System.out.println("======================================");
-        System.out.printf("Total: %d transaksi\n", transactions.size());
+        System.out.printf("Total: %d transaksi\n", all.size());
     }
     
     /**
@@ -240,19 +757,51 @@ public class TransactionManager implements Calculable {
      */
     public void displayBalanceSummary() {
         System.out.println("\n========== RINGKASAN SALDO ==========");
-        System.out.printf("Saldo Awal       : Rp %,15.2f\n", initialBalance);
-        System.out.printf("Total Pemasukan  : Rp %,15.2f\n", calculateTotalIncome());
-        System.out.printf("Total Pengeluaran: Rp %,15.2f\n", calculateTotalExpense());
+        System.out.printf("Saldo Awal       : Rp %,15.2f\n", getInitialBalance().toBigDecimal());
+        System.out.printf("Total Pemasukan  : Rp %,15.2f\n", calculateTotalIncome().toBigDecimal());
+        System.out.printf("Total Pengeluaran: Rp %,15.2f\n", calculateTotalExpense().toBigDecimal());
         System.out.println("-------------------------------------");
-        System.out.printf("SALDO AKHIR      : Rp %,15.2f\n", calculateTotalBalance());
+        System.out.printf("SALDO AKHIR      : Rp %,15.2f\n", calculateTotalBalance().toBigDecimal());
         System.out.println("=====================================\n");
     }
     
-    public double getInitialBalance() {
-        return initialBalance;
+    public Money getInitialBalance() {
+        return readLocked(() -> initialBalance);
     }
     
-    public void setInitialBalance(double initialBalance) {
-        this.initialBalance = initialBalance;
+    /**
+     * Flush antrean write-behind & tutup event log (dipanggil Spring saat shutdown)
+     */
+    public void close() {
+        if (eventStore != null) {
+            lock.writeLock().lock();
+            try {
+                // Snapshot terakhir supaya start berikutnya tidak perlu replay
+                if (coldMonths == null && eventStore.hasEventsSinceSnapshot()) {
+                    eventStore.snapshotAsync(getSnapshot().getTransactions());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            eventStore.close();
+        }
+        if (transactionDAO instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                System.err.println("Failed to close transaction DAO: " + e.getMessage());
+            }
+        }
+    }
+
+    public void setInitialBalance(Money initialBalance) {
+        lock.writeLock().lock();
+        try {
+            this.initialBalance = initialBalance;
+            version++;
+            publishBalance();
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 }
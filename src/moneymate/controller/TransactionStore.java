@@ -0,0 +1,395 @@
+package moneymate.controller;
+
+import moneymate.database.ValueDictionary;
+import moneymate.model.Expense;
+import moneymate.model.Income;
+import moneymate.model.MonthlyRollup;
+import moneymate.model.Transaction;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * TransactionStore - penyimpanan transaksi in-memory milik TransactionManager
+ *
+ * Dua struktur dijaga tetap sinkron:
+ * - HashMap by transaction ID: lookup/delete/update O(1)
+ * - TreeSet urut tanggal (terbaru dulu): listing & query rentang tanggal O(log n + k)
+ *
+ * Total pemasukan/pengeluaran juga dijaga secara incremental dalam satuan
+ * sen (long, Money.getMinor()) sehingga penjumlahan selalu exact dan
+ * pembacaan total O(1), begitu juga RollupCube per (bulan, tipe, kategori).
+ *
+ * Posisi di TreeSet memakai tanggal saat transaksi dimasukkan, jadi transaksi
+ * yang tanggalnya berubah harus di-replace(), bukan diubah di tempat.
+ *
+ * Mode window (setResidentFrom): hanya transaksi mulai tanggal tertentu yang
+ * disimpan. Transaksi lebih lama ("cold") hanya ikut di total & cube, diisi
+ * dari agregat database (seedCold) dan dijaga lewat applyCold().
+ *
+ * Opsional (konstruktor columnar = true): semua transaksi, termasuk yang di
+ * luar window, juga disalin ke TransactionColumns untuk group by yang tidak
+ * ada di RollupCube (mis. metode pembayaran) tanpa scan objek.
+ *
+ * Kategori, source & metode pembayaran setiap transaksi yang masuk diganti
+ * dengan String kanonik dari ValueDictionary, dan kode kategori disimpan di
+ * entry supaya filter kategori cukup membandingkan int.
+ */
+class TransactionStore {
+
+    /**
+     * Entry index: tanggal (epoch day), ID, tipe, jumlah (sen) & kategori (+ kode) dibekukan saat insert
+     */
+    private record Entry(long epochDay, String id, boolean income, long amountMinor,
+                         String category, int categoryCode, Transaction transaction) {
+
+        Entry(Transaction transaction, int categoryCode) {
+            this(transaction.getDate().toEpochDay(), transaction.getTransactionId(),
+                 transaction instanceof Income, transaction.getAmount().getMinor(),
+                 transaction.getCategory(), categoryCode, transaction);
+        }
+
+        static Entry sentinel(long epochDay, String id) {
+            return new Entry(epochDay, id, false, 0, null, ValueDictionary.NONE, null);
+        }
+    }
+
+    // Terbaru dulu; ID sebagai tie-breaker supaya urutan stabil
+    private static final Comparator<Entry> DATE_DESCENDING =
+        Comparator.comparingLong(Entry::epochDay).reversed()
+                  .thenComparing(Entry::id, Comparator.reverseOrder());
+
+    private final Map<String, Entry> byId = new HashMap<>();
+    private final NavigableSet<Entry> byDate = new TreeSet<>(DATE_DESCENDING);
+
+    private final RollupCube rollup = new RollupCube();
+    private final ValueDictionary dictionary;
+    private final TransactionColumns columns;
+    private long totalIncomeMinor;
+    private long totalExpenseMinor;
+
+    private long residentFromEpochDay = Long.MIN_VALUE;
+    private long coldIncomeMinor;
+    private long coldExpenseMinor;
+    private int coldCount;
+
+    TransactionStore(ValueDictionary dictionary, boolean columnar) {
+        this.dictionary = dictionary;
+        this.columns = columnar ? new TransactionColumns(dictionary) : null;
+    }
+
+    /**
+     * Hanya transaksi mulai tanggal from yang disimpan di memory
+     */
+    void setResidentFrom(LocalDate from) {
+        residentFromEpochDay = from.toEpochDay();
+    }
+
+    /**
+     * Tanggal pertama yang disimpan di memory, null jika semua disimpan
+     */
+    LocalDate getResidentFrom() {
+        return residentFromEpochDay == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(residentFromEpochDay);
+    }
+
+    boolean isResident(LocalDate date) {
+        return date.toEpochDay() >= residentFromEpochDay;
+    }
+
+    /**
+     * Masukkan agregat tersimpan untuk bulan di luar window
+     */
+    void seedCold(YearMonth month, boolean income, String category, long totalMinor, int count) {
+        applyColdTotals(income, totalMinor, count);
+        rollup.add(month, income, category, totalMinor, count);
+    }
+
+    /**
+     * Tambah (sign = 1) atau kurangi (sign = -1) transaksi di luar window dari total & cube
+     */
+    void applyCold(Transaction transaction, int sign) {
+        Entry entry = new Entry(transaction, dictionary.code(ValueDictionary.Kind.CATEGORY, transaction.getCategory()));
+        applyColdTotals(entry.income(), sign * entry.amountMinor(), sign);
+        rollup.apply(entry.epochDay(), entry.income(), entry.category(), entry.amountMinor(), sign);
+        if (columns != null) {
+            if (sign > 0) {
+                columns.add(transaction);
+            } else {
+                columns.remove(transaction);
+            }
+        }
+    }
+
+    /**
+     * Tambah baris kolom untuk transaksi di luar window (tanpa objek Transaction);
+     * totalnya sudah masuk lewat seedCold()
+     */
+    void seedColdRow(long epochDay, boolean income, long amountMinor, String category, String paymentMethod) {
+        // Metode pembayaran hanya berlaku untuk pengeluaran (sama dengan add(Transaction))
+        columns.add(epochDay, income, amountMinor, category, income ? null : paymentMethod);
+    }
+
+    private void applyColdTotals(boolean income, long amountMinor, int count) {
+        if (income) {
+            coldIncomeMinor += amountMinor;
+            totalIncomeMinor += amountMinor;
+        } else {
+            coldExpenseMinor += amountMinor;
+            totalExpenseMinor += amountMinor;
+        }
+        coldCount += count;
+    }
+
+    /**
+     * Tambah transaksi; ID yang sudah ada akan diganti
+     */
+    void add(Transaction transaction) {
+        Entry entry = new Entry(transaction, intern(transaction));
+        Entry previous = byId.put(entry.id(), entry);
+        if (previous != null) {
+            byDate.remove(previous);
+            applyAggregates(previous, -1);
+        }
+        byDate.add(entry);
+        applyAggregates(entry, 1);
+    }
+
+    /**
+     * Ganti kategori, source & metode pembayaran dengan instance kanonik, return kode kategori
+     */
+    private int intern(Transaction transaction) {
+        int categoryCode = dictionary.code(ValueDictionary.Kind.CATEGORY, transaction.getCategory());
+        transaction.setCategory(dictionary.value(categoryCode));
+        if (transaction instanceof Income income) {
+            income.setSource(dictionary.intern(ValueDictionary.Kind.SOURCE, income.getSource()));
+        } else if (transaction instanceof Expense expense) {
+            expense.setPaymentMethod(dictionary.intern(ValueDictionary.Kind.PAYMENT_METHOD, expense.getPaymentMethod()));
+        }
+        return categoryCode;
+    }
+
+    void addAll(Collection<? extends Transaction> transactions) {
+        for (Transaction transaction : transactions) {
+            add(transaction);
+        }
+    }
+
+    /**
+     * Hapus transaksi berdasarkan ID, return transaksi yang dihapus (atau null)
+     */
+    Transaction remove(String transactionId) {
+        Entry entry = byId.remove(transactionId);
+        if (entry == null) {
+            return null;
+        }
+        byDate.remove(entry);
+        applyAggregates(entry, -1);
+        return entry.transaction();
+    }
+
+    /**
+     * Ganti transaksi dengan ID tertentu, return transaksi lama (atau null)
+     */
+    Transaction replace(String transactionId, Transaction transaction) {
+        Transaction previous = remove(transactionId);
+        add(transaction);
+        return previous;
+    }
+
+    Transaction get(String transactionId) {
+        Entry entry = byId.get(transactionId);
+        return entry == null ? null : entry.transaction();
+    }
+
+    /**
+     * Jumlah transaksi yang disimpan di memory
+     */
+    int size() {
+        return byId.size();
+    }
+
+    /**
+     * Jumlah semua transaksi, termasuk yang di luar window
+     */
+    int totalCount() {
+        return byId.size() + coldCount;
+    }
+
+    boolean isEmpty() {
+        return byId.isEmpty();
+    }
+
+    void clear() {
+        byId.clear();
+        byDate.clear();
+        rollup.clear();
+        if (columns != null) {
+            columns.clear();
+        }
+        totalIncomeMinor = 0;
+        totalExpenseMinor = 0;
+        coldIncomeMinor = 0;
+        coldExpenseMinor = 0;
+        coldCount = 0;
+    }
+
+    /**
+     * Ringkasan agregat satu bulan dari RollupCube
+     */
+    MonthlyRollup getMonthlyRollup(YearMonth month) {
+        return rollup.get(month);
+    }
+
+    RollupCube getRollup() {
+        return rollup;
+    }
+
+    /**
+     * Salinan kolom semua transaksi, null jika mode columnar tidak aktif
+     */
+    TransactionColumns getColumns() {
+        return columns;
+    }
+
+    /**
+     * Total pemasukan dalam sen
+     */
+    long getTotalIncomeMinor() {
+        return totalIncomeMinor;
+    }
+
+    /**
+     * Total pengeluaran dalam sen
+     */
+    long getTotalExpenseMinor() {
+        return totalExpenseMinor;
+    }
+
+    /**
+     * Self-check: hitung ulang total dari semua entry dan bandingkan dengan
+     * total incremental. Melempar IllegalStateException jika tidak konsisten.
+     */
+    void verifyTotals() {
+        long income = coldIncomeMinor;
+        long expense = coldExpenseMinor;
+        for (Entry entry : byDate) {
+            if (entry.transaction() instanceof Income) {
+                income += entry.transaction().getAmount().getMinor();
+            } else {
+                expense += entry.transaction().getAmount().getMinor();
+            }
+        }
+        if (income != totalIncomeMinor || expense != totalExpenseMinor || byId.size() != byDate.size()) {
+            throw new IllegalStateException(String.format(
+                "TransactionStore inconsistent: income %d/%d, expense %d/%d, size %d/%d",
+                totalIncomeMinor, income, totalExpenseMinor, expense, byId.size(), byDate.size()));
+        }
+        if (columns != null) {
+            long[] columnTotals = new long[3];
+            columns.forEachGroup(TransactionColumns.Dimension.CATEGORY, Long.MIN_VALUE, Long.MAX_VALUE,
+                (category, incomeMinor, expenseMinor, count) -> {
+                    columnTotals[0] += incomeMinor;
+                    columnTotals[1] += expenseMinor;
+                    columnTotals[2] += count;
+                });
+            if (columnTotals[0] != totalIncomeMinor || columnTotals[1] != totalExpenseMinor
+                    || columnTotals[2] != totalCount()) {
+                throw new IllegalStateException(String.format(
+                    "TransactionColumns inconsistent: income %d/%d, expense %d/%d, rows %d/%d",
+                    totalIncomeMinor, columnTotals[0], totalExpenseMinor, columnTotals[1],
+                    totalCount(), columnTotals[2]));
+            }
+        }
+    }
+
+    private void applyAggregates(Entry entry, int sign) {
+        if (entry.income()) {
+            totalIncomeMinor += sign * entry.amountMinor();
+        } else {
+            totalExpenseMinor += sign * entry.amountMinor();
+        }
+        rollup.apply(entry.epochDay(), entry.income(), entry.category(), entry.amountMinor(), sign);
+        if (columns != null) {
+            if (sign > 0) {
+                columns.add(entry.epochDay(), entry.income(), entry.amountMinor(), entry.category(),
+                    TransactionColumns.paymentMethodOf(entry.transaction()));
+            } else {
+                columns.remove(entry.epochDay(), entry.income(), entry.amountMinor(), entry.category(),
+                    TransactionColumns.paymentMethodOf(entry.transaction()));
+            }
+        }
+    }
+
+    /**
+     * Semua transaksi, urut tanggal terbaru dulu
+     */
+    List<Transaction> toList() {
+        List<Transaction> result = new ArrayList<>(byDate.size());
+        for (Entry entry : byDate) {
+            result.add(entry.transaction());
+        }
+        return result;
+    }
+
+    /**
+     * Stream semua transaksi (urut tanggal terbaru dulu) tanpa copy
+     */
+    Stream<Transaction> stream() {
+        return byDate.stream().map(Entry::transaction);
+    }
+
+    /**
+     * Transaksi dengan kategori tertentu (tanpa memperhatikan huruf besar/kecil),
+     * urut terbaru dulu; per entry hanya kode kategori yang dibandingkan
+     */
+    List<Transaction> byCategory(String category) {
+        int[] codes = dictionary.codesIgnoreCase(ValueDictionary.Kind.CATEGORY, category);
+        List<Transaction> result = new ArrayList<>();
+        if (codes.length == 0) {
+            return result;
+        }
+        for (Entry entry : byDate) {
+            int code = entry.categoryCode();
+            for (int match : codes) {
+                if (code == match) {
+                    result.add(entry.transaction());
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Transaksi dengan tanggal from..to (inklusif), urut terbaru dulu
+     */
+    List<Transaction> between(LocalDate from, LocalDate to) {
+        List<Transaction> result = new ArrayList<>();
+        for (Entry entry : range(from, to)) {
+            result.add(entry.transaction());
+        }
+        return result;
+    }
+
+    /**
+     * Stream transaksi dengan tanggal from..to (inklusif) tanpa copy
+     */
+    Stream<Transaction> streamBetween(LocalDate from, LocalDate to) {
+        return range(from, to).stream().map(Entry::transaction);
+    }
+
+    private NavigableSet<Entry> range(LocalDate from, LocalDate to) {
+        // Sentinel: ID "\uffff" di depan & "" di belakang semua ID pada tanggal yang sama
+        Entry newest = Entry.sentinel(to.toEpochDay(), "\uffff");
+        Entry oldest = Entry.sentinel(from.toEpochDay(), "");
+        return byDate.subSet(newest, true, oldest, true);
+    }
+}
@@ -0,0 +1,260 @@
+package moneymate.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ConnectionPool - pool koneksi SQLite: beberapa reader + satu writer
+ *
+ * SQLite dalam mode WAL mengizinkan banyak reader berjalan bersamaan dengan
+ * satu writer, jadi reader diambil dari antrian terbatas sedangkan writer
+ * dijaga oleh satu lock. Connection yang dikembalikan adalah proxy: close()
+ * mengembalikan koneksi ke pool, bukan menutup koneksi fisiknya.
+ *
+ * OOP Concepts:
+ * - Encapsulation: Koneksi fisik tidak pernah keluar dari pool
+ * - Proxy Pattern: close() di-intercept untuk release ke pool
+ */
+public class ConnectionPool {
+
+    private static final long ACQUIRE_TIMEOUT_MS = 30_000;
+
+    private final String url;
+    private final int readerCount;
+    private final BlockingQueue<Connection> readers;
+    private final List<Connection> allReaders = new ArrayList<>();
+    private final Connection writer;
+    private final ReentrantLock writerLock = new ReentrantLock(true);
+
+    // Metrics
+    private final AtomicInteger readersInUse = new AtomicInteger();
+    private final AtomicLong readAcquisitions = new AtomicLong();
+    private final AtomicLong readWaitNanos = new AtomicLong();
+    private final AtomicLong readMaxWaitNanos = new AtomicLong();
+    private final AtomicLong writeAcquisitions = new AtomicLong();
+    private final AtomicLong writeWaitNanos = new AtomicLong();
+    private final AtomicLong writeMaxWaitNanos = new AtomicLong();
+    private final AtomicLong writeHeldNanos = new AtomicLong();
+    private final long createdAt = System.nanoTime();
+    private volatile long writeAcquiredAt;
+
+    public ConnectionPool(String url, int readerCount) throws SQLException {
+        this(url, readerCount, false);
+    }
+
+    /**
+     * @param fairReaders true = reader dibagikan FIFO ke thread yang menunggu.
+     *        Perlu saat jumlah penunggu tidak dibatasi (virtual thread), supaya
+     *        tidak ada request yang kelaparan; dengan pool platform thread yang
+     *        terbatas, mode non-fair memberi throughput lebih tinggi.
+     */
+    public ConnectionPool(String url, int readerCount, boolean fairReaders) throws SQLException {
+        this.url = url;
+        this.readerCount = Math.max(1, readerCount);
+        this.readers = new ArrayBlockingQueue<>(this.readerCount, fairReaders);
+
+        // Writer dibuka pertama supaya journal_mode=WAL aktif sebelum reader dibuka
+        this.writer = openConnection(false);
+        for (int i = 0; i < this.readerCount; i++) {
+            Connection reader = openConnection(true);
+            allReaders.add(reader);
+            readers.add(reader);
+        }
+    }
+
+    /**
+     * Buka koneksi fisik dan terapkan PRAGMA
+     */
+    private Connection openConnection(boolean readOnly) throws SQLException {
+        Connection conn = DriverManager.getConnection(url);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout = 5000");
+            if (!readOnly) {
+                stmt.execute("PRAGMA journal_mode = WAL");
+                stmt.execute("PRAGMA synchronous = NORMAL");
+                stmt.execute("PRAGMA foreign_keys = ON");
+            } else {
+                stmt.execute("PRAGMA query_only = ON");
+            }
+            stmt.execute("PRAGMA cache_size = -16000");     // ~16 MB page cache per koneksi
+            stmt.execute("PRAGMA mmap_size = 268435456");   // 256 MB memory-mapped I/O
+            stmt.execute("PRAGMA temp_store = MEMORY");
+        }
+        return conn;
+    }
+
+    /**
+     * Ambil koneksi read-only dari pool (blocking jika semua sedang dipakai)
+     */
+    public Connection acquireReader() throws SQLException {
+        long start = System.nanoTime();
+        Connection conn;
+        try {
+            conn = readers.poll(ACQUIRE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a reader connection", e);
+        }
+        if (conn == null) {
+            throw new SQLException("Timed out waiting for a reader connection");
+        }
+        long waited = System.nanoTime() - start;
+        readAcquisitions.incrementAndGet();
+        readWaitNanos.addAndGet(waited);
+        readMaxWaitNanos.accumulateAndGet(waited, Math::max);
+        readersInUse.incrementAndGet();
+        return lease(conn, () -> {
+            readersInUse.decrementAndGet();
+            readers.offer(conn);
+        });
+    }
+
+    /**
+     * Ambil satu-satunya koneksi writer (blocking sampai writer bebas)
+     */
+    public Connection acquireWriter() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            if (!writerLock.tryLock(ACQUIRE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out waiting for the writer connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the writer connection", e);
+        }
+        long now = System.nanoTime();
+        long waited = now - start;
+        writeAcquisitions.incrementAndGet();
+        writeWaitNanos.addAndGet(waited);
+        writeMaxWaitNanos.accumulateAndGet(waited, Math::max);
+        writeAcquiredAt = now;
+        return lease(writer, () -> {
+            try {
+                // Jangan biarkan transaksi yang lupa di-commit bocor ke pemakai berikutnya
+                if (!writer.getAutoCommit()) {
+                    writer.rollback();
+                    writer.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                System.err.println("Failed to reset writer connection: " + e.getMessage());
+            } finally {
+                writeHeldNanos.addAndGet(System.nanoTime() - writeAcquiredAt);
+                writerLock.unlock();
+            }
+        });
+    }
+
+    /**
+     * Bungkus koneksi fisik dengan proxy yang me-release ke pool saat close()
+     */
+    private Connection lease(Connection physical, Runnable release) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean closed;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!closed) {
+                            closed = true;
+                            release.run();
+                        }
+                        return null;
+                    case "isClosed":
+                        return closed || physical.isClosed();
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "PooledConnection[" + physical + "]";
+                    default:
+                        if (closed) {
+                            throw new SQLException("Connection already returned to pool");
+                        }
+                        try {
+                            return method.invoke(physical, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, handler);
+    }
+
+    /**
+     * Snapshot metrics pool (wait time & utilisation)
+     */
+    public Stats getStats() {
+        long reads = readAcquisitions.get();
+        long writes = writeAcquisitions.get();
+        long uptime = Math.max(1, System.nanoTime() - createdAt);
+        long held = writeHeldNanos.get() + (writerLock.isLocked() ? System.nanoTime() - writeAcquiredAt : 0);
+        return new Stats(
+            readerCount,
+            readersInUse.get(),
+            (double) readersInUse.get() / readerCount,
+            reads,
+            reads == 0 ? 0.0 : readWaitNanos.get() / 1e6 / reads,
+            readMaxWaitNanos.get() / 1e6,
+            writerLock.isLocked(),
+            writerLock.getQueueLength(),
+            writes,
+            writes == 0 ? 0.0 : writeWaitNanos.get() / 1e6 / writes,
+            writeMaxWaitNanos.get() / 1e6,
+            Math.min(1.0, (double) held / uptime)
+        );
+    }
+
+    /**
+     * Tutup semua koneksi fisik
+     */
+    public void close() {
+        for (Connection conn : allReaders) {
+            closeQuietly(conn);
+        }
+        closeQuietly(writer);
+    }
+
+    private void closeQuietly(Connection conn) {
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            System.err.println("Failed to close connection: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Metrics pool koneksi - waktu dalam milidetik
+     */
+    public record Stats(
+        int readerPoolSize,
+        int readersInUse,
+        double readerUtilisation,
+        long readAcquisitions,
+        double readAvgWaitMs,
+        double readMaxWaitMs,
+        boolean writerInUse,
+        int writerQueueLength,
+        long writeAcquisitions,
+        double writeAvgWaitMs,
+        double writeMaxWaitMs,
+        double writerUtilisation
+    ) {}
+}
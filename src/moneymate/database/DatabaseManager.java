@@ -1,33 +1,43 @@
 package moneymate.database;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * DatabaseManager - Singleton pattern untuk koneksi database SQLite
  *
+ * Koneksi dikelola oleh ConnectionPool: beberapa reader untuk query dan
+ * satu writer untuk INSERT/UPDATE/DELETE, dengan database dalam mode WAL.
+ * Setiap koneksi yang diambil wajib di-close() untuk dikembalikan ke pool.
+ * Setelah closeConnection(), pool dibuka lagi saat koneksi berikutnya diminta.
+ *
  * OOP Concepts:
  * - Singleton Pattern: Hanya satu instance DatabaseManager
  * - Encapsulation: Private constructor, controlled access
  */
 public class DatabaseManager {
 
-    private static DatabaseManager instance;
     private static final String DB_URL = "jdbc:sqlite:moneymate.db";
-    private Connection connection;
+    private static final int READER_POOL_SIZE = Integer.getInteger("moneymate.db.readers",
+        Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors())));
+    private static final String FAIR_READERS_PROPERTY = "moneymate.db.fairReaders";
+    private static volatile boolean fairReaders = Boolean.getBoolean(FAIR_READERS_PROPERTY);
+    private static volatile boolean created;
+    private volatile ConnectionPool pool;
+    private volatile boolean initialized;
+    private final ReentrantLock poolLock = new ReentrantLock();
 
     /**
      * Private constructor - mencegah instantiasi langsung (Singleton)
      */
     private DatabaseManager() {
+        created = true;
         try {
             // Load SQLite JDBC driver
             Class.forName("org.sqlite.JDBC");
-            this.connection = DriverManager.getConnection(DB_URL);
-            initializeDatabase();
-            System.out.println("✓ Database connection established");
+            this.pool = openPool();
+            System.out.println("✓ Database connection pool established (" + READER_POOL_SIZE + " readers, WAL mode)");
         } catch (ClassNotFoundException e) {
             System.err.println("SQLite JDBC driver not found: " + e.getMessage());
         } catch (SQLException e) {
@@ -35,78 +45,120 @@ public class DatabaseManager {
         }
     }
 
+    /**
+     * Lazy holder: instance dibuat sekali saat pertama diakses, thread-safe
+     * lewat class initialization JVM (tanpa synchronized yang mem-pin virtual thread)
+     */
+    private static final class Holder {
+        static final DatabaseManager INSTANCE = new DatabaseManager();
+    }
+
     /**
      * Get singleton instance (Singleton Pattern)
      */
-    public static synchronized DatabaseManager getInstance() {
-        if (instance == null) {
-            instance = new DatabaseManager();
+    public static DatabaseManager getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Atur antrean reader fair (FIFO) atau tidak; default dari system property
+     * moneymate.db.fairReaders. Harus dipanggil sebelum getInstance() pertama,
+     * karena pool dibuka saat instance dibuat
+     */
+    public static void configureFairReaders(boolean fair) {
+        if (created && fair != fairReaders) {
+            throw new IllegalStateException("Connection pool already opened with fairReaders=" + fairReaders);
         }
-        return instance;
+        fairReaders = fair;
+    }
+
+    /**
+     * Jumlah maksimum koneksi fisik (reader + 1 writer), yaitu batas thread
+     * yang bisa sedang berada di native SQLite secara bersamaan
+     */
+    public static int getMaxConnections() {
+        return READER_POOL_SIZE + 1;
+    }
+
+    /**
+     * Get koneksi read-only dari pool reader (close() untuk mengembalikan)
+     */
+    public Connection getReadConnection() throws SQLException {
+        return requirePool().acquireReader();
     }
 
     /**
-     * Get database connection
+     * Get koneksi writer tunggal (close() untuk mengembalikan)
      */
-    public Connection getConnection() {
+    public Connection getWriteConnection() throws SQLException {
+        return requirePool().acquireWriter();
+    }
+
+    /**
+     * Get metrics pool koneksi (wait time & utilisation)
+     */
+    public ConnectionPool.Stats getPoolStats() {
+        return pool == null ? null : pool.getStats();
+    }
+
+    /**
+     * Pool yang sedang aktif; dibuka ulang jika sudah ditutup atau gagal dibuka sebelumnya
+     */
+    private ConnectionPool requirePool() throws SQLException {
+        ConnectionPool current = pool;
+        if (current != null) {
+            return current;
+        }
+        poolLock.lock();
         try {
-            // Reopen connection if closed
-            if (connection == null || connection.isClosed()) {
-                connection = DriverManager.getConnection(DB_URL);
+            if (pool == null) {
+                try {
+                    pool = openPool();
+                } catch (SQLException e) {
+                    throw new SQLException("Database is not available: " + e.getMessage(), e);
+                }
             }
-        } catch (SQLException e) {
-            System.err.println("Failed to get connection: " + e.getMessage());
+            return pool;
+        } finally {
+            poolLock.unlock();
+        }
+    }
+
+    private ConnectionPool openPool() throws SQLException {
+        ConnectionPool opened = new ConnectionPool(DB_URL, READER_POOL_SIZE, fairReaders);
+        if (!initialized) {
+            initializeDatabase(opened);
         }
-        return connection;
+        return opened;
     }
 
     /**
-     * Initialize database tables
+     * Initialize database tables (jalankan migrasi skema yang tertunda)
      */
-    private void initializeDatabase() {
-        String createTransactionsTable = """
-            CREATE TABLE IF NOT EXISTS transactions (
-                transaction_id TEXT PRIMARY KEY,
-                transaction_type TEXT NOT NULL,
-                amount REAL NOT NULL,
-                description TEXT,
-                date TEXT NOT NULL,
-                category TEXT NOT NULL,
-                source TEXT,
-                payment_method TEXT,
-                is_recurring INTEGER DEFAULT 0
-            )
-        """;
-
-        String createUsersTable = """
-            CREATE TABLE IF NOT EXISTS users (
-                user_id TEXT PRIMARY KEY,
-                username TEXT NOT NULL,
-                email TEXT NOT NULL,
-                initial_balance REAL DEFAULT 0.0
-            )
-        """;
-
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute(createTransactionsTable);
-            stmt.execute(createUsersTable);
-            System.out.println("✓ Database tables initialized");
+    private void initializeDatabase(ConnectionPool target) {
+        SchemaMigrator migrator = new SchemaMigrator();
+        try (Connection conn = target.acquireWriter()) {
+            migrator.migrate(conn);
+            initialized = true;
+            System.out.println("✓ Database tables initialized (schema v" + migrator.getSchemaVersion(conn) + ")");
         } catch (SQLException e) {
             System.err.println("Failed to initialize database: " + e.getMessage());
         }
     }
 
     /**
-     * Close database connection
+     * Close semua koneksi di pool; koneksi berikutnya membuka pool baru
      */
     public void closeConnection() {
+        poolLock.lock();
         try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
+            if (pool != null) {
+                pool.close();
+                pool = null;
                 System.out.println("✓ Database connection closed");
             }
-        } catch (SQLException e) {
-            System.err.println("Failed to close connection: " + e.getMessage());
+        } finally {
+            poolLock.unlock();
         }
     }
 }
@@ -0,0 +1,46 @@
+package moneymate.database;
+
+import java.time.YearMonth;
+
+/**
+ * MonthlyRollupCell - satu baris tabel monthly_rollup (bulan, tipe, kategori)
+ */
+public class MonthlyRollupCell {
+
+    private final YearMonth month;
+    private final boolean income;
+    private final String category;
+    private final long totalMinor;
+    private final int count;
+
+    public MonthlyRollupCell(YearMonth month, boolean income, String category, long totalMinor, int count) {
+        this.month = month;
+        this.income = income;
+        this.category = category;
+        this.totalMinor = totalMinor;
+        this.count = count;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public boolean isIncome() {
+        return income;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * Total jumlah dalam sen
+     */
+    public long getTotalMinor() {
+        return totalMinor;
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,464 @@
+package moneymate.database;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SchemaMigrator - migrasi skema database berversi
+ *
+ * Versi skema disimpan di PRAGMA user_version. Setiap migrasi dijalankan
+ * sekali, berurutan, dalam satu transaksi bersama update user_version-nya,
+ * jadi database lama (versi 0) otomatis di-upgrade saat aplikasi start.
+ *
+ * Untuk menambah perubahan skema: tambahkan Migration baru di akhir list
+ * dengan nomor versi berikutnya. Jangan ubah migrasi yang sudah dirilis.
+ */
+public class SchemaMigrator {
+
+    /**
+     * Satu langkah migrasi yang dijalankan dengan Statement milik writer
+     */
+    @FunctionalInterface
+    interface MigrationStep {
+        void apply(Statement stmt) throws SQLException;
+    }
+
+    private record Migration(int version, String description, MigrationStep step) {}
+
+    private static final List<Migration> MIGRATIONS = List.of(
+        new Migration(1, "Create transactions and users tables", stmt -> {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS transactions (
+                    transaction_id TEXT PRIMARY KEY,
+                    transaction_type TEXT NOT NULL,
+                    amount REAL NOT NULL,
+                    description TEXT,
+                    date TEXT NOT NULL,
+                    category TEXT NOT NULL,
+                    source TEXT,
+                    payment_method TEXT,
+                    is_recurring INTEGER DEFAULT 0
+                )
+            """);
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS users (
+                    user_id TEXT PRIMARY KEY,
+                    username TEXT NOT NULL,
+                    email TEXT NOT NULL,
+                    initial_balance REAL DEFAULT 0.0
+                )
+            """);
+        }),
+
+        new Migration(2, "Add epoch-day date column and date indexes", stmt -> {
+            // date_epoch = jumlah hari sejak 1970-01-01 (LocalDate.toEpochDay())
+            stmt.execute("ALTER TABLE transactions ADD COLUMN date_epoch INTEGER");
+            stmt.execute("UPDATE transactions SET date_epoch = CAST(julianday(date) - 2440587.5 AS INTEGER)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_transactions_date ON transactions (date_epoch)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_transactions_type_date ON transactions (transaction_type, date_epoch)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_transactions_category_date ON transactions (category, date_epoch)");
+            stmt.execute("ANALYZE transactions");
+        }),
+
+        new Migration(3, "Add monthly_rollup summary table maintained by triggers", stmt -> {
+            // Agregat per (bulan, tipe, kategori); jumlah dalam sen
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS monthly_rollup (
+                    month TEXT NOT NULL,
+                    transaction_type TEXT NOT NULL,
+                    category TEXT NOT NULL,
+                    total_minor INTEGER NOT NULL,
+                    tx_count INTEGER NOT NULL,
+                    PRIMARY KEY (month, transaction_type, category)
+                ) WITHOUT ROWID
+            """);
+            stmt.execute("""
+                INSERT INTO monthly_rollup (month, transaction_type, category, total_minor, tx_count)
+                SELECT substr(date, 1, 7), transaction_type, category,
+                       SUM(CAST(ROUND(amount * 100) AS INTEGER)), COUNT(*)
+                FROM transactions
+                GROUP BY substr(date, 1, 7), transaction_type, category
+            """);
+            stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS trg_transactions_rollup_insert
+                AFTER INSERT ON transactions
+                BEGIN
+                    INSERT INTO monthly_rollup (month, transaction_type, category, total_minor, tx_count)
+                    VALUES (substr(NEW.date, 1, 7), NEW.transaction_type, NEW.category,
+                            CAST(ROUND(NEW.amount * 100) AS INTEGER), 1)
+                    ON CONFLICT (month, transaction_type, category) DO UPDATE SET
+                        total_minor = total_minor + excluded.total_minor,
+                        tx_count = tx_count + 1;
+                END
+            """);
+            stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS trg_transactions_rollup_delete
+                AFTER DELETE ON transactions
+                BEGIN
+                    UPDATE monthly_rollup SET
+                        total_minor = total_minor - CAST(ROUND(OLD.amount * 100) AS INTEGER),
+                        tx_count = tx_count - 1
+                    WHERE month = substr(OLD.date, 1, 7)
+                      AND transaction_type = OLD.transaction_type
+                      AND category = OLD.category;
+                    DELETE FROM monthly_rollup
+                    WHERE month = substr(OLD.date, 1, 7)
+                      AND transaction_type = OLD.transaction_type
+                      AND category = OLD.category
+                      AND tx_count <= 0;
+                END
+            """);
+            stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS trg_transactions_rollup_update
+                AFTER UPDATE OF amount, date, transaction_type, category ON transactions
+                BEGIN
+                    UPDATE monthly_rollup SET
+                        total_minor = total_minor - CAST(ROUND(OLD.amount * 100) AS INTEGER),
+                        tx_count = tx_count - 1
+                    WHERE month = substr(OLD.date, 1, 7)
+                      AND transaction_type = OLD.transaction_type
+                      AND category = OLD.category;
+                    DELETE FROM monthly_rollup
+                    WHERE month = substr(OLD.date, 1, 7)
+                      AND transaction_type = OLD.transaction_type
+                      AND category = OLD.category
+                      AND tx_count <= 0;
+                    INSERT INTO monthly_rollup (month, transaction_type, category, total_minor, tx_count)
+                    VALUES (substr(NEW.date, 1, 7), NEW.transaction_type, NEW.category,
+                            CAST(ROUND(NEW.amount * 100) AS INTEGER), 1)
+                    ON CONFLICT (month, transaction_type, category) DO UPDATE SET
+                        total_minor = total_minor + excluded.total_minor,
+                        tx_count = tx_count + 1;
+                END
+            """);
+        }),
+
+        new Migration(4, "Extend date indexes with transaction_id for keyset pagination", stmt -> {
+            // Urutan (date_epoch, transaction_id) = urutan halaman di TransactionDAO.findPage
+            stmt.execute("DROP INDEX IF EXISTS idx_transactions_date");
+            stmt.execute("DROP INDEX IF EXISTS idx_transactions_type_date");
+            stmt.execute("DROP INDEX IF EXISTS idx_transactions_category_date");
+            stmt.execute("CREATE INDEX idx_transactions_date ON transactions (date_epoch, transaction_id)");
+            stmt.execute("CREATE INDEX idx_transactions_type_date ON transactions (transaction_type, date_epoch, transaction_id)");
+            // Filter kategori case-insensitive (category = ? COLLATE NOCASE)
+            stmt.execute("CREATE INDEX idx_transactions_category_date ON transactions (category COLLATE NOCASE, date_epoch, transaction_id)");
+            stmt.execute("ANALYZE transactions");
+        }),
+
+        new Migration(5, "Add FTS5 full-text index over description and category", stmt -> {
+            // External-content FTS: teks tidak disalin, index menunjuk ke rowid transactions
+            stmt.execute("""
+                CREATE VIRTUAL TABLE IF NOT EXISTS transactions_fts USING fts5(
+                    description, category,
+                    content = 'transactions', content_rowid = 'rowid',
+                    tokenize = 'unicode61 remove_diacritics 2',
+                    prefix = '2 3'
+                )
+            """);
+            stmt.execute("INSERT INTO transactions_fts (transactions_fts) VALUES ('rebuild')");
+            // Trigger jalan di statement yang sama dengan save/update/delete DAO
+            stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS trg_transactions_fts_insert
+                AFTER INSERT ON transactions
+                BEGIN
+                    INSERT INTO transactions_fts (rowid, description, category)
+                    VALUES (NEW.rowid, NEW.description, NEW.category);
+                END
+            """);
+            stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS trg_transactions_fts_delete
+                AFTER DELETE ON transactions
+                BEGIN
+                    INSERT INTO transactions_fts (transactions_fts, rowid, description, category)
+                    VALUES ('delete', OLD.rowid, OLD.description, OLD.category);
+                END
+            """);
+            stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS trg_transactions_fts_update
+                AFTER UPDATE OF description, category ON transactions
+                BEGIN
+                    INSERT INTO transactions_fts (transactions_fts, rowid, description, category)
+                    VALUES ('delete', OLD.rowid, OLD.description, OLD.category);
+                    INSERT INTO transactions_fts (rowid, description, category)
+                    VALUES (NEW.rowid, NEW.description, NEW.category);
+                END
+            """);
+        }),
+
+        new Migration(6, "Track write-behind log position applied to the database", stmt -> {
+            // Diupdate di transaksi yang sama dengan setiap group commit WriteBehindTransactionDAO
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS write_behind_state (
+                    id INTEGER PRIMARY KEY CHECK (id = 1),
+                    applied_seq INTEGER NOT NULL
+                )
+            """);
+            stmt.execute("INSERT OR IGNORE INTO write_behind_state (id, applied_seq) VALUES (1, 0)");
+        }),
+
+        new Migration(7, "Count row changes to transactions for event log verification", stmt -> {
+            // Naik 1 per baris yang di-insert/update/delete, dari proses mana pun;
+            // TransactionEventStore membandingkannya dengan jumlah event di log
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS transaction_changes (
+                    id INTEGER PRIMARY KEY CHECK (id = 1),
+                    change_count INTEGER NOT NULL
+                )
+            """);
+            stmt.execute("INSERT OR IGNORE INTO transaction_changes (id, change_count) VALUES (1, 0)");
+            for (String event : new String[] { "INSERT", "UPDATE", "DELETE" }) {
+                stmt.execute("""
+                    CREATE TRIGGER IF NOT EXISTS trg_transactions_changes_%s
+                    AFTER %s ON transactions
+                    BEGIN
+                        UPDATE transaction_changes SET change_count = change_count + 1 WHERE id = 1;
+                    END
+                """.formatted(event.toLowerCase(), event));
+            }
+        }),
+
+        new Migration(8, "Store amounts as integer minor units (amount_minor)", stmt -> {
+            // Sumber kebenaran jumlah = amount_minor (sen); kolom amount (REAL) tetap
+            // diisi sebagai salinan untuk tool luar, tapi tidak dibaca aplikasi
+            stmt.execute("ALTER TABLE transactions ADD COLUMN amount_minor INTEGER NOT NULL DEFAULT 0");
+            stmt.execute("UPDATE transactions SET amount_minor = CAST(ROUND(amount * 100) AS INTEGER)");
+
+            // Trigger rollup dibuat ulang supaya menjumlah amount_minor
+            stmt.execute("DROP TRIGGER IF EXISTS trg_transactions_rollup_insert");
+            stmt.execute("DROP TRIGGER IF EXISTS trg_transactions_rollup_delete");
+            stmt.execute("DROP TRIGGER IF EXISTS trg_transactions_rollup_update");
+            stmt.execute("""
+                CREATE TRIGGER trg_transactions_rollup_insert
+                AFTER INSERT ON transactions
+                BEGIN
+                    INSERT INTO monthly_rollup (month, transaction_type, category, total_minor, tx_count)
+                    VALUES (substr(NEW.date, 1, 7), NEW.transaction_type, NEW.category, NEW.amount_minor, 1)
+                    ON CONFLICT (month, transaction_type, category) DO UPDATE SET
+                        total_minor = total_minor + excluded.total_minor,
+                        tx_count = tx_count + 1;
+                END
+            """);
+            stmt.execute("""
+                CREATE TRIGGER trg_transactions_rollup_delete
+                AFTER DELETE ON transactions
+                BEGIN
+                    UPDATE monthly_rollup SET
+                        total_minor = total_minor - OLD.amount_minor,
+                        tx_count = tx_count - 1
+                    WHERE month = substr(OLD.date, 1, 7)
+                      AND transaction_type = OLD.transaction_type
+                      AND category = OLD.category;
+                    DELETE FROM monthly_rollup
+                    WHERE month = substr(OLD.date, 1, 7)
+                      AND transaction_type = OLD.transaction_type
+                      AND category = OLD.category
+                      AND tx_count <= 0;
+                END
+            """);
+            stmt.execute("""
+                CREATE TRIGGER trg_transactions_rollup_update
+                AFTER UPDATE OF amount_minor, date, transaction_type, category ON transactions
+                BEGIN
+                    UPDATE monthly_rollup SET
+                        total_minor = total_minor - OLD.amount_minor,
+                        tx_count = tx_count - 1
+                    WHERE month = substr(OLD.date, 1, 7)
+                      AND transaction_type = OLD.transaction_type
+                      AND category = OLD.category;
+                    DELETE FROM monthly_rollup
+                    WHERE month = substr(OLD.date, 1, 7)
+                      AND transaction_type = OLD.transaction_type
+                      AND category = OLD.category
+                      AND tx_count <= 0;
+                    INSERT INTO monthly_rollup (month, transaction_type, category, total_minor, tx_count)
+                    VALUES (substr(NEW.date, 1, 7), NEW.transaction_type, NEW.category, NEW.amount_minor, 1)
+                    ON CONFLICT (month, transaction_type, category) DO UPDATE SET
+                        total_minor = total_minor + excluded.total_minor,
+                        tx_count = tx_count + 1;
+                END
+            """);
+        }),
+
+        new Migration(9, "Add value_dictionary lookup table for category, source and payment method", stmt -> {
+            // Kode per nilai untuk ValueDictionary; trigger menjaga tabel tetap lengkap
+            // untuk baris dari proses mana pun. Nilai tidak pernah dihapus supaya kode stabil.
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS value_dictionary (
+                    code INTEGER PRIMARY KEY,
+                    kind TEXT NOT NULL,
+                    value TEXT NOT NULL,
+                    UNIQUE (kind, value)
+                )
+            """);
+            String[][] columns = { { "CATEGORY", "category" }, { "SOURCE", "source" }, { "PAYMENT_METHOD", "payment_method" } };
+            StringBuilder inserts = new StringBuilder();
+            for (String[] column : columns) {
+                stmt.execute("""
+                    INSERT OR IGNORE INTO value_dictionary (kind, value)
+                    SELECT DISTINCT '%s', %s FROM transactions WHERE %s IS NOT NULL
+                """.formatted(column[0], column[1], column[1]));
+                inserts.append("""
+                    INSERT OR IGNORE INTO value_dictionary (kind, value)
+                    SELECT '%s', NEW.%s WHERE NEW.%s IS NOT NULL;
+                """.formatted(column[0], column[1], column[1]));
+            }
+            stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS trg_transactions_dictionary_insert
+                AFTER INSERT ON transactions
+                BEGIN
+                    %s
+                END
+            """.formatted(inserts));
+            stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS trg_transactions_dictionary_update
+                AFTER UPDATE OF category, source, payment_method ON transactions
+                BEGIN
+                    %s
+                END
+            """.formatted(inserts));
+        }),
+
+        new Migration(10, "Key the FTS5 index on a stable INTEGER PRIMARY KEY (fts_id)", stmt -> {
+            // rowid implisit (tabel dengan PRIMARY KEY TEXT) boleh berubah saat VACUUM,
+            // sehingga index FTS external-content bisa menunjuk ke baris yang salah.
+            // fts_id adalah alias rowid yang stabil; nilainya diambil dari rowid lama.
+            List<String> recreate = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery("""
+                    SELECT sql FROM sqlite_master
+                    WHERE tbl_name = 'transactions' AND type IN ('index', 'trigger') AND sql IS NOT NULL
+                      AND name NOT LIKE 'trg_transactions_fts_%'
+                    ORDER BY type, name
+                """)) {
+                while (rs.next()) {
+                    recreate.add(rs.getString(1));
+                }
+            }
+
+            stmt.execute("DROP TABLE IF EXISTS transactions_fts");
+            stmt.execute("""
+                CREATE TABLE transactions_new (
+                    fts_id INTEGER PRIMARY KEY,
+                    transaction_id TEXT NOT NULL UNIQUE,
+                    transaction_type TEXT NOT NULL,
+                    amount REAL NOT NULL,
+                    description TEXT,
+                    date TEXT NOT NULL,
+                    category TEXT NOT NULL,
+                    source TEXT,
+                    payment_method TEXT,
+                    is_recurring INTEGER DEFAULT 0,
+                    date_epoch INTEGER,
+                    amount_minor INTEGER NOT NULL DEFAULT 0
+                )
+            """);
+            stmt.execute("""
+                INSERT INTO transactions_new (fts_id, transaction_id, transaction_type, amount, description, date,
+                                              category, source, payment_method, is_recurring, date_epoch, amount_minor)
+                SELECT rowid, transaction_id, transaction_type, amount, description, date,
+                       category, source, payment_method, is_recurring, date_epoch, amount_minor
+                FROM transactions
+            """);
+            // DROP TABLE tidak menjalankan trigger DELETE; index & trigger ikut terhapus lalu dibuat ulang
+            stmt.execute("DROP TABLE transactions");
+            stmt.execute("ALTER TABLE transactions_new RENAME TO transactions");
+            for (String sql : recreate) {
+                stmt.execute(sql);
+            }
+
+            stmt.execute("""
+                CREATE VIRTUAL TABLE transactions_fts USING fts5(
+                    description, category,
+                    content = 'transactions', content_rowid = 'fts_id',
+                    tokenize = 'unicode61 remove_diacritics 2',
+                    prefix = '2 3'
+                )
+            """);
+            stmt.execute("INSERT INTO transactions_fts (transactions_fts) VALUES ('rebuild')");
+            stmt.execute("""
+                CREATE TRIGGER trg_transactions_fts_insert
+                AFTER INSERT ON transactions
+                BEGIN
+                    INSERT INTO transactions_fts (rowid, description, category)
+                    VALUES (NEW.fts_id, NEW.description, NEW.category);
+                END
+            """);
+            stmt.execute("""
+                CREATE TRIGGER trg_transactions_fts_delete
+                AFTER DELETE ON transactions
+                BEGIN
+                    INSERT INTO transactions_fts (transactions_fts, rowid, description, category)
+                    VALUES ('delete', OLD.fts_id, OLD.description, OLD.category);
+                END
+            """);
+            stmt.execute("""
+                CREATE TRIGGER trg_transactions_fts_update
+                AFTER UPDATE OF description, category ON transactions
+                BEGIN
+                    INSERT INTO transactions_fts (transactions_fts, rowid, description, category)
+                    VALUES ('delete', OLD.fts_id, OLD.description, OLD.category);
+                    INSERT INTO transactions_fts (rowid, description, category)
+                    VALUES (NEW.fts_id, NEW.description, NEW.category);
+                END
+            """);
+            stmt.execute("ANALYZE transactions");
+        }),
+        new Migration(11, "Track ID generator nodes claimed by running processes", stmt -> {
+            // Satu baris per proses (pid + waktu start), lihat TransactionDAO.claimIdNode
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS id_nodes (
+                    node INTEGER PRIMARY KEY,
+                    pid INTEGER NOT NULL,
+                    started_ms INTEGER NOT NULL
+                )
+            """);
+        })
+    );
+
+    /**
+     * Jalankan semua migrasi yang belum diterapkan
+     */
+    public void migrate(Connection conn) throws SQLException {
+        int currentVersion = getSchemaVersion(conn);
+
+        for (Migration migration : MIGRATIONS) {
+            if (migration.version() <= currentVersion) {
+                continue;
+            }
+
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                migration.step().apply(stmt);
+                stmt.execute("PRAGMA user_version = " + migration.version());
+                conn.commit();
+                System.out.println("✓ Schema migrated to v" + migration.version() + ": " + migration.description());
+            } catch (SQLException e) {
+                conn.rollback();
+                throw new SQLException("Migration v" + migration.version() + " failed: " + e.getMessage(), e);
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Get versi skema saat ini
+     */
+    public int getSchemaVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Versi skema terbaru yang dikenal aplikasi
+     */
+    public int getLatestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version();
+    }
+}
@@ -0,0 +1,73 @@
+package moneymate.database;
+
+import moneymate.model.Expense;
+import moneymate.model.Income;
+import moneymate.model.Money;
+import moneymate.model.Transaction;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * TransactionCodec - format biner ringkas satu Transaction
+ *
+ * Dipakai bersama oleh WriteBehindLog dan TransactionEventStore (segment log
+ * & snapshot). Urutan field: tipe, ID, amount, description, tanggal (epoch
+ * day), kategori, lalu source (Income) atau payment method + recurring (Expense).
+ *
+ * Byte tipe: bit 0 = Income, bit 1 = amount ditulis sebagai long sen. Record
+ * lama (byte 0/1, amount double) tetap bisa dibaca.
+ */
+final class TransactionCodec {
+
+    private static final int INCOME_FLAG = 1;
+    private static final int MINOR_AMOUNT_FLAG = 2;
+
+    private TransactionCodec() {
+    }
+
+    static void write(DataOutput out, Transaction transaction) throws IOException {
+        boolean income = transaction instanceof Income;
+        out.writeByte(MINOR_AMOUNT_FLAG | (income ? INCOME_FLAG : 0));
+        out.writeUTF(transaction.getTransactionId());
+        out.writeLong(transaction.getAmount().getMinor());
+        writeNullable(out, transaction.getDescription());
+        out.writeLong(transaction.getDate().toEpochDay());
+        out.writeUTF(transaction.getCategory());
+        if (income) {
+            writeNullable(out, ((Income) transaction).getSource());
+        } else {
+            Expense expense = (Expense) transaction;
+            writeNullable(out, expense.getPaymentMethod());
+            out.writeBoolean(expense.isRecurring());
+        }
+    }
+
+    static Transaction read(DataInput in) throws IOException {
+        int type = in.readUnsignedByte();
+        boolean income = (type & INCOME_FLAG) != 0;
+        String id = in.readUTF();
+        Money amount = (type & MINOR_AMOUNT_FLAG) != 0
+            ? Money.ofMinor(in.readLong())
+            : Money.of(in.readDouble());
+        String description = readNullable(in);
+        LocalDate date = LocalDate.ofEpochDay(in.readLong());
+        String category = in.readUTF();
+        if (income) {
+            return Income.restore(id, amount, description, date, category, readNullable(in));
+        }
+        return Expense.restore(id, amount, description, date, category, readNullable(in), in.readBoolean());
+    }
+
+    private static void writeNullable(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
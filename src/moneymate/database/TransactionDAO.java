@@ -2,6 +2,7 @@ package moneymate.database;
 
 import moneymate.model.Transaction;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.time.LocalDate;
 import java.time.YearMonth;
@@ -21,11 +22,21 @@ public interface TransactionDAO {
      */
     void save(Transaction transaction) throws SQLException;
 
+    /**
+     * Save banyak transaction sekaligus dalam satu transaksi database
+     */
+    void saveAll(Collection<? extends Transaction> transactions) throws SQLException;
+
     /**
      * Update transaction di database
      */
     void update(Transaction transaction) throws SQLException;
 
+    /**
+     * Update banyak transaction sekaligus dalam satu transaksi database
+     */
+    void updateAll(Collection<? extends Transaction> transactions) throws SQLException;
+
     /**
      * Delete transaction berdasarkan ID
      */
@@ -56,8 +67,85 @@ public interface TransactionDAO {
      */
     List<Transaction> findByMonth(YearMonth month) throws SQLException;
 
+    /**
+     * Get transactions dalam rentang tanggal (inklusif)
+     */
+    List<Transaction> findByDateRange(LocalDate from, LocalDate to) throws SQLException;
+
+    /**
+     * Get satu halaman transactions sesuai filter, urut (tanggal, ID) menurun
+     */
+    TransactionPage findPage(TransactionQuery query) throws SQLException;
+
+    /**
+     * Get ID terbesar (urutan string) di antara ID dengan panjang tertentu,
+     * dipakai untuk seed generator ID. Null jika belum ada.
+     */
+    String findMaxTransactionId(int idLength) throws SQLException;
+
+    /**
+     * Klaim node generator ID (0..nodeCount-1) untuk proses ini di tabel id_nodes.
+     * Node milik proses yang masih berjalan tidak pernah dibagikan ke proses lain;
+     * panggilan berikutnya dari proses yang sama mengembalikan node yang sama.
+     */
+    int claimIdNode(int nodeCount) throws SQLException;
+
+    /**
+     * Full-text search (prefix match) di description & category, urut relevansi
+     */
+    List<TransactionSearchHit> search(String text, int limit) throws SQLException;
+
+    /**
+     * Jumlah perubahan baris (insert/update/delete) yang pernah terjadi di
+     * tabel transactions, dijaga trigger di database
+     */
+    long getChangeCount() throws SQLException;
+
+    /**
+     * Agregat tersimpan (monthly_rollup) untuk semua bulan sebelum month
+     */
+    List<MonthlyRollupCell> findRollupCellsBefore(YearMonth month) throws SQLException;
+
+    /**
+     * Kolom ringkas (tanggal, tipe, jumlah, kategori, metode pembayaran) semua
+     * transaksi sebelum tanggal tertentu, tanpa membuat objek Transaction
+     */
+    void scanColumnsBefore(LocalDate date, ColumnVisitor visitor) throws SQLException;
+
+    /**
+     * Penerima satu baris dari scanColumnsBefore
+     */
+    @FunctionalInterface
+    interface ColumnVisitor {
+        void visit(long epochDay, boolean income, long amountMinor, String category, String paymentMethod);
+    }
+
+    /**
+     * Semua transaksi lewat cursor forward-only (tanggal terbaru dulu, lalu
+     * ID menurun), satu baris per panggilan visitor tanpa membuat objek
+     * Transaction
+     */
+    void scanAll(RowVisitor visitor) throws SQLException;
+
+    /**
+     * Penerima satu baris dari scanAll; source hanya untuk pemasukan,
+     * paymentMethod & recurring hanya untuk pengeluaran
+     */
+    @FunctionalInterface
+    interface RowVisitor {
+        void visit(String transactionId, boolean income, long epochDay, long amountMinor, String category,
+                   String description, String source, String paymentMethod, boolean recurring);
+    }
+
     /**
      * Delete semua transactions
      */
     void deleteAll() throws SQLException;
+
+    /**
+     * Tunggu sampai semua perubahan yang sudah diterima DAO ini tahan crash.
+     * DAO yang langsung commit ke database tidak perlu menunggu apa pun.
+     */
+    default void awaitDurable() throws SQLException {
+    }
 }
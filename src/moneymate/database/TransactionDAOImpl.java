@@ -4,8 +4,13 @@ import moneymate.model.*;
 import java.sql.*;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * TransactionDAOImpl - Implementasi TransactionDAO untuk SQLite
@@ -17,85 +22,183 @@ import java.util.List;
  */
 public class TransactionDAOImpl implements TransactionDAO {
 
-    private final Connection connection;
+    private static final String INSERT_SQL = """
+        INSERT INTO transactions (
+            transaction_id, transaction_type, amount, description,
+            date, category, source, payment_method, is_recurring, date_epoch, amount_minor
+        ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+
+    private static final String UPDATE_SQL = """
+        UPDATE transactions SET
+            transaction_type = ?, amount = ?, description = ?,
+            date = ?, category = ?, source = ?,
+            payment_method = ?, is_recurring = ?, date_epoch = ?, amount_minor = ?
+        WHERE transaction_id = ?
+    """;
+
+    private static final String DELETE_SQL = "DELETE FROM transactions WHERE transaction_id = ?";
+    private static final String DELETE_ALL_SQL = "DELETE FROM transactions";
+
+    private static final int DEFAULT_BATCH_SIZE = Integer.getInteger("moneymate.db.batchSize", 500);
+
+    private final DatabaseManager databaseManager;
+    private final int batchSize;
 
     public TransactionDAOImpl() {
-        this.connection = DatabaseManager.getInstance().getConnection();
+        this(DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param batchSize jumlah baris per executeBatch() pada saveAll/updateAll
+     */
+    public TransactionDAOImpl(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.databaseManager = DatabaseManager.getInstance();
+        this.batchSize = batchSize;
     }
 
     @Override
     public void save(Transaction transaction) throws SQLException {
-        String sql = """
-            INSERT INTO transactions (
-                transaction_id, transaction_type, amount, description,
-                date, category, source, payment_method, is_recurring
-            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
-        """;
+        try (Connection conn = databaseManager.getWriteConnection();
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL)) {
+            pstmt.setString(1, transaction.getTransactionId());
+            bindColumns(pstmt, transaction, 2);
+            pstmt.executeUpdate();
+        }
+    }
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+    @Override
+    public void saveAll(Collection<? extends Transaction> transactions) throws SQLException {
+        executeBatch(INSERT_SQL, transactions, (pstmt, transaction) -> {
             pstmt.setString(1, transaction.getTransactionId());
-            pstmt.setString(2, transaction.getTransactionType());
-            pstmt.setDouble(3, transaction.getAmount());
-            pstmt.setString(4, transaction.getDescription());
-            pstmt.setString(5, transaction.getDate().toString());
-            pstmt.setString(6, transaction.getCategory()); // Now stores String directly
-
-            // Polymorphism: Handle Income vs Expense specific fields
-            if (transaction instanceof Income) {
-                Income income = (Income) transaction;
-                pstmt.setString(7, income.getSource());
-                pstmt.setNull(8, Types.VARCHAR);
-                pstmt.setInt(9, 0);
-            } else if (transaction instanceof Expense) {
-                Expense expense = (Expense) transaction;
-                pstmt.setNull(7, Types.VARCHAR);
-                pstmt.setString(8, expense.getPaymentMethod());
-                pstmt.setInt(9, expense.isRecurring() ? 1 : 0);
-            }
+            bindColumns(pstmt, transaction, 2);
+        });
+    }
 
+    @Override
+    public void update(Transaction transaction) throws SQLException {
+        try (Connection conn = databaseManager.getWriteConnection();
+             PreparedStatement pstmt = conn.prepareStatement(UPDATE_SQL)) {
+            bindColumns(pstmt, transaction, 1);
+            pstmt.setString(11, transaction.getTransactionId());
             pstmt.executeUpdate();
         }
     }
 
     @Override
-    public void update(Transaction transaction) throws SQLException {
-        String sql = """
-            UPDATE transactions SET
-                transaction_type = ?, amount = ?, description = ?,
-                date = ?, category = ?, source = ?,
-                payment_method = ?, is_recurring = ?
-            WHERE transaction_id = ?
-        """;
+    public void updateAll(Collection<? extends Transaction> transactions) throws SQLException {
+        executeBatch(UPDATE_SQL, transactions, (pstmt, transaction) -> {
+            bindColumns(pstmt, transaction, 1);
+            pstmt.setString(11, transaction.getTransactionId());
+        });
+    }
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, transaction.getTransactionType());
-            pstmt.setDouble(2, transaction.getAmount());
-            pstmt.setString(3, transaction.getDescription());
-            pstmt.setString(4, transaction.getDate().toString());
-            pstmt.setString(5, transaction.getCategory()); // Now stores String directly
-
-            if (transaction instanceof Income) {
-                Income income = (Income) transaction;
-                pstmt.setString(6, income.getSource());
-                pstmt.setNull(7, Types.VARCHAR);
-                pstmt.setInt(8, 0);
-            } else if (transaction instanceof Expense) {
-                Expense expense = (Expense) transaction;
-                pstmt.setNull(6, Types.VARCHAR);
-                pstmt.setString(7, expense.getPaymentMethod());
-                pstmt.setInt(8, expense.isRecurring() ? 1 : 0);
-            }
-
-            pstmt.setString(9, transaction.getTransactionId());
-            pstmt.executeUpdate();
+    /**
+     * Jalankan statement untuk banyak baris dalam satu transaksi database,
+     * dikirim per chunk sebesar batchSize lewat addBatch/executeBatch
+     */
+    private void executeBatch(String sql, Collection<? extends Transaction> transactions,
+                              StatementBinder binder) throws SQLException {
+        if (transactions.isEmpty()) {
+            return;
+        }
+
+        try (Connection conn = databaseManager.getWriteConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                int pending = 0;
+                for (Transaction transaction : transactions) {
+                    binder.bind(pstmt, transaction);
+                    pstmt.addBatch();
+                    if (++pending == batchSize) {
+                        pstmt.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    pstmt.executeBatch();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Bind kolom transaction_type..amount_minor mulai dari parameter index tertentu
+     * (urutan kolom sama untuk INSERT_SQL dan UPDATE_SQL). Kolom amount (REAL)
+     * hanya salinan dari amount_minor untuk tool luar.
+     */
+    private void bindColumns(PreparedStatement pstmt, Transaction transaction, int index) throws SQLException {
+        pstmt.setString(index, transaction.getTransactionType());
+        pstmt.setDouble(index + 1, transaction.getAmount().toDouble());
+        pstmt.setString(index + 2, transaction.getDescription());
+        pstmt.setString(index + 3, transaction.getDate().toString());
+        pstmt.setString(index + 4, transaction.getCategory()); // Now stores String directly
+
+        // Polymorphism: Handle Income vs Expense specific fields
+        if (transaction instanceof Income) {
+            Income income = (Income) transaction;
+            pstmt.setString(index + 5, income.getSource());
+            pstmt.setNull(index + 6, Types.VARCHAR);
+            pstmt.setInt(index + 7, 0);
+        } else if (transaction instanceof Expense) {
+            Expense expense = (Expense) transaction;
+            pstmt.setNull(index + 5, Types.VARCHAR);
+            pstmt.setString(index + 6, expense.getPaymentMethod());
+            pstmt.setInt(index + 7, expense.isRecurring() ? 1 : 0);
+        }
+        pstmt.setLong(index + 8, transaction.getDate().toEpochDay());
+        pstmt.setLong(index + 9, transaction.getAmount().getMinor());
+    }
+
+    @FunctionalInterface
+    private interface StatementBinder {
+        void bind(PreparedStatement pstmt, Transaction transaction) throws SQLException;
+    }
+
+    /**
+     * Terapkan perubahan berurutan di koneksi writer milik pemanggil, tanpa
+     * commit (dipakai WriteBehindTransactionDAO untuk group commit)
+     */
+    void applyAll(Connection conn, List<TransactionMutation> mutations) throws SQLException {
+        try (PreparedStatement insert = conn.prepareStatement(INSERT_SQL);
+             PreparedStatement update = conn.prepareStatement(UPDATE_SQL);
+             PreparedStatement delete = conn.prepareStatement(DELETE_SQL);
+             Statement deleteAll = conn.createStatement()) {
+            for (TransactionMutation mutation : mutations) {
+                switch (mutation.getOp()) {
+                    case INSERT -> {
+                        insert.setString(1, mutation.getTransactionId());
+                        bindColumns(insert, mutation.getTransaction(), 2);
+                        insert.executeUpdate();
+                    }
+                    case UPDATE -> {
+                        bindColumns(update, mutation.getTransaction(), 1);
+                        update.setString(11, mutation.getTransactionId());
+                        update.executeUpdate();
+                    }
+                    case DELETE -> {
+                        delete.setString(1, mutation.getTransactionId());
+                        delete.executeUpdate();
+                    }
+                    case DELETE_ALL -> deleteAll.executeUpdate(DELETE_ALL_SQL);
+                }
+            }
         }
     }
 
     @Override
     public void delete(String transactionId) throws SQLException {
-        String sql = "DELETE FROM transactions WHERE transaction_id = ?";
-
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection conn = databaseManager.getWriteConnection();
+             PreparedStatement pstmt = conn.prepareStatement(DELETE_SQL)) {
             pstmt.setString(1, transactionId);
             pstmt.executeUpdate();
         }
@@ -105,12 +208,14 @@ public class TransactionDAOImpl implements TransactionDAO {
     public Transaction findById(String transactionId) throws SQLException {
         String sql = "SELECT * FROM transactions WHERE transaction_id = ?";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection conn = databaseManager.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, transactionId);
             ResultSet rs = pstmt.executeQuery();
+            TransactionRowReader reader = new TransactionRowReader(rs);
 
             if (rs.next()) {
-                return createTransactionFromResultSet(rs);
+                return reader.read(rs);
             }
         }
         return null;
@@ -118,14 +223,16 @@ public class TransactionDAOImpl implements TransactionDAO {
 
     @Override
     public List<Transaction> findAll() throws SQLException {
-        String sql = "SELECT * FROM transactions ORDER BY date DESC";
+        String sql = "SELECT * FROM transactions ORDER BY date_epoch DESC";
         List<Transaction> transactions = new ArrayList<>();
 
-        try (Statement stmt = connection.createStatement();
+        try (Connection conn = databaseManager.getReadConnection();
+             Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
+            TransactionRowReader reader = new TransactionRowReader(rs);
 
             while (rs.next()) {
-                transactions.add(createTransactionFromResultSet(rs));
+                transactions.add(reader.read(rs));
             }
         }
         return transactions;
@@ -133,15 +240,17 @@ public class TransactionDAOImpl implements TransactionDAO {
 
     @Override
     public List<Transaction> findByType(String type) throws SQLException {
-        String sql = "SELECT * FROM transactions WHERE transaction_type = ? ORDER BY date DESC";
+        String sql = "SELECT * FROM transactions WHERE transaction_type = ? ORDER BY date_epoch DESC";
         List<Transaction> transactions = new ArrayList<>();
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection conn = databaseManager.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, type);
             ResultSet rs = pstmt.executeQuery();
+            TransactionRowReader reader = new TransactionRowReader(rs);
 
             while (rs.next()) {
-                transactions.add(createTransactionFromResultSet(rs));
+                transactions.add(reader.read(rs));
             }
         }
         return transactions;
@@ -149,15 +258,17 @@ public class TransactionDAOImpl implements TransactionDAO {
 
     @Override
     public List<Transaction> findByDate(LocalDate date) throws SQLException {
-        String sql = "SELECT * FROM transactions WHERE date = ?";
+        String sql = "SELECT * FROM transactions WHERE date_epoch = ?";
         List<Transaction> transactions = new ArrayList<>();
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, date.toString());
+        try (Connection conn = databaseManager.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, date.toEpochDay());
             ResultSet rs = pstmt.executeQuery();
+            TransactionRowReader reader = new TransactionRowReader(rs);
 
             while (rs.next()) {
-                transactions.add(createTransactionFromResultSet(rs));
+                transactions.add(reader.read(rs));
             }
         }
         return transactions;
@@ -165,59 +276,422 @@ public class TransactionDAOImpl implements TransactionDAO {
 
     @Override
     public List<Transaction> findByMonth(YearMonth month) throws SQLException {
-        String sql = "SELECT * FROM transactions WHERE date LIKE ? ORDER BY date DESC";
+        return findByDateRange(month.atDay(1), month.atEndOfMonth());
+    }
+
+    @Override
+    public List<Transaction> findByDateRange(LocalDate from, LocalDate to) throws SQLException {
+        // Index range scan pada idx_transactions_date, tanpa sort tambahan
+        String sql = "SELECT * FROM transactions WHERE date_epoch BETWEEN ? AND ? ORDER BY date_epoch DESC";
         List<Transaction> transactions = new ArrayList<>();
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, month.toString() + "%");
+        try (Connection conn = databaseManager.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, from.toEpochDay());
+            pstmt.setLong(2, to.toEpochDay());
             ResultSet rs = pstmt.executeQuery();
+            TransactionRowReader reader = new TransactionRowReader(rs);
 
             while (rs.next()) {
-                transactions.add(createTransactionFromResultSet(rs));
+                transactions.add(reader.read(rs));
             }
         }
         return transactions;
     }
 
+    @Override
+    public TransactionPage findPage(TransactionQuery query) throws SQLException {
+        List<Object> params = new ArrayList<>();
+        String where = buildWhereClause(query, params);
+
+        // Keyset: lanjut tepat setelah baris terakhir halaman sebelumnya,
+        // jadi biaya per halaman tidak bergantung pada posisi halaman
+        StringBuilder sql = new StringBuilder("SELECT * FROM transactions WHERE ").append(where);
+        List<Object> pageParams = new ArrayList<>(params);
+        if (query.getCursor() != null && !query.getCursor().isBlank()) {
+            Object[] cursor = TransactionQuery.decodeCursor(query.getCursor());
+            sql.append(" AND (date_epoch, transaction_id) < (?, ?)");
+            pageParams.add(cursor[0]);
+            pageParams.add(cursor[1]);
+        }
+        // Ambil limit + 1 baris untuk tahu apakah masih ada halaman berikutnya
+        sql.append(" ORDER BY date_epoch DESC, transaction_id DESC LIMIT ?");
+        pageParams.add(query.getLimit() + 1);
+
+        List<Transaction> transactions = new ArrayList<>();
+        String nextCursor = null;
+        TransactionPage page;
+
+        try (Connection conn = databaseManager.getReadConnection()) {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+                bindParameters(pstmt, pageParams);
+                ResultSet rs = pstmt.executeQuery();
+                TransactionRowReader reader = new TransactionRowReader(rs);
+
+                while (rs.next()) {
+                    if (transactions.size() == query.getLimit()) {
+                        Transaction last = transactions.get(transactions.size() - 1);
+                        nextCursor = TransactionQuery.encodeCursor(last.getDate().toEpochDay(), last.getTransactionId());
+                        break;
+                    }
+                    transactions.add(reader.read(rs));
+                }
+            }
+            page = new TransactionPage(transactions, nextCursor);
+
+            if (query.isIncludeTotals()) {
+                String totalsSql = "SELECT COUNT(*), "
+                        + "COALESCE(SUM(CASE WHEN transaction_type = 'PEMASUKAN' THEN amount_minor END), 0), "
+                        + "COALESCE(SUM(CASE WHEN transaction_type = 'PENGELUARAN' THEN amount_minor END), 0) "
+                        + "FROM transactions WHERE " + where;
+                try (PreparedStatement pstmt = conn.prepareStatement(totalsSql)) {
+                    bindParameters(pstmt, params);
+                    ResultSet rs = pstmt.executeQuery();
+                    if (rs.next()) {
+                        page.setTotals(rs.getLong(1), Money.ofMinor(rs.getLong(2)), Money.ofMinor(rs.getLong(3)));
+                    }
+                }
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Susun kondisi WHERE dari filter yang diisi; nilai filter masuk ke params
+     * (selalu lewat placeholder, tidak pernah digabung ke SQL)
+     */
+    private String buildWhereClause(TransactionQuery query, List<Object> params) {
+        StringBuilder where = new StringBuilder("1 = 1");
+
+        if (query.getTransactionType() != null) {
+            where.append(" AND transaction_type = ?");
+            params.add(query.getTransactionType());
+        }
+        if (query.getCategory() != null && !query.getCategory().isBlank()) {
+            where.append(" AND category = ? COLLATE NOCASE");
+            params.add(query.getCategory().trim());
+        }
+        if (query.getFromDate() != null) {
+            where.append(" AND date_epoch >= ?");
+            params.add(query.getFromDate().toEpochDay());
+        }
+        if (query.getToDate() != null) {
+            where.append(" AND date_epoch <= ?");
+            params.add(query.getToDate().toEpochDay());
+        }
+        if (query.getMinAmount() != null) {
+            where.append(" AND amount_minor >= ?");
+            params.add(query.getMinAmount().getMinor());
+        }
+        if (query.getMaxAmount() != null) {
+            where.append(" AND amount_minor <= ?");
+            params.add(query.getMaxAmount().getMinor());
+        }
+        String match = toFtsQuery(query.getText());
+        if (match != null) {
+            // Pakai index FTS5 (prefix match per kata), bukan LIKE full scan
+            where.append(" AND fts_id IN (SELECT rowid FROM transactions_fts WHERE transactions_fts MATCH ?)");
+            params.add(match);
+        }
+        return where.toString();
+    }
+
+    @Override
+    public String findMaxTransactionId(int idLength) throws SQLException {
+        // Jalan mundur di index primary key, berhenti di ID pertama yang panjangnya cocok
+        String sql = "SELECT transaction_id FROM transactions WHERE length(transaction_id) = ? "
+                   + "ORDER BY transaction_id DESC LIMIT 1";
+
+        try (Connection conn = databaseManager.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, idLength);
+            ResultSet rs = pstmt.executeQuery();
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+
+    @Override
+    public int claimIdNode(int nodeCount) throws SQLException {
+        ProcessHandle self = ProcessHandle.current();
+        long startedMs = startedMs(self);
+
+        try (Connection conn = databaseManager.getWriteConnection();
+             Statement stmt = conn.createStatement()) {
+            // IMMEDIATE: lock tulis diambil sebelum membaca, jadi dua proses tidak bisa memilih node yang sama
+            stmt.execute("BEGIN IMMEDIATE");
+            try {
+                int node = claimIdNode(conn, stmt, self.pid(), startedMs, nodeCount);
+                stmt.execute("COMMIT");
+                return node;
+            } catch (SQLException e) {
+                stmt.execute("ROLLBACK");
+                throw e;
+            }
+        }
+    }
+
+    private static int claimIdNode(Connection conn, Statement stmt, long pid, long startedMs, int nodeCount)
+            throws SQLException {
+        BitSet used = new BitSet(nodeCount);
+        List<Integer> stale = new ArrayList<>();
+        try (ResultSet rs = stmt.executeQuery("SELECT node, pid, started_ms FROM id_nodes")) {
+            while (rs.next()) {
+                int node = rs.getInt(1);
+                if (rs.getLong(2) == pid && rs.getLong(3) == startedMs) {
+                    return node;
+                }
+                if (isRunning(rs.getLong(2), rs.getLong(3))) {
+                    used.set(node);
+                } else {
+                    stale.add(node);
+                }
+            }
+        }
+
+        // Node milik proses yang sudah berhenti boleh dipakai lagi
+        try (PreparedStatement delete = conn.prepareStatement("DELETE FROM id_nodes WHERE node = ?")) {
+            for (int node : stale) {
+                delete.setInt(1, node);
+                delete.executeUpdate();
+            }
+        }
+
+        int node = used.nextClearBit(0);
+        if (node >= nodeCount) {
+            throw new SQLException("All " + nodeCount + " ID generator nodes are claimed by running processes");
+        }
+        try (PreparedStatement insert = conn.prepareStatement(
+                "INSERT INTO id_nodes (node, pid, started_ms) VALUES (?, ?, ?)")) {
+            insert.setInt(1, node);
+            insert.setLong(2, pid);
+            insert.setLong(3, startedMs);
+            insert.executeUpdate();
+        }
+        return node;
+    }
+
+    /**
+     * Proses masih berjalan: pid ada dan (jika diketahui) waktu start sama, jadi pid yang dipakai ulang tidak terhitung
+     */
+    private static boolean isRunning(long pid, long startedMs) {
+        return ProcessHandle.of(pid)
+            .filter(ProcessHandle::isAlive)
+            .map(process -> startedMs == 0 || startedMs(process) == 0 || startedMs(process) == startedMs)
+            .orElse(false);
+    }
+
+    private static long startedMs(ProcessHandle process) {
+        return process.info().startInstant().map(Instant::toEpochMilli).orElse(0L);
+    }
+
+    @Override
+    public List<TransactionSearchHit> search(String text, int limit) throws SQLException {
+        List<TransactionSearchHit> hits = new ArrayList<>();
+        String match = toFtsQuery(text);
+        if (match == null) {
+            return hits;
+        }
+
+        // bm25: description lebih berbobot dari category; nilai kecil = lebih relevan
+        String sql = """
+            SELECT t.*,
+                   snippet(transactions_fts, -1, '<mark>', '</mark>', '…', 12) AS snippet,
+                   bm25(transactions_fts, 1.0, 0.5) AS rank
+            FROM transactions_fts
+            JOIN transactions t ON t.fts_id = transactions_fts.rowid
+            WHERE transactions_fts MATCH ?
+            ORDER BY rank
+            LIMIT ?
+        """;
+
+        try (Connection conn = databaseManager.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, match);
+            pstmt.setInt(2, limit);
+            ResultSet rs = pstmt.executeQuery();
+            TransactionRowReader reader = new TransactionRowReader(rs);
+
+            while (rs.next()) {
+                hits.add(new TransactionSearchHit(reader.read(rs),
+                        rs.getString("snippet"), -rs.getDouble("rank")));
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Ubah input user menjadi query FTS5: setiap kata jadi prefix term ("kata"*),
+     * semua kata harus ada. Tanda baca dibuang, jadi sintaks FTS5 tidak bisa diinjeksi.
+     * @return null jika tidak ada kata yang bisa dicari
+     */
+    private static String toFtsQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder match = new StringBuilder();
+        for (String token : text.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                if (match.length() > 0) {
+                    match.append(' ');
+                }
+                match.append('"').append(token).append("\"*");
+            }
+        }
+        return match.length() == 0 ? null : match.toString();
+    }
+
+    private static void bindParameters(PreparedStatement pstmt, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            pstmt.setObject(i + 1, params.get(i));
+        }
+    }
+
+    @Override
+    public List<MonthlyRollupCell> findRollupCellsBefore(YearMonth month) throws SQLException {
+        String sql = "SELECT month, transaction_type, category, total_minor, tx_count "
+                   + "FROM monthly_rollup WHERE month < ? ORDER BY month";
+        List<MonthlyRollupCell> cells = new ArrayList<>();
+
+        try (Connection conn = databaseManager.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, month.toString());
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                cells.add(new MonthlyRollupCell(
+                    YearMonth.parse(rs.getString("month")),
+                    "PEMASUKAN".equals(rs.getString("transaction_type")),
+                    rs.getString("category"),
+                    rs.getLong("total_minor"),
+                    rs.getInt("tx_count")));
+            }
+        }
+        return cells;
+    }
+
+    @Override
+    public void scanAll(RowVisitor visitor) throws SQLException {
+        // Urutan sama dengan getTransactions(); lewat idx_transactions_date (date_epoch, transaction_id)
+        String sql = "SELECT transaction_id, transaction_type, date_epoch, amount_minor, category, "
+                   + "description, source, payment_method, is_recurring "
+                   + "FROM transactions ORDER BY date_epoch DESC, transaction_id DESC";
+
+        try (Connection conn = databaseManager.getReadConnection();
+             Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                visitor.visit(
+                    rs.getString(1),
+                    "PEMASUKAN".equals(rs.getString(2)),
+                    rs.getLong(3),
+                    rs.getLong(4),
+                    rs.getString(5),
+                    rs.getString(6),
+                    rs.getString(7),
+                    rs.getString(8),
+                    rs.getInt(9) == 1);
+            }
+        }
+    }
+
+    @Override
+    public void scanColumnsBefore(LocalDate date, ColumnVisitor visitor) throws SQLException {
+        String sql = "SELECT date_epoch, transaction_type, amount_minor, category, payment_method "
+                   + "FROM transactions WHERE date_epoch < ?";
+
+        try (Connection conn = databaseManager.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, date.toEpochDay());
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                visitor.visit(
+                    rs.getLong(1),
+                    "PEMASUKAN".equals(rs.getString(2)),
+                    rs.getLong(3),
+                    rs.getString(4),
+                    rs.getString(5));
+            }
+        }
+    }
+
+    @Override
+    public long getChangeCount() throws SQLException {
+        try (Connection conn = databaseManager.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT change_count FROM transaction_changes WHERE id = 1")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
     @Override
     public void deleteAll() throws SQLException {
-        String sql = "DELETE FROM transactions";
-        try (Statement stmt = connection.createStatement()) {
-            stmt.executeUpdate(sql);
+        try (Connection conn = databaseManager.getWriteConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(DELETE_ALL_SQL);
         }
     }
 
     /**
      * Factory Method Pattern: Create Transaction object dari ResultSet
      * OOP Concept: Polymorphism - Returns Income atau Expense based on type
+     *
+     * Index kolom di-resolve sekali per ResultSet (bukan lookup nama per baris),
+     * dan objek dibuat lewat factory restore() dengan ID yang tersimpan.
+     * Kategori, source & metode pembayaran memakai String kanonik dari
+     * ValueDictionary, jadi baris dengan nilai sama berbagi satu instance.
+     * Hanya lookup(): mendaftarkan nilai baru butuh koneksi writer, sedangkan
+     * di sini koneksi reader masih dipegang. Nilai yang belum terdaftar
+     * dibagi lewat map lokal per ResultSet (didaftarkan nanti oleh TransactionStore).
      */
-    private Transaction createTransactionFromResultSet(ResultSet rs) throws SQLException {
-        String type = rs.getString("transaction_type");
-        double amount = rs.getDouble("amount");
-        String description = rs.getString("description");
-        LocalDate date = LocalDate.parse(rs.getString("date"));
-        String category = rs.getString("category"); // Now reads String directly
-
-        Transaction transaction;
-
-        if (type.equals("PEMASUKAN")) {
-            String source = rs.getString("source");
-            transaction = new Income(amount, description, date, category, source);
-        } else {
-            String paymentMethod = rs.getString("payment_method");
-            boolean isRecurring = rs.getInt("is_recurring") == 1;
-            transaction = new Expense(amount, description, date, category, paymentMethod, isRecurring);
-        }
-
-        // Set the original transaction ID
-        try {
-            java.lang.reflect.Field idField = Transaction.class.getDeclaredField("transactionId");
-            idField.setAccessible(true);
-            idField.set(transaction, rs.getString("transaction_id"));
-        } catch (Exception e) {
-            // If reflection fails, keep the auto-generated ID
-        }
-
-        return transaction;
+    private static final class TransactionRowReader {
+        private final int id;
+        private final int type;
+        private final int amount;
+        private final int description;
+        private final int dateEpoch;
+        private final int category;
+        private final int source;
+        private final int paymentMethod;
+        private final int isRecurring;
+        private final ValueDictionary dictionary = ValueDictionary.getInstance();
+        private final Map<String, String> unregistered = new HashMap<>();
+
+        TransactionRowReader(ResultSet rs) throws SQLException {
+            this.id = rs.findColumn("transaction_id");
+            this.type = rs.findColumn("transaction_type");
+            this.amount = rs.findColumn("amount_minor");
+            this.description = rs.findColumn("description");
+            this.dateEpoch = rs.findColumn("date_epoch");
+            this.category = rs.findColumn("category");
+            this.source = rs.findColumn("source");
+            this.paymentMethod = rs.findColumn("payment_method");
+            this.isRecurring = rs.findColumn("is_recurring");
+        }
+
+        Transaction read(ResultSet rs) throws SQLException {
+            String transactionId = rs.getString(id);
+            Money value = Money.ofMinor(rs.getLong(amount));
+            String desc = rs.getString(description);
+            LocalDate date = LocalDate.ofEpochDay(rs.getLong(dateEpoch));
+            String cat = canonical(ValueDictionary.Kind.CATEGORY, rs.getString(category));
+
+            if ("PEMASUKAN".equals(rs.getString(type))) {
+                return Income.restore(transactionId, value, desc, date, cat,
+                                      canonical(ValueDictionary.Kind.SOURCE, rs.getString(source)));
+            }
+            return Expense.restore(transactionId, value, desc, date, cat,
+                                   canonical(ValueDictionary.Kind.PAYMENT_METHOD, rs.getString(paymentMethod)),
+                                   rs.getInt(isRecurring) == 1);
+        }
+
+        private String canonical(ValueDictionary.Kind kind, String value) {
+            int code = dictionary.lookup(kind, value);
+            if (code != ValueDictionary.UNKNOWN) {
+                return dictionary.value(code);
+            }
+            return unregistered.computeIfAbsent(value, v -> v);
+        }
     }
 }
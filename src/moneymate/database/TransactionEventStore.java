@@ -0,0 +1,600 @@
+package moneymate.database;
+
+import moneymate.model.Transaction;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * TransactionEventStore - event log append-only + snapshot state TransactionManager
+ *
+ * Setiap mutasi ditulis sebagai event biner ke segment log
+ * (events-&lt;seq pertama&gt;.seg, ganti file tiap SEGMENT_BYTES). Secara berkala
+ * seluruh state ditulis ke snapshot-&lt;seq&gt;.snap, yang dibaca lewat
+ * memory-mapped file saat start. Startup = load snapshot + replay event
+ * setelah seq snapshot, jadi waktunya tergantung panjang tail, bukan total
+ * riwayat. Segment tidak pernah dihapus dan berfungsi sebagai audit trail.
+ *
+ * SQLite tetap sumber kebenaran: snapshot menyimpan change_count database
+ * (tabel transaction_changes) dan setiap event = tepat satu perubahan baris.
+ * Jika hitungannya tidak cocok (event hilang, atau proses lain menulis ke
+ * database), TransactionManager kembali load dari database lalu rebase().
+ *
+ * Dipanggil oleh TransactionManager di bawah write lock, jadi append selalu
+ * berurutan dari satu thread sekaligus.
+ */
+public class TransactionEventStore implements AutoCloseable {
+
+    public static final String DIRECTORY_PROPERTY = "moneymate.eventLog";
+
+    private static final long SEGMENT_BYTES = Long.getLong("moneymate.eventLog.segmentBytes", 64L << 20);
+    private static final long SNAPSHOT_EVERY = Long.getLong("moneymate.eventLog.snapshotEvery", 100_000);
+    private static final int SNAPSHOTS_KEPT = 2;
+
+    private static final int SNAPSHOT_MAGIC = 0x4D4D534E; // "MMSN"
+    private static final int SNAPSHOT_FORMAT = 1;
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+
+    private final Path directory;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ExecutorService snapshotWriter = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "moneymate-event-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private FileChannel segment;
+    private long lastSeq;
+    private long changeCount;
+    private long lastSnapshotSeq;
+    private boolean failed;
+
+    private TransactionEventStore(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        openForAppend();
+    }
+
+    /**
+     * Buka store di direktori -Dmoneymate.eventLog=&lt;dir&gt;; null jika tidak diaktifkan
+     */
+    public static TransactionEventStore openIfEnabled() {
+        String dir = System.getProperty(DIRECTORY_PROPERTY);
+        if (dir == null || dir.isBlank()) {
+            return null;
+        }
+        try {
+            TransactionEventStore store = new TransactionEventStore(Path.of(dir));
+            System.out.println("✓ Event log opened: " + dir + " (last seq " + store.lastSeq + ")");
+            return store;
+        } catch (IOException e) {
+            System.err.println("Event log unavailable: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * State hasil snapshot + replay tail
+     */
+    public static final class RecoveredState {
+        private final List<Transaction> transactions;
+        private final long snapshotSeq;
+        private final long seq;
+        private final long changeCount;
+        private final int replayedEvents;
+
+        RecoveredState(List<Transaction> transactions, long snapshotSeq, long seq, long changeCount, int replayedEvents) {
+            this.transactions = transactions;
+            this.snapshotSeq = snapshotSeq;
+            this.seq = seq;
+            this.changeCount = changeCount;
+            this.replayedEvents = replayedEvents;
+        }
+
+        public List<Transaction> getTransactions() { return transactions; }
+        public long getSnapshotSeq() { return snapshotSeq; }
+        public long getSeq() { return seq; }
+        public long getChangeCount() { return changeCount; }
+        public int getReplayedEvents() { return replayedEvents; }
+    }
+
+    public long getLastSeq() {
+        return lastSeq;
+    }
+
+    public long getChangeCount() {
+        return changeCount;
+    }
+
+    // ===== Startup =====
+
+    /**
+     * Load snapshot terbaru yang valid lalu replay event setelahnya.
+     * Null jika belum ada snapshot atau log tidak utuh.
+     */
+    public RecoveredState recover() throws IOException {
+        for (Path file : snapshotFiles().reversed()) {
+            Snapshot snapshot;
+            try {
+                snapshot = readSnapshot(file);
+            } catch (IOException e) {
+                System.err.println("Skipping unreadable snapshot " + file.getFileName() + ": " + e.getMessage());
+                continue;
+            }
+            if (snapshot.seq > lastSeq) {
+                continue; // snapshot lebih baru dari log (segment hilang)
+            }
+
+            Map<String, Transaction> state = null;
+            long expectedSeq = snapshot.seq + 1;
+            for (TransactionLogEntry entry : readEntries(snapshot.seq + 1, Integer.MAX_VALUE)) {
+                if (entry.getSeq() != expectedSeq) {
+                    System.err.println("Event log gap at seq " + expectedSeq);
+                    return null;
+                }
+                if (state == null) {
+                    state = new LinkedHashMap<>(snapshot.transactions.size() * 2);
+                    for (Transaction transaction : snapshot.transactions) {
+                        state.put(transaction.getTransactionId(), transaction);
+                    }
+                }
+                apply(state, entry);
+                expectedSeq++;
+            }
+            if (expectedSeq - 1 != lastSeq) {
+                return null;
+            }
+
+            int replayed = (int) (lastSeq - snapshot.seq);
+            List<Transaction> transactions = state == null ? snapshot.transactions : new ArrayList<>(state.values());
+            changeCount = snapshot.changeCount + replayed;
+            lastSnapshotSeq = snapshot.seq;
+            return new RecoveredState(transactions, snapshot.seq, lastSeq, changeCount, replayed);
+        }
+        return null;
+    }
+
+    private static void apply(Map<String, Transaction> state, TransactionLogEntry entry) {
+        Transaction transaction = entry.getTransaction();
+        switch (entry.getType()) {
+            case ADDED, UPDATED -> state.put(transaction.getTransactionId(), transaction);
+            case DELETED -> state.remove(transaction.getTransactionId());
+        }
+    }
+
+    /**
+     * State di-load ulang dari database: mulai baseline baru (snapshot sinkron)
+     * pada seq saat ini dengan change_count database
+     */
+    public void rebase(List<Transaction> transactions, long databaseChangeCount) {
+        appendLock.lock();
+        try {
+            changeCount = databaseChangeCount;
+            failed = false;
+            writeSnapshot(transactions, lastSeq, changeCount);
+        } catch (IOException e) {
+            System.err.println("Failed to write event log snapshot: " + e.getMessage());
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // ===== Append =====
+
+    public void appendAdded(Transaction transaction) {
+        append(List.of(transaction), TransactionLogEntry.Type.ADDED);
+    }
+
+    public void appendAdded(List<? extends Transaction> transactions) {
+        append(transactions, TransactionLogEntry.Type.ADDED);
+    }
+
+    public void appendUpdated(Transaction transaction) {
+        append(List.of(transaction), TransactionLogEntry.Type.UPDATED);
+    }
+
+    /**
+     * @param removed data transaksi sebelum dihapus (disimpan untuk audit)
+     */
+    public void appendDeleted(Transaction removed) {
+        append(List.of(removed), TransactionLogEntry.Type.DELETED);
+    }
+
+    /**
+     * Gagal tulis tidak menggagalkan mutasi (sudah tersimpan di database);
+     * store berhenti menulis dan startup berikutnya load dari database.
+     */
+    private void append(List<? extends Transaction> transactions, TransactionLogEntry.Type type) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        appendLock.lock();
+        try {
+            if (failed || segment == null) {
+                return;
+            }
+            long timestamp = System.currentTimeMillis();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(transactions.size() * 128);
+            long seq = lastSeq;
+            for (Transaction transaction : transactions) {
+                writeRecord(bytes, ++seq, timestamp, type, transaction);
+            }
+
+            if (segment.size() > 0 && segment.size() + bytes.size() > SEGMENT_BYTES) {
+                rollSegment(lastSeq + 1);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                segment.write(buffer);
+            }
+            lastSeq = seq;
+            changeCount += transactions.size();
+        } catch (IOException e) {
+            failed = true;
+            System.err.println("Event log append failed, log disabled until restart: " + e.getMessage());
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private static void writeRecord(ByteArrayOutputStream bytes, long seq, long timestamp,
+                                    TransactionLogEntry.Type type, Transaction transaction) throws IOException {
+        ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(payloadBytes);
+        out.writeLong(seq);
+        out.writeLong(timestamp);
+        out.writeByte(type.ordinal());
+        TransactionCodec.write(out, transaction);
+        out.flush();
+
+        byte[] payload = payloadBytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        bytes.write(ByteBuffer.allocate(HEADER_BYTES).putInt(payload.length).putInt((int) crc.getValue()).array());
+        bytes.write(payload);
+    }
+
+    // ===== Snapshot =====
+
+    /**
+     * Snapshot perlu dibuat (sudah SNAPSHOT_EVERY event sejak snapshot terakhir)
+     */
+    public boolean isSnapshotDue() {
+        return !failed && lastSeq - lastSnapshotSeq >= SNAPSHOT_EVERY;
+    }
+
+    public boolean hasEventsSinceSnapshot() {
+        return !failed && lastSeq > lastSnapshotSeq;
+    }
+
+    /**
+     * Tulis snapshot di background. Dipanggil di bawah write lock
+     * TransactionManager supaya state, seq dan change_count konsisten;
+     * list harus immutable.
+     */
+    public void snapshotAsync(List<Transaction> transactions) {
+        long seq;
+        long changes;
+        appendLock.lock();
+        try {
+            if (failed) {
+                return;
+            }
+            seq = lastSeq;
+            changes = changeCount;
+            lastSnapshotSeq = seq;
+        } finally {
+            appendLock.unlock();
+        }
+        try {
+            snapshotWriter.execute(() -> {
+                try {
+                    writeSnapshot(transactions, seq, changes);
+                } catch (IOException e) {
+                    System.err.println("Failed to write event log snapshot: " + e.getMessage());
+                }
+            });
+        } catch (RuntimeException e) {
+            // Executor sudah ditutup
+        }
+    }
+
+    private void writeSnapshot(List<Transaction> transactions, long seq, long changes) throws IOException {
+        long start = System.nanoTime();
+        // Segment di-fsync dulu: snapshot tidak boleh lebih baru dari log di disk
+        forceSegment();
+
+        Path target = directory.resolve(String.format("snapshot-%020d.snap", seq));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            CRC32 crc = new CRC32();
+            CheckedOutputStream checked = new CheckedOutputStream(
+                new BufferedOutputStream(Channels.newOutputStream(channel), 256 * 1024), crc);
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_FORMAT);
+            out.writeLong(seq);
+            out.writeLong(changes);
+            out.writeInt(transactions.size());
+            for (Transaction transaction : transactions) {
+                TransactionCodec.write(out, transaction);
+            }
+            out.flush();
+            // CRC di akhir file, di luar data yang di-checksum
+            DataOutputStream trailer = new DataOutputStream(Channels.newOutputStream(channel));
+            trailer.writeLong(crc.getValue());
+            trailer.flush();
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        List<Path> snapshots = snapshotFiles();
+        for (int i = 0; i < snapshots.size() - SNAPSHOTS_KEPT; i++) {
+            Files.deleteIfExists(snapshots.get(i));
+        }
+        System.out.printf("✓ Event log snapshot at seq %d (%d transactions, %d ms)%n",
+            seq, transactions.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private record Snapshot(long seq, long changeCount, List<Transaction> transactions) {}
+
+    /**
+     * Baca snapshot lewat memory-mapped file; CRC diverifikasi sebelum decode
+     */
+    private static Snapshot readSnapshot(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 28 + Long.BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("invalid size " + size);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            CRC32 crc = new CRC32();
+            crc.update(mapped.slice(0, (int) size - Long.BYTES));
+            if (crc.getValue() != mapped.getLong((int) size - Long.BYTES)) {
+                throw new IOException("checksum mismatch");
+            }
+
+            DataInputStream in = new DataInputStream(new BufferInputStream(mapped.slice(0, (int) size - Long.BYTES)));
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_FORMAT) {
+                throw new IOException("unknown format");
+            }
+            long seq = in.readLong();
+            long changes = in.readLong();
+            int count = in.readInt();
+            List<Transaction> transactions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                transactions.add(TransactionCodec.read(in));
+            }
+            return new Snapshot(seq, changes, transactions);
+        }
+    }
+
+    // ===== Segment files =====
+
+    /**
+     * Baca event mulai fromSeq (urut seq), maksimal limit; juga untuk audit trail
+     */
+    public List<TransactionLogEntry> readEntries(long fromSeq, int limit) throws IOException {
+        List<TransactionLogEntry> entries = new ArrayList<>();
+        List<Path> segments = segmentFiles();
+        int first = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            if (firstSeqOf(segments.get(i)) <= fromSeq) {
+                first = i;
+            }
+        }
+        for (int i = first; i < segments.size() && entries.size() < limit; i++) {
+            scanSegment(segments.get(i), fromSeq, limit, entries);
+        }
+        return entries;
+    }
+
+    private record SegmentScan(long validBytes, long lastSeq) {}
+
+    /**
+     * Scan satu segment; record dengan seq &lt; fromSeq dilewati tanpa di-decode.
+     * Mengembalikan panjang bagian yang utuh dan seq record terakhirnya.
+     */
+    private static SegmentScan scanSegment(Path file, long fromSeq, int limit, List<TransactionLogEntry> entries)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long lastSeq = -1;
+            if (size == 0) {
+                return new SegmentScan(0, lastSeq);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32 crc = new CRC32();
+            int position = 0;
+            while (position + HEADER_BYTES <= size) {
+                int length = mapped.getInt(position);
+                int checksum = mapped.getInt(position + 4);
+                int payloadStart = position + HEADER_BYTES;
+                if (length <= 0 || length > MAX_RECORD_BYTES || payloadStart + (long) length > size) {
+                    break;
+                }
+                ByteBuffer payload = mapped.slice(payloadStart, length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                lastSeq = payload.getLong(0);
+                if (entries != null && lastSeq >= fromSeq && entries.size() < limit) {
+                    entries.add(decodeEntry(payload));
+                }
+                position = payloadStart + length;
+            }
+            return new SegmentScan(position, lastSeq);
+        }
+    }
+
+    private static TransactionLogEntry decodeEntry(ByteBuffer payload) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferInputStream(payload));
+        long seq = in.readLong();
+        Instant timestamp = Instant.ofEpochMilli(in.readLong());
+        TransactionLogEntry.Type type = TransactionLogEntry.Type.values()[in.readByte()];
+        return new TransactionLogEntry(seq, timestamp, type, TransactionCodec.read(in));
+    }
+
+    /**
+     * Posisikan append di akhir segment terakhir; ekor yang rusak (crash di
+     * tengah append) dipotong
+     */
+    private void openForAppend() throws IOException {
+        List<Path> segments = segmentFiles();
+        List<Path> snapshots = snapshotFiles();
+        long snapshotSeq = snapshots.isEmpty() ? 0 : seqOf(snapshots.get(snapshots.size() - 1));
+
+        if (segments.isEmpty()) {
+            lastSeq = snapshotSeq;
+            rollSegment(lastSeq + 1);
+            return;
+        }
+
+        Path last = segments.get(segments.size() - 1);
+        SegmentScan scan = scanSegment(last, Long.MAX_VALUE, 0, null);
+        segment = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (scan.validBytes() < segment.size()) {
+            System.err.println("Event log: discarding " + (segment.size() - scan.validBytes())
+                + " bytes of incomplete records in " + last.getFileName());
+            segment.truncate(scan.validBytes());
+        }
+        segment.position(scan.validBytes());
+        lastSeq = scan.validBytes() > 0 ? scan.lastSeq() : firstSeqOf(last) - 1;
+    }
+
+    private void rollSegment(long firstSeq) throws IOException {
+        if (segment != null) {
+            segment.force(false);
+            segment.close();
+        }
+        Path file = directory.resolve(String.format("events-%020d.seg", firstSeq));
+        segment = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment.position(segment.size());
+    }
+
+    private void forceSegment() throws IOException {
+        appendLock.lock();
+        try {
+            if (segment != null) {
+                segment.force(false);
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        return listFiles("events-", ".seg");
+    }
+
+    private List<Path> snapshotFiles() throws IOException {
+        return listFiles("snapshot-", ".snap");
+    }
+
+    // Nama file memuat seq 20 digit, jadi urutan nama = urutan seq
+    private List<Path> listFiles(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> {
+                    String name = p.getFileName().toString();
+                    return name.startsWith(prefix) && name.endsWith(suffix);
+                })
+                .sorted()
+                .toList();
+        }
+    }
+
+    private static long firstSeqOf(Path segmentFile) {
+        return seqOf(segmentFile);
+    }
+
+    private static long seqOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(name.indexOf('-') + 1, name.indexOf('.')));
+    }
+
+    /**
+     * Tunggu snapshot yang sedang ditulis, fsync segment, lalu tutup
+     */
+    @Override
+    public void close() {
+        snapshotWriter.shutdown();
+        try {
+            snapshotWriter.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appendLock.lock();
+        try {
+            if (segment != null) {
+                segment.force(false);
+                segment.close();
+                segment = null;
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to close event log: " + e.getMessage());
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * InputStream di atas ByteBuffer (mis. hasil memory-map), tanpa salinan
+     */
+    private static final class BufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+    }
+}
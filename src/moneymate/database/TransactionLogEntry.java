@@ -0,0 +1,42 @@
+package moneymate.database;
+
+import moneymate.model.Transaction;
+import java.time.Instant;
+
+/**
+ * TransactionLogEntry - satu event di TransactionEventStore (juga audit trail)
+ *
+ * Untuk DELETED, transaction berisi data terakhir sebelum dihapus.
+ */
+public class TransactionLogEntry {
+
+    public enum Type { ADDED, UPDATED, DELETED }
+
+    private final long seq;
+    private final Instant timestamp;
+    private final Type type;
+    private final Transaction transaction;
+
+    public TransactionLogEntry(long seq, Instant timestamp, Type type, Transaction transaction) {
+        this.seq = seq;
+        this.timestamp = timestamp;
+        this.type = type;
+        this.transaction = transaction;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Transaction getTransaction() {
+        return transaction;
+    }
+}
@@ -0,0 +1,54 @@
+package moneymate.database;
+
+import moneymate.model.Transaction;
+
+/**
+ * TransactionMutation - satu perubahan tertunda di WriteBehindTransactionDAO
+ *
+ * seq adalah posisi di write-behind log (naik terus), dipakai untuk tahu
+ * perubahan mana yang sudah masuk SQLite.
+ */
+final class TransactionMutation {
+
+    enum Op { INSERT, UPDATE, DELETE, DELETE_ALL }
+
+    private final long seq;
+    private final Op op;
+    private final Transaction transaction;   // INSERT / UPDATE
+    private final String transactionId;      // INSERT / UPDATE / DELETE
+
+    private TransactionMutation(long seq, Op op, Transaction transaction, String transactionId) {
+        this.seq = seq;
+        this.op = op;
+        this.transaction = transaction;
+        this.transactionId = transactionId;
+    }
+
+    static TransactionMutation insert(long seq, Transaction transaction) {
+        return new TransactionMutation(seq, Op.INSERT, transaction, transaction.getTransactionId());
+    }
+
+    static TransactionMutation update(long seq, Transaction transaction) {
+        return new TransactionMutation(seq, Op.UPDATE, transaction, transaction.getTransactionId());
+    }
+
+    static TransactionMutation delete(long seq, String transactionId) {
+        return new TransactionMutation(seq, Op.DELETE, null, transactionId);
+    }
+
+    static TransactionMutation deleteAll(long seq) {
+        return new TransactionMutation(seq, Op.DELETE_ALL, null, null);
+    }
+
+    /**
+     * Salinan dengan posisi log yang diberikan saat append
+     */
+    TransactionMutation withSeq(long seq) {
+        return new TransactionMutation(seq, op, transaction, transactionId);
+    }
+
+    long getSeq() { return seq; }
+    Op getOp() { return op; }
+    Transaction getTransaction() { return transaction; }
+    String getTransactionId() { return transactionId; }
+}
@@ -0,0 +1,57 @@
+package moneymate.database;
+
+import moneymate.model.Money;
+import moneymate.model.Transaction;
+import java.util.List;
+
+/**
+ * TransactionPage - satu halaman hasil TransactionDAO.findPage
+ */
+public class TransactionPage {
+
+    private final List<Transaction> transactions;
+    private final String nextCursor;
+    private Long totalCount;
+    private Money totalIncome;
+    private Money totalExpense;
+
+    public TransactionPage(List<Transaction> transactions, String nextCursor) {
+        this.transactions = transactions;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    /**
+     * Cursor untuk halaman berikutnya (null jika sudah halaman terakhir)
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+
+    // Totals hanya diisi jika TransactionQuery.includeTotals = true
+
+    public Long getTotalCount() {
+        return totalCount;
+    }
+
+    public Money getTotalIncome() {
+        return totalIncome;
+    }
+
+    public Money getTotalExpense() {
+        return totalExpense;
+    }
+
+    void setTotals(long totalCount, Money totalIncome, Money totalExpense) {
+        this.totalCount = totalCount;
+        this.totalIncome = totalIncome;
+        this.totalExpense = totalExpense;
+    }
+}
@@ -0,0 +1,84 @@
+package moneymate.database;
+
+import moneymate.model.Money;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * TransactionQuery - kriteria filter + keyset pagination untuk TransactionDAO.findPage
+ *
+ * Semua field opsional (null = tidak difilter). Halaman berikutnya diminta
+ * dengan cursor dari TransactionPage sebelumnya, yang menyimpan posisi
+ * (date_epoch, transaction_id) baris terakhir.
+ */
+public class TransactionQuery {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private String transactionType;   // PEMASUKAN / PENGELUARAN
+    private String category;          // exact match, case-insensitive
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private Money minAmount;
+    private Money maxAmount;
+    private String text;              // kata (prefix match) di description / category
+    private String cursor;
+    private int limit = DEFAULT_LIMIT;
+    private boolean includeTotals;
+
+    public String getTransactionType() { return transactionType; }
+    public void setTransactionType(String transactionType) { this.transactionType = transactionType; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public LocalDate getFromDate() { return fromDate; }
+    public void setFromDate(LocalDate fromDate) { this.fromDate = fromDate; }
+
+    public LocalDate getToDate() { return toDate; }
+    public void setToDate(LocalDate toDate) { this.toDate = toDate; }
+
+    public Money getMinAmount() { return minAmount; }
+    public void setMinAmount(Money minAmount) { this.minAmount = minAmount; }
+
+    public Money getMaxAmount() { return maxAmount; }
+    public void setMaxAmount(Money maxAmount) { this.maxAmount = maxAmount; }
+
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
+
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = Math.max(1, Math.min(MAX_LIMIT, limit)); }
+
+    /**
+     * Hitung juga total (count, pemasukan, pengeluaran) untuk seluruh hasil filter
+     */
+    public boolean isIncludeTotals() { return includeTotals; }
+    public void setIncludeTotals(boolean includeTotals) { this.includeTotals = includeTotals; }
+
+    /**
+     * Encode posisi baris terakhir menjadi cursor opaque
+     */
+    static String encodeCursor(long dateEpoch, String transactionId) {
+        String raw = dateEpoch + ":" + transactionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode cursor menjadi {dateEpoch, transactionId}
+     */
+    static Object[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            return new Object[] { Long.parseLong(raw.substring(0, sep)), raw.substring(sep + 1) };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
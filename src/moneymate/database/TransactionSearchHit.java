@@ -0,0 +1,37 @@
+package moneymate.database;
+
+import moneymate.model.Transaction;
+
+/**
+ * TransactionSearchHit - satu hasil full-text search (TransactionDAO.search)
+ */
+public class TransactionSearchHit {
+
+    private final Transaction transaction;
+    private final String snippet;
+    private final double score;
+
+    public TransactionSearchHit(Transaction transaction, String snippet, double score) {
+        this.transaction = transaction;
+        this.snippet = snippet;
+        this.score = score;
+    }
+
+    public Transaction getTransaction() {
+        return transaction;
+    }
+
+    /**
+     * Potongan teks yang cocok, kata yang match dibungkus <mark>...</mark>
+     */
+    public String getSnippet() {
+        return snippet;
+    }
+
+    /**
+     * Skor relevansi (bm25, makin besar makin relevan)
+     */
+    public double getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,229 @@
+package moneymate.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ValueDictionary - kode integer untuk nilai kategori, source & metode pembayaran
+ *
+ * Setiap nilai berbeda punya satu instance String kanonik dan satu kode int
+ * (kode dari tabel value_dictionary, unik lintas kind, mulai dari 1). Tabel
+ * dijaga lengkap oleh trigger di transactions, jadi saat load semua nilai
+ * sudah ada; nilai baru dari aplikasi didaftarkan ke tabel saat pertama
+ * dipakai. Filter case-insensitive memakai codesIgnoreCase() lalu cukup
+ * membandingkan int per baris.
+ *
+ * Jika database gagal ditulis, instance berlanjut dengan kode lokal (tidak
+ * disimpan) sampai restart; kode yang sudah tersimpan tidak berubah.
+ */
+public final class ValueDictionary {
+
+    public enum Kind { CATEGORY, SOURCE, PAYMENT_METHOD }
+
+    /**
+     * Kode untuk nilai null (tidak pernah dipakai oleh tabel)
+     */
+    public static final int NONE = 0;
+
+    /**
+     * Hasil lookup untuk nilai yang belum terdaftar
+     */
+    public static final int UNKNOWN = -1;
+
+    private static final int[] NO_CODES = new int[0];
+
+    private final Map<String, Integer>[] codes;
+    private final Map<String, int[]>[] folded; // value lowercase -> semua kode dengan ejaan berbeda
+    private volatile String[] values = new String[16]; // index = kode
+    private final ReentrantLock registerLock = new ReentrantLock();
+    private volatile int maxCode;
+    private boolean persistent;
+
+    /**
+     * Lazy holder: dictionary dimuat dari database saat pertama dipakai
+     */
+    private static final class Holder {
+        static final ValueDictionary INSTANCE = loadFromDatabase();
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private ValueDictionary(boolean persistent) {
+        int kinds = Kind.values().length;
+        this.codes = new Map[kinds];
+        this.folded = new Map[kinds];
+        for (int i = 0; i < kinds; i++) {
+            codes[i] = new ConcurrentHashMap<>();
+            folded[i] = new ConcurrentHashMap<>();
+        }
+        this.persistent = persistent;
+    }
+
+    /**
+     * Dictionary bersama yang disimpan di tabel value_dictionary
+     */
+    public static ValueDictionary getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Dictionary yang hanya ada di memory (tanpa database)
+     */
+    public static ValueDictionary inMemory() {
+        return new ValueDictionary(false);
+    }
+
+    private static ValueDictionary loadFromDatabase() {
+        ValueDictionary dictionary = new ValueDictionary(true);
+        try (Connection conn = DatabaseManager.getInstance().getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT code, kind, value FROM value_dictionary")) {
+            while (rs.next()) {
+                dictionary.put(Kind.valueOf(rs.getString(2)), rs.getString(3), rs.getInt(1));
+            }
+            System.out.println("✓ Loaded " + dictionary.size() + " dictionary values");
+        } catch (SQLException | IllegalArgumentException e) {
+            System.err.println("Failed to load value dictionary: " + e.getMessage());
+            dictionary.persistent = false;
+        }
+        return dictionary;
+    }
+
+    /**
+     * Instance String kanonik untuk value (didaftarkan jika baru); null tetap null
+     */
+    public String intern(Kind kind, String value) {
+        if (value == null) {
+            return null;
+        }
+        return values[code(kind, value)];
+    }
+
+    /**
+     * Kode untuk value (didaftarkan jika baru); NONE untuk null
+     */
+    public int code(Kind kind, String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer code = codes[kind.ordinal()].get(value);
+        return code != null ? code : register(kind, value);
+    }
+
+    /**
+     * Kode untuk value tanpa mendaftarkan; UNKNOWN jika belum pernah ada
+     */
+    public int lookup(Kind kind, String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer code = codes[kind.ordinal()].get(value);
+        return code != null ? code : UNKNOWN;
+    }
+
+    /**
+     * Semua kode yang nilainya sama dengan value tanpa memperhatikan huruf besar/kecil
+     */
+    public int[] codesIgnoreCase(Kind kind, String value) {
+        if (value == null) {
+            return NO_CODES;
+        }
+        return folded[kind.ordinal()].getOrDefault(fold(value), NO_CODES);
+    }
+
+    /**
+     * Nilai untuk kode; null untuk NONE
+     */
+    public String value(int code) {
+        return code == NONE ? null : values[code];
+    }
+
+    /**
+     * Kode terbesar yang sudah dipakai (untuk ukuran array per kode)
+     */
+    public int maxCode() {
+        return maxCode;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<String, Integer> map : codes) {
+            size += map.size();
+        }
+        return size;
+    }
+
+    private int register(Kind kind, String value) {
+        // ReentrantLock, bukan synchronized: I/O database di dalamnya tidak mem-pin virtual thread
+        registerLock.lock();
+        try {
+            Integer existing = codes[kind.ordinal()].get(value);
+            if (existing != null) {
+                return existing;
+            }
+            int code = persistent ? persist(kind, value) : UNKNOWN;
+            if (code == UNKNOWN) {
+                code = maxCode + 1;
+            }
+            put(kind, value, code);
+            return code;
+        } finally {
+            registerLock.unlock();
+        }
+    }
+
+    /**
+     * Simpan value ke tabel dan kembalikan kodenya; UNKNOWN jika gagal
+     */
+    private int persist(Kind kind, String value) {
+        try (Connection conn = DatabaseManager.getInstance().getWriteConnection()) {
+            try (PreparedStatement insert = conn.prepareStatement(
+                    "INSERT OR IGNORE INTO value_dictionary (kind, value) VALUES (?, ?)")) {
+                insert.setString(1, kind.name());
+                insert.setString(2, value);
+                insert.executeUpdate();
+            }
+            try (PreparedStatement select = conn.prepareStatement(
+                    "SELECT code FROM value_dictionary WHERE kind = ? AND value = ?")) {
+                select.setString(1, kind.name());
+                select.setString(2, value);
+                ResultSet rs = select.executeQuery();
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Failed to save dictionary value, using in-memory codes: " + e.getMessage());
+        }
+        persistent = false;
+        return UNKNOWN;
+    }
+
+    private void put(Kind kind, String value, int code) {
+        String[] current = values;
+        if (code >= current.length) {
+            current = Arrays.copyOf(current, Math.max(code + 1, current.length * 2));
+        }
+        current[code] = value;
+        values = current; // publish array sebelum kode terlihat di map
+        maxCode = Math.max(maxCode, code);
+
+        folded[kind.ordinal()].merge(fold(value), new int[] { code }, (a, b) -> {
+            int[] merged = Arrays.copyOf(a, a.length + 1);
+            merged[a.length] = b[0];
+            return merged;
+        });
+        codes[kind.ordinal()].put(value, code);
+    }
+
+    private static String fold(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,216 @@
+package moneymate.database;
+
+import moneymate.model.Transaction;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * WriteBehindLog - file append-only untuk perubahan yang belum masuk SQLite
+ *
+ * Format per record: [panjang payload (int)][CRC32 payload (int)][payload].
+ * Record yang terpotong atau CRC-nya salah (crash di tengah append) dianggap
+ * ekor rusak dan dibuang saat dibaca ulang. Setelah semua record masuk
+ * SQLite, file dikosongkan lagi.
+ *
+ * File dikunci eksklusif selama terbuka; jika sudah dikunci proses lain,
+ * constructor melempar LockedException tanpa membaca atau mengubah isinya.
+ */
+final class WriteBehindLog implements AutoCloseable {
+
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+
+    /**
+     * Log sedang dipakai proses lain (atau DAO lain di proses ini)
+     */
+    static final class LockedException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        LockedException(Path path) {
+            super("Write-behind log is locked: " + path);
+        }
+    }
+
+    private final Path path;
+    private final FileChannel channel;
+    private final FileLock lock;
+
+    WriteBehindLog(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileLock acquired;
+        try {
+            acquired = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            acquired = null;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        if (acquired == null) {
+            channel.close();
+            throw new LockedException(path);
+        }
+        this.lock = acquired;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    long size() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * Baca semua record utuh dari awal file; ekor yang rusak dipotong
+     */
+    List<TransactionMutation> readAll() throws IOException {
+        List<TransactionMutation> mutations = new ArrayList<>();
+        long validBytes = 0;
+
+        channel.position(0);
+        InputStream stream = new BufferedInputStream(Channels.newInputStream(channel), 64 * 1024);
+        DataInputStream in = new DataInputStream(stream);
+        CRC32 crc = new CRC32();
+        try {
+            while (true) {
+                int length = in.readInt();
+                int checksum = in.readInt();
+                if (length <= 0 || length > MAX_RECORD_BYTES) {
+                    break;
+                }
+                byte[] payload = in.readNBytes(length);
+                if (payload.length < length) {
+                    break;
+                }
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                mutations.add(decode(payload));
+                validBytes += HEADER_BYTES + length;
+            }
+        } catch (EOFException e) {
+            // Akhir file
+        }
+
+        if (validBytes < channel.size()) {
+            System.err.println("Write-behind log: discarding " + (channel.size() - validBytes)
+                + " bytes of incomplete records");
+            channel.truncate(validBytes);
+        }
+        channel.position(channel.size());
+        return mutations;
+    }
+
+    /**
+     * Tulis record di akhir file (belum di-fsync); gagal = tidak ada yang tertulis
+     */
+    void append(List<TransactionMutation> mutations) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(mutations.size() * 128);
+        CRC32 crc = new CRC32();
+        for (TransactionMutation mutation : mutations) {
+            byte[] payload = encode(mutation);
+            crc.reset();
+            crc.update(payload);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(payload.length)
+                .putInt((int) crc.getValue());
+            bytes.write(header.array());
+            bytes.write(payload);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        long start = channel.position();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            // Buang record setengah jadi supaya append berikutnya tidak tertulis setelah sampah
+            channel.truncate(start);
+            channel.position(start);
+            throw e;
+        }
+    }
+
+    /**
+     * fsync isi file ke disk
+     */
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * Kosongkan log (semua record sudah masuk SQLite)
+     */
+    void truncate() throws IOException {
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            lock.release();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private static byte[] encode(TransactionMutation mutation) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(mutation.getSeq());
+        out.writeByte(mutation.getOp().ordinal());
+
+        switch (mutation.getOp()) {
+            case INSERT, UPDATE -> TransactionCodec.write(out, mutation.getTransaction());
+            case DELETE -> out.writeUTF(mutation.getTransactionId());
+            case DELETE_ALL -> { }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static TransactionMutation decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        long seq = in.readLong();
+        TransactionMutation.Op op = TransactionMutation.Op.values()[in.readByte()];
+
+        switch (op) {
+            case INSERT, UPDATE -> {
+                Transaction transaction = TransactionCodec.read(in);
+                return op == TransactionMutation.Op.INSERT
+                    ? TransactionMutation.insert(seq, transaction)
+                    : TransactionMutation.update(seq, transaction);
+            }
+            case DELETE -> {
+                return TransactionMutation.delete(seq, in.readUTF());
+            }
+            default -> {
+                return TransactionMutation.deleteAll(seq);
+            }
+        }
+    }
+}
@@ -0,0 +1,678 @@
+package moneymate.database;
+
+import moneymate.model.Transaction;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * WriteBehindTransactionDAO - TransactionDAO dengan write-behind + group commit
+ *
+ * Perubahan ditulis dulu ke WriteBehindLog (file append-only lokal) lalu
+ * dianggap berhasil; satu background writer memindahkannya ke SQLite dalam
+ * transaksi berkelompok (sampai GROUP_SIZE perubahan per commit). Posisi log
+ * yang sudah diterapkan disimpan di tabel write_behind_state dalam transaksi
+ * yang sama, jadi setelah crash log di-replay tepat dari posisi itu.
+ *
+ * Query baca menunggu sampai perubahan yang sudah diterima masuk SQLite,
+ * jadi hasilnya tetap konsisten dengan tulisan sebelumnya.
+ *
+ * Jika satu perubahan tetap gagal diterapkan, writer berhenti di situ:
+ * perubahan itu dan sesudahnya tetap di log (di-replay saat start
+ * berikutnya), dan write/awaitDurable/query baca berikutnya gagal.
+ *
+ * Log dikunci (FileChannel.tryLock) selama DAO terbuka; proses lain yang
+ * memakai direktori yang sama tidak me-replay atau menulis ke log itu.
+ *
+ * OOP Concepts:
+ * - Decorator Pattern: membungkus TransactionDAOImpl dengan interface yang sama
+ */
+public class WriteBehindTransactionDAO implements TransactionDAO, AutoCloseable {
+
+    /**
+     * Kapan perubahan dianggap tahan crash (sebelum request dibalas)
+     */
+    public enum Durability {
+        /** fsync log di setiap request */
+        REQUEST,
+        /** fsync log dipakai bersama request yang datang bersamaan (group commit) */
+        GROUP,
+        /** hanya write ke log; fsync berkala (crash OS bisa kehilangan <= satu interval) */
+        PERIODIC
+    }
+
+    public static final String MODE_PROPERTY = "moneymate.writeBehind";
+
+    private static final String LOG_PATH = System.getProperty("moneymate.writeBehind.log", "moneymate.wbl");
+    private static final int GROUP_SIZE = Integer.getInteger("moneymate.writeBehind.groupSize", 1000);
+    private static final int MAX_PENDING = Integer.getInteger("moneymate.writeBehind.maxPending", 100_000);
+    private static final long SYNC_INTERVAL_MS = Long.getLong("moneymate.writeBehind.syncIntervalMs", 1000);
+    private static final long TRUNCATE_BYTES = 4L << 20;
+    private static final long APPLY_TIMEOUT_MS = 30_000;
+    private static final long RETRY_DELAY_MS = 500;
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final TransactionDAOImpl delegate;
+    private final DatabaseManager databaseManager;
+    private final WriteBehindLog log;
+    private final Durability durability;
+
+    private final BlockingQueue<TransactionMutation> queue;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final ReentrantLock appliedLock = new ReentrantLock();
+    private final Condition appliedChanged = appliedLock.newCondition();
+
+    private long nextSeq;              // dijaga appendLock
+    private volatile long writtenSeq;  // record terakhir yang sudah ditulis ke log
+    private volatile long syncedSeq;   // record terakhir yang sudah di-fsync
+    private volatile long appliedSeq;  // record terakhir yang sudah di-commit ke SQLite
+    private volatile boolean closed;
+    private volatile SQLException failure; // writer berhenti; null selama sehat
+
+    private final Thread writer;
+    private final ScheduledExecutorService syncer;
+
+    public WriteBehindTransactionDAO(TransactionDAOImpl delegate, Path logPath, Durability durability)
+            throws IOException, SQLException {
+        this.delegate = delegate;
+        this.databaseManager = DatabaseManager.getInstance();
+        this.durability = durability;
+        this.queue = new LinkedBlockingQueue<>(MAX_PENDING);
+        this.log = new WriteBehindLog(logPath);
+
+        try {
+            recover();
+        } catch (IOException | SQLException e) {
+            log.close();
+            throw e;
+        }
+
+        this.writer = new Thread(this::runWriter, "moneymate-write-behind");
+        this.writer.setDaemon(true);
+        this.writer.start();
+
+        if (durability == Durability.PERIODIC) {
+            this.syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "moneymate-write-behind-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            syncer.scheduleAtFixedRate(this::periodicSync, SYNC_INTERVAL_MS, SYNC_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        } else {
+            this.syncer = null;
+        }
+    }
+
+    /**
+     * Bungkus DAO sesuai -Dmoneymate.writeBehind=REQUEST|GROUP|PERIODIC.
+     * Tanpa property, delegate dipakai langsung, tapi log sisa dari run
+     * sebelumnya tetap di-replay dulu supaya tidak ada perubahan yang hilang.
+     */
+    public static TransactionDAO wrapIfEnabled(TransactionDAOImpl delegate) {
+        String mode = System.getProperty(MODE_PROPERTY);
+        Path logPath = Path.of(LOG_PATH);
+        try {
+            if (mode == null || mode.isBlank()) {
+                if (Files.size(logPath) > 0) {
+                    new WriteBehindTransactionDAO(delegate, logPath, Durability.REQUEST).close();
+                }
+                return delegate;
+            }
+            Durability durability = Durability.valueOf(mode.trim().toUpperCase());
+            WriteBehindTransactionDAO dao = new WriteBehindTransactionDAO(delegate, logPath, durability);
+            System.out.println("✓ Write-behind enabled (durability " + durability + ", log " + logPath + ")");
+            return dao;
+        } catch (NoSuchFileException e) {
+            return delegate;
+        } catch (WriteBehindLog.LockedException e) {
+            // Proses lain (mis. server dengan write-behind) sedang memakai log: jangan replay/truncate
+            System.err.println("Write-behind log " + logPath + " is in use by another process"
+                + (mode == null || mode.isBlank() ? ", not replaying it" : ", writing directly to the database"));
+            return delegate;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown write-behind mode '" + mode + "', writing directly to the database");
+            return delegate;
+        } catch (SQLException e) {
+            // Replay gagal: sisihkan log supaya tidak di-replay nanti di atas data yang lebih baru
+            System.err.println("Write-behind log replay failed, writing directly to the database: " + e.getMessage());
+            setAside(logPath);
+            return delegate;
+        } catch (IOException e) {
+            System.err.println("Write-behind unavailable, writing directly to the database: " + e.getMessage());
+            return delegate;
+        }
+    }
+
+    private static void setAside(Path logPath) {
+        Path target = logPath.resolveSibling(logPath.getFileName() + ".failed-" + System.currentTimeMillis());
+        try {
+            Files.move(logPath, target);
+            System.err.println("Unapplied write-behind log kept at " + target);
+        } catch (IOException e) {
+            System.err.println("Failed to move write-behind log aside: " + e.getMessage());
+        }
+    }
+
+    public Durability getDurability() {
+        return durability;
+    }
+
+    /**
+     * Jumlah perubahan yang belum masuk SQLite
+     */
+    public long getPendingCount() {
+        return writtenSeq - appliedSeq;
+    }
+
+    /**
+     * False jika background writer berhenti karena perubahan gagal diterapkan
+     */
+    public boolean isHealthy() {
+        return failure == null;
+    }
+
+    private void checkHealthy() throws SQLException {
+        SQLException cause = failure;
+        if (cause != null) {
+            throw new SQLException("Write-behind writer stopped: " + cause.getMessage(), cause);
+        }
+    }
+
+    // ===== Write: append ke log + antrean =====
+
+    @Override
+    public void save(Transaction transaction) throws SQLException {
+        submit(List.of(TransactionMutation.insert(0, transaction)));
+    }
+
+    @Override
+    public void saveAll(Collection<? extends Transaction> transactions) throws SQLException {
+        List<TransactionMutation> mutations = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            mutations.add(TransactionMutation.insert(0, transaction));
+        }
+        submit(mutations);
+    }
+
+    @Override
+    public void update(Transaction transaction) throws SQLException {
+        submit(List.of(TransactionMutation.update(0, transaction)));
+    }
+
+    @Override
+    public void updateAll(Collection<? extends Transaction> transactions) throws SQLException {
+        List<TransactionMutation> mutations = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            mutations.add(TransactionMutation.update(0, transaction));
+        }
+        submit(mutations);
+    }
+
+    @Override
+    public void delete(String transactionId) throws SQLException {
+        submit(List.of(TransactionMutation.delete(0, transactionId)));
+    }
+
+    @Override
+    public void deleteAll() throws SQLException {
+        submit(List.of(TransactionMutation.deleteAll(0)));
+    }
+
+    /**
+     * Beri nomor urut, tulis ke log, lalu masukkan ke antrean writer.
+     * Antrean penuh = pemanggil menunggu (backpressure).
+     */
+    private void submit(List<TransactionMutation> unsequenced) throws SQLException {
+        if (unsequenced.isEmpty()) {
+            return;
+        }
+        if (closed) {
+            throw new SQLException("Write-behind queue is closed");
+        }
+        checkHealthy();
+
+        List<TransactionMutation> mutations = new ArrayList<>(unsequenced.size());
+        appendLock.lock();
+        try {
+            long seq = nextSeq;
+            for (TransactionMutation mutation : unsequenced) {
+                mutations.add(mutation.withSeq(++seq));
+            }
+            log.append(mutations);
+            nextSeq = seq;
+            writtenSeq = seq;
+            if (durability == Durability.REQUEST) {
+                log.force();
+                syncedSeq = seq;
+            }
+            enqueue(mutations);
+        } catch (IOException e) {
+            throw new SQLException("Failed to append to write-behind log: " + e.getMessage(), e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // Sudah ada di log, jadi harus masuk antrean walaupun thread di-interrupt
+    private void enqueue(List<TransactionMutation> mutations) {
+        boolean interrupted = false;
+        for (TransactionMutation mutation : mutations) {
+            while (true) {
+                try {
+                    queue.put(mutation);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * GROUP: satu fsync menutup semua record yang sudah ditulis, jadi request
+     * yang menunggu bersamaan cukup berbagi satu fsync
+     */
+    @Override
+    public void awaitDurable() throws SQLException {
+        checkHealthy();
+        if (durability != Durability.GROUP) {
+            return;
+        }
+        long target = writtenSeq;
+        if (syncedSeq >= target) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (syncedSeq < target) {
+                sync();
+            }
+        } catch (IOException e) {
+            throw new SQLException("Failed to sync write-behind log: " + e.getMessage(), e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void periodicSync() {
+        syncLock.lock();
+        try {
+            if (syncedSeq < writtenSeq) {
+                sync();
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to sync write-behind log: " + e.getMessage());
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    // Pemanggil memegang syncLock
+    private void sync() throws IOException {
+        long covered = writtenSeq;
+        log.force();
+        syncedSeq = Math.max(syncedSeq, covered);
+    }
+
+    // ===== Read: tunggu antrean, lalu baca dari SQLite =====
+
+    @Override
+    public Transaction findById(String transactionId) throws SQLException {
+        awaitApplied();
+        return delegate.findById(transactionId);
+    }
+
+    @Override
+    public List<Transaction> findAll() throws SQLException {
+        awaitApplied();
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Transaction> findByType(String type) throws SQLException {
+        awaitApplied();
+        return delegate.findByType(type);
+    }
+
+    @Override
+    public List<Transaction> findByDate(LocalDate date) throws SQLException {
+        awaitApplied();
+        return delegate.findByDate(date);
+    }
+
+    @Override
+    public List<Transaction> findByMonth(YearMonth month) throws SQLException {
+        awaitApplied();
+        return delegate.findByMonth(month);
+    }
+
+    @Override
+    public List<Transaction> findByDateRange(LocalDate from, LocalDate to) throws SQLException {
+        awaitApplied();
+        return delegate.findByDateRange(from, to);
+    }
+
+    @Override
+    public TransactionPage findPage(TransactionQuery query) throws SQLException {
+        awaitApplied();
+        return delegate.findPage(query);
+    }
+
+    @Override
+    public String findMaxTransactionId(int idLength) throws SQLException {
+        awaitApplied();
+        return delegate.findMaxTransactionId(idLength);
+    }
+
+    @Override
+    public int claimIdNode(int nodeCount) throws SQLException {
+        return delegate.claimIdNode(nodeCount);
+    }
+
+    @Override
+    public List<TransactionSearchHit> search(String text, int limit) throws SQLException {
+        awaitApplied();
+        return delegate.search(text, limit);
+    }
+
+    @Override
+    public List<MonthlyRollupCell> findRollupCellsBefore(YearMonth month) throws SQLException {
+        awaitApplied();
+        return delegate.findRollupCellsBefore(month);
+    }
+
+    @Override
+    public void scanAll(RowVisitor visitor) throws SQLException {
+        awaitApplied();
+        delegate.scanAll(visitor);
+    }
+
+    @Override
+    public void scanColumnsBefore(LocalDate date, ColumnVisitor visitor) throws SQLException {
+        awaitApplied();
+        delegate.scanColumnsBefore(date, visitor);
+    }
+
+    @Override
+    public long getChangeCount() throws SQLException {
+        awaitApplied();
+        return delegate.getChangeCount();
+    }
+
+    /**
+     * Tunggu sampai semua perubahan yang sudah diterima sampai saat ini masuk SQLite
+     */
+    public void awaitApplied() throws SQLException {
+        long target = writtenSeq;
+        if (appliedSeq >= target) {
+            return;
+        }
+        long remaining = TimeUnit.MILLISECONDS.toNanos(APPLY_TIMEOUT_MS);
+        appliedLock.lock();
+        try {
+            while (appliedSeq < target) {
+                checkHealthy();
+                if (remaining <= 0) {
+                    throw new SQLException("Timed out waiting for the write-behind queue ("
+                        + getPendingCount() + " pending)");
+                }
+                remaining = appliedChanged.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the write-behind queue", e);
+        } finally {
+            appliedLock.unlock();
+        }
+    }
+
+    // ===== Background writer =====
+
+    private void runWriter() {
+        List<TransactionMutation> group = new ArrayList<>(GROUP_SIZE);
+        while (!(closed && queue.isEmpty())) {
+            try {
+                TransactionMutation first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    group.add(first);
+                    queue.drainTo(group, GROUP_SIZE - 1);
+                    if (!applyWithRetry(group)) {
+                        return;
+                    }
+                    group.clear();
+                }
+                truncateIfDrained(false);
+            } catch (InterruptedException e) {
+                if (closed) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Error sementara (mis. database dikunci proses lain) dicoba ulang. Jika
+     * grup tetap gagal, perubahan diterapkan satu per satu sampai perubahan
+     * yang bermasalah; di situ writer berhenti (applied_seq tidak pernah
+     * melewati perubahan yang belum diterapkan).
+     *
+     * @return false jika writer harus berhenti
+     */
+    private boolean applyWithRetry(List<TransactionMutation> group) throws InterruptedException {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                applyGroup(group);
+                return true;
+            } catch (SQLException e) {
+                System.err.println("Write-behind commit failed (attempt " + attempt + "): " + e.getMessage());
+                Thread.sleep(RETRY_DELAY_MS);
+            }
+        }
+
+        for (TransactionMutation mutation : group) {
+            try {
+                applyGroup(List.of(mutation));
+            } catch (SQLException e) {
+                System.err.println("✗ Write-behind stopped at " + mutation.getOp() + " "
+                    + mutation.getTransactionId() + " (seq " + mutation.getSeq() + "): " + e.getMessage()
+                    + "; " + (writtenSeq - appliedSeq) + " changes kept in " + log.getPath()
+                    + " for replay on next start");
+                fail(e);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Satu transaksi SQLite untuk seluruh grup, termasuk posisi log yang
+     * diterapkan. synchronous=FULL supaya commit sudah di disk sebelum log
+     * boleh dikosongkan (satu fsync per grup, bukan per transaksi).
+     */
+    private void applyGroup(List<TransactionMutation> group) throws SQLException {
+        long lastSeq = group.get(group.size() - 1).getSeq();
+        try (Connection conn = databaseManager.getWriteConnection()) {
+            setSynchronous(conn, "FULL");
+            try {
+                conn.setAutoCommit(false);
+                try {
+                    delegate.applyAll(conn, group);
+                    writeAppliedSeq(conn, lastSeq);
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(true);
+                }
+            } finally {
+                setSynchronous(conn, "NORMAL");
+            }
+        }
+        markApplied(lastSeq);
+    }
+
+    // Bangunkan pembaca yang menunggu di awaitApplied supaya langsung gagal
+    private void fail(SQLException cause) {
+        appliedLock.lock();
+        try {
+            failure = cause;
+            appliedChanged.signalAll();
+        } finally {
+            appliedLock.unlock();
+        }
+    }
+
+    private void markApplied(long seq) {
+        appliedLock.lock();
+        try {
+            appliedSeq = Math.max(appliedSeq, seq);
+            appliedChanged.signalAll();
+        } finally {
+            appliedLock.unlock();
+        }
+    }
+
+    /**
+     * Kosongkan log jika semua record sudah diterapkan. Saat berjalan hanya
+     * dilakukan jika log sudah besar; record yang sudah diterapkan tetap aman
+     * di log karena replay melewati seq <= applied_seq.
+     */
+    private void truncateIfDrained(boolean force) {
+        try {
+            if (!force && log.size() < TRUNCATE_BYTES) {
+                return;
+            }
+            // tryLock: appender yang sedang menunggu antrean penuh memegang appendLock
+            if (!appendLock.tryLock()) {
+                return;
+            }
+            try {
+                if (appliedSeq == writtenSeq) {
+                    log.truncate();
+                }
+            } finally {
+                appendLock.unlock();
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to truncate write-behind log: " + e.getMessage());
+        }
+    }
+
+    // ===== Recovery =====
+
+    /**
+     * Replay record log yang belum ada di SQLite (setelah crash / shutdown kasar)
+     */
+    private void recover() throws IOException, SQLException {
+        long applied = readAppliedSeq();
+        List<TransactionMutation> logged = log.readAll();
+
+        List<TransactionMutation> pending = new ArrayList<>();
+        long lastSeq = applied;
+        for (TransactionMutation mutation : logged) {
+            lastSeq = Math.max(lastSeq, mutation.getSeq());
+            if (mutation.getSeq() > applied) {
+                pending.add(mutation);
+            }
+        }
+
+        for (int from = 0; from < pending.size(); from += GROUP_SIZE) {
+            applyGroup(pending.subList(from, Math.min(pending.size(), from + GROUP_SIZE)));
+        }
+        if (!pending.isEmpty()) {
+            System.out.println("✓ Write-behind log replayed: " + pending.size() + " pending changes");
+        }
+
+        nextSeq = lastSeq;
+        writtenSeq = lastSeq;
+        syncedSeq = lastSeq;
+        appliedSeq = lastSeq;
+        log.truncate();
+    }
+
+    private long readAppliedSeq() throws SQLException {
+        try (Connection conn = databaseManager.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT applied_seq FROM write_behind_state WHERE id = 1")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    private static void writeAppliedSeq(Connection conn, long seq) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "UPDATE write_behind_state SET applied_seq = MAX(applied_seq, ?) WHERE id = 1")) {
+            pstmt.setLong(1, seq);
+            pstmt.executeUpdate();
+        }
+    }
+
+    private static void setSynchronous(Connection conn, String level) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA synchronous = " + level);
+        }
+    }
+
+    /**
+     * Tunggu antrean kosong, hentikan writer, lalu kosongkan log
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            awaitApplied();
+        } catch (SQLException e) {
+            System.err.println("Write-behind queue not fully flushed: " + e.getMessage());
+        }
+
+        // Tanpa interrupt: interrupt di tengah operasi FileChannel (size/truncate/force)
+        // menutup channel log. Writer berhenti sendiri setelah antrean kosong (poll 100 ms)
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+            if (syncer != null) {
+                syncer.shutdown();
+                syncer.awaitTermination(5, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            truncateIfDrained(true);
+            log.force();
+            log.close();
+            if (failure == null) {
+                System.out.println("✓ Write-behind queue flushed");
+            } else {
+                System.err.println("Write-behind log kept with " + getPendingCount() + " unapplied changes");
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to close write-behind log: " + e.getMessage());
+        }
+    }
+}
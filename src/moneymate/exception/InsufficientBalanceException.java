@@ -1,26 +1,28 @@
 package moneymate.exception;
 
+import moneymate.model.Money;
+
 /**
  * Exception yang dilempar ketika saldo tidak mencukupi
  * untuk melakukan transaksi pengeluaran
  */
 public class InsufficientBalanceException extends Exception {
     
-    private double currentBalance;
-    private double requestedAmount;
+    private Money currentBalance;
+    private Money requestedAmount;
     
-    public InsufficientBalanceException(double currentBalance, double requestedAmount) {
+    public InsufficientBalanceException(Money currentBalance, Money requestedAmount) {
         super(String.format("Saldo tidak mencukupi! Saldo saat ini: Rp %.2f, Jumlah yang diminta: Rp %.2f", 
-                          currentBalance, requestedAmount));
+                          currentBalance.toBigDecimal(), requestedAmount.toBigDecimal()));
         this.currentBalance = currentBalance;
         this.requestedAmount = requestedAmount;
     }
     
-    public double getCurrentBalance() {
+    public Money getCurrentBalance() {
         return currentBalance;
     }
     
-    public double getRequestedAmount() {
+    public Money getRequestedAmount() {
         return requestedAmount;
     }
 }
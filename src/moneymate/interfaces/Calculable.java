@@ -1,6 +1,7 @@
 package moneymate.interfaces;
 
 import java.util.List;
+import moneymate.model.Money;
 import moneymate.model.Transaction;
 
 /**
@@ -12,19 +13,19 @@ public interface Calculable {
      * Menghitung total saldo dari semua transaksi
      * @return total saldo (pemasukan - pengeluaran)
      */
-    double calculateTotalBalance();
+    Money calculateTotalBalance();
     
     /**
      * Menghitung total pemasukan
      * @return total pemasukan
      */
-    double calculateTotalIncome();
+    Money calculateTotalIncome();
     
     /**
      * Menghitung total pengeluaran
      * @return total pengeluaran
      */
-    double calculateTotalExpense();
+    Money calculateTotalExpense();
     
     /**
      * Mendapatkan daftar transaksi untuk perhitungan
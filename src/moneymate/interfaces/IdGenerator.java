@@ -0,0 +1,24 @@
+package moneymate.interfaces;
+
+/**
+ * Interface untuk generator ID transaksi
+ *
+ * Implementasi harus thread-safe: nextId() bisa dipanggil bersamaan
+ * dari banyak request thread.
+ */
+public interface IdGenerator {
+
+    /**
+     * Membuat ID baru yang unik
+     * @return ID transaksi
+     */
+    String nextId();
+
+    /**
+     * Memberitahu generator ID yang sudah ada (misalnya ID terbesar di database),
+     * supaya ID berikutnya tidak bentrok. Default: diabaikan.
+     * @param existingId ID yang sudah dipakai (boleh null)
+     */
+    default void observe(String existingId) {
+    }
+}
@@ -0,0 +1,18 @@
+package moneymate.interfaces;
+
+import moneymate.model.TransactionEvent;
+
+/**
+ * Interface untuk menerima perubahan data dari TransactionManager
+ *
+ * Dipanggil berurutan sesuai versi, di dalam write lock TransactionManager,
+ * jadi implementasi harus cepat dan tidak boleh blocking (cukup antre-kan event).
+ */
+public interface TransactionListener {
+
+    /**
+     * Dipanggil setelah setiap perubahan data
+     * @param event perubahan yang terjadi
+     */
+    void onTransactionEvent(TransactionEvent event);
+}
@@ -0,0 +1,131 @@
+package moneymate.model;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Class AnalyticsReport - time series / breakdown untuk rentang beberapa bulan
+ *
+ * Satu response berisi seluruh series (per bulan, kategori, atau metode
+ * pembayaran) plus total periode, dan opsional perbandingan year-over-year
+ * dengan periode yang sama tahun sebelumnya.
+ */
+public class AnalyticsReport {
+
+    public enum GroupBy {
+        MONTH, CATEGORY, PAYMENT_METHOD;
+
+        /**
+         * Parse nilai query parameter (month | category | paymentMethod)
+         */
+        public static GroupBy parse(String value) {
+            if (value == null || value.isBlank()) {
+                return MONTH;
+            }
+            switch (value.trim().toLowerCase(Locale.ROOT)) {
+                case "month":
+                    return MONTH;
+                case "category":
+                    return CATEGORY;
+                case "paymentmethod":
+                case "payment_method":
+                    return PAYMENT_METHOD;
+                default:
+                    throw new IllegalArgumentException("Unknown groupBy: " + value);
+            }
+        }
+    }
+
+    private final YearMonth from;
+    private final YearMonth to;
+    private final GroupBy groupBy;
+    private final boolean yearOverYear;
+    private final List<Point> series;
+    private final Point totals;
+
+    public AnalyticsReport(YearMonth from, YearMonth to, GroupBy groupBy, boolean yearOverYear,
+                           List<Point> series, Point totals) {
+        this.from = from;
+        this.to = to;
+        this.groupBy = groupBy;
+        this.yearOverYear = yearOverYear;
+        this.series = List.copyOf(series);
+        this.totals = totals;
+    }
+
+    public String getFrom() {
+        return from.toString();
+    }
+
+    public String getTo() {
+        return to.toString();
+    }
+
+    public GroupBy getGroupBy() {
+        return groupBy;
+    }
+
+    public boolean isYearOverYear() {
+        return yearOverYear;
+    }
+
+    public List<Point> getSeries() {
+        return series;
+    }
+
+    public Point getTotals() {
+        return totals;
+    }
+
+    /**
+     * Satu titik data; jumlah disimpan dalam sen, getter mengembalikan Money
+     */
+    public static class Point {
+        private final String key;
+        private final long incomeMinor;
+        private final long expenseMinor;
+        private final long count;
+        private final Point previous; // periode tahun lalu (null jika YoY tidak diminta)
+
+        public Point(String key, long incomeMinor, long expenseMinor, long count, Point previous) {
+            this.key = key;
+            this.incomeMinor = incomeMinor;
+            this.expenseMinor = expenseMinor;
+            this.count = count;
+            this.previous = previous;
+        }
+
+        public String getKey() { return key; }
+        public Money getIncome() { return Money.ofMinor(incomeMinor); }
+        public Money getExpense() { return Money.ofMinor(expenseMinor); }
+        public Money getNet() { return Money.ofMinor(incomeMinor - expenseMinor); }
+        public long getCount() { return count; }
+
+        public Money getPreviousIncome() {
+            return previous == null ? null : previous.getIncome();
+        }
+
+        public Money getPreviousExpense() {
+            return previous == null ? null : previous.getExpense();
+        }
+
+        /**
+         * Perubahan pemasukan vs tahun lalu dalam persen (null jika tahun lalu 0)
+         */
+        public Double getIncomeChangePercent() {
+            return previous == null ? null : percentChange(previous.incomeMinor, incomeMinor);
+        }
+
+        /**
+         * Perubahan pengeluaran vs tahun lalu dalam persen (null jika tahun lalu 0)
+         */
+        public Double getExpenseChangePercent() {
+            return previous == null ? null : percentChange(previous.expenseMinor, expenseMinor);
+        }
+
+        private static Double percentChange(long before, long after) {
+            return before == 0 ? null : (after - before) * 100.0 / before;
+        }
+    }
+}
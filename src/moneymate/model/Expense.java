@@ -11,26 +11,41 @@ public class Expense extends Transaction {
     private String paymentMethod; // metode pembayaran (Cash, Debit, Credit, E-Wallet)
     private boolean isRecurring; // apakah pengeluaran berulang (tagihan bulanan, dll)
 
-    public Expense(double amount, String description, LocalDate date, String category,
+    public Expense(Money amount, String description, LocalDate date, String category,
                    String paymentMethod, boolean isRecurring) {
         super(amount, description, date, category);
         this.paymentMethod = paymentMethod;
         this.isRecurring = isRecurring;
     }
 
-    public Expense(double amount, String description, LocalDate date, String category) {
+    public Expense(Money amount, String description, LocalDate date, String category) {
         this(amount, description, date, category, "Cash", false);
     }
 
+    private Expense(String transactionId, Money amount, String description, LocalDate date,
+                    String category, String paymentMethod, boolean isRecurring) {
+        super(transactionId, amount, description, date, category);
+        this.paymentMethod = paymentMethod;
+        this.isRecurring = isRecurring;
+    }
+
+    /**
+     * Factory rehydration: buat Expense dengan ID yang sudah tersimpan
+     */
+    public static Expense restore(String transactionId, Money amount, String description, LocalDate date,
+                                  String category, String paymentMethod, boolean isRecurring) {
+        return new Expense(transactionId, amount, description, date, category, paymentMethod, isRecurring);
+    }
+
     // Legacy constructor for compatibility with old Category enum
     @Deprecated
-    public Expense(double amount, String description, LocalDate date, Category category,
+    public Expense(Money amount, String description, LocalDate date, Category category,
                    String paymentMethod, boolean isRecurring) {
         this(amount, description, date, category.getDisplayName(), paymentMethod, isRecurring);
     }
 
     @Deprecated
-    public Expense(double amount, String description, LocalDate date, Category category) {
+    public Expense(Money amount, String description, LocalDate date, Category category) {
         this(amount, description, date, category.getDisplayName(), "Cash", false);
     }
     
@@ -50,6 +65,11 @@ public class Expense extends Transaction {
         isRecurring = recurring;
     }
     
+    @Override
+    public Expense withTransactionId(String transactionId) {
+        return new Expense(transactionId, amount, description, date, category, paymentMethod, isRecurring);
+    }
+    
     @Override
     public String getTransactionType() {
         return "PENGELUARAN";
@@ -57,7 +77,7 @@ public class Expense extends Transaction {
     
     @Override
     public boolean isValid() {
-        return amount > 0 && description != null && !description.trim().isEmpty();
+        return amount != null && amount.isPositive() && description != null && !description.trim().isEmpty();
     }
     
     @Override
@@ -10,14 +10,28 @@ public class Income extends Transaction {
     
     private String source; // sumber pemasukan
 
-    public Income(double amount, String description, LocalDate date, String category, String source) {
+    public Income(Money amount, String description, LocalDate date, String category, String source) {
         super(amount, description, date, category);
         this.source = source;
     }
 
-    public Income(double amount, String description, LocalDate date, String category) {
+    public Income(Money amount, String description, LocalDate date, String category) {
         this(amount, description, date, category, "Tidak disebutkan");
     }
+
+    private Income(String transactionId, Money amount, String description, LocalDate date,
+                   String category, String source) {
+        super(transactionId, amount, description, date, category);
+        this.source = source;
+    }
+
+    /**
+     * Factory rehydration: buat Income dengan ID yang sudah tersimpan
+     */
+    public static Income restore(String transactionId, Money amount, String description, LocalDate date,
+                                 String category, String source) {
+        return new Income(transactionId, amount, description, date, category, source);
+    }
     
     public String getSource() {
         return source;
@@ -27,6 +41,11 @@ public class Income extends Transaction {
         this.source = source;
     }
     
+    @Override
+    public Income withTransactionId(String transactionId) {
+        return new Income(transactionId, amount, description, date, category, source);
+    }
+    
     @Override
     public String getTransactionType() {
         return "PEMASUKAN";
@@ -34,7 +53,7 @@ public class Income extends Transaction {
     
     @Override
     public boolean isValid() {
-        return amount > 0 && description != null && !description.trim().isEmpty();
+        return amount != null && amount.isPositive() && description != null && !description.trim().isEmpty();
     }
     
     @Override
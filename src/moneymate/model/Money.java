@@ -0,0 +1,130 @@
+package moneymate.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money - jumlah uang fixed-point (immutable)
+ *
+ * Disimpan sebagai long dalam satuan terkecil (sen, SCALE = 2 desimal),
+ * jadi penjumlahan selalu exact. Di JSON ditulis sebagai angka desimal
+ * biasa (mis. 15000.50); input JSON boleh angka atau string.
+ * Konversi dari double dibulatkan ke sen terdekat (HALF_UP).
+ */
+public final class Money implements Comparable<Money>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Jumlah digit desimal (sen)
+     */
+    public static final int SCALE = 2;
+    private static final long MINOR_PER_UNIT = 100;
+
+    public static final Money ZERO = new Money(0);
+
+    private final long minor;
+
+    private Money(long minor) {
+        this.minor = minor;
+    }
+
+    public static Money ofMinor(long minor) {
+        return minor == 0 ? ZERO : new Money(minor);
+    }
+
+    /**
+     * Dari BigDecimal, dibulatkan ke SCALE desimal
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static Money of(BigDecimal amount) {
+        return ofMinor(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Dari double (input lama / user); memakai representasi desimal terpendek
+     * dari double, jadi 0.1 menjadi tepat 10 sen
+     */
+    public static Money of(double amount) {
+        if (Double.isNaN(amount) || Double.isInfinite(amount)) {
+            throw new IllegalArgumentException("Invalid amount: " + amount);
+        }
+        return of(BigDecimal.valueOf(amount));
+    }
+
+    /**
+     * Parse teks angka ("15000", "15000.5"); NumberFormatException jika tidak valid
+     */
+    public static Money parse(String text) {
+        try {
+            return of(new BigDecimal(text.trim()));
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount out of range: " + text);
+        }
+    }
+
+    /**
+     * Jumlah dalam sen
+     */
+    public long getMinor() {
+        return minor;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    /**
+     * Untuk tampilan / API lama; tidak dipakai untuk perhitungan
+     */
+    public double toDouble() {
+        return minor / (double) MINOR_PER_UNIT;
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minor, other.minor));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minor, other.minor));
+    }
+
+    public boolean isPositive() {
+        return minor > 0;
+    }
+
+    public boolean isNegative() {
+        return minor < 0;
+    }
+
+    public boolean isLessThan(Money other) {
+        return minor < other.minor;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minor, other.minor);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && other.minor == minor;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minor);
+    }
+
+    /**
+     * Format desimal biasa, mis. "15000.50"
+     */
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
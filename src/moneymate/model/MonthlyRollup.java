@@ -0,0 +1,103 @@
+package moneymate.model;
+
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Class MonthlyRollup - ringkasan agregat satu bulan (immutable)
+ *
+ * Semua jumlah dalam sen (long). Dibuat dari rollup yang dijaga
+ * TransactionManager, jadi membaca ringkasan tidak perlu scan transaksi.
+ */
+public class MonthlyRollup {
+
+    private final YearMonth period;
+    private final long totalIncomeMinor;
+    private final long totalExpenseMinor;
+    private final int incomeCount;
+    private final int expenseCount;
+    private final Map<String, Long> incomeByCategory;
+    private final Map<String, Long> expenseByCategory;
+
+    public MonthlyRollup(YearMonth period, long totalIncomeMinor, long totalExpenseMinor,
+                         int incomeCount, int expenseCount,
+                         Map<String, Long> incomeByCategory, Map<String, Long> expenseByCategory) {
+        this.period = period;
+        this.totalIncomeMinor = totalIncomeMinor;
+        this.totalExpenseMinor = totalExpenseMinor;
+        this.incomeCount = incomeCount;
+        this.expenseCount = expenseCount;
+        this.incomeByCategory = Collections.unmodifiableMap(incomeByCategory);
+        this.expenseByCategory = Collections.unmodifiableMap(expenseByCategory);
+    }
+
+    /**
+     * Rollup kosong untuk bulan tanpa transaksi
+     */
+    public static MonthlyRollup empty(YearMonth period) {
+        return new MonthlyRollup(period, 0, 0, 0, 0, Map.of(), Map.of());
+    }
+
+    /**
+     * Hitung rollup dari daftar transaksi dalam satu pass
+     * (transaksi di luar periode diabaikan)
+     */
+    public static MonthlyRollup fromTransactions(YearMonth period, Collection<? extends Transaction> transactions) {
+        Map<String, Long> incomeByCategory = new HashMap<>();
+        Map<String, Long> expenseByCategory = new HashMap<>();
+        long totalIncome = 0;
+        long totalExpense = 0;
+        int incomeCount = 0;
+        int expenseCount = 0;
+
+        for (Transaction t : transactions) {
+            if (!YearMonth.from(t.getDate()).equals(period)) {
+                continue;
+            }
+            long minor = t.getAmount().getMinor();
+            if (t instanceof Income) {
+                incomeByCategory.merge(t.getCategory(), minor, Long::sum);
+                totalIncome += minor;
+                incomeCount++;
+            } else {
+                expenseByCategory.merge(t.getCategory(), minor, Long::sum);
+                totalExpense += minor;
+                expenseCount++;
+            }
+        }
+
+        return new MonthlyRollup(period, totalIncome, totalExpense, incomeCount, expenseCount,
+                                 incomeByCategory, expenseByCategory);
+    }
+
+    public YearMonth getPeriod() {
+        return period;
+    }
+
+    public long getTotalIncomeMinor() {
+        return totalIncomeMinor;
+    }
+
+    public long getTotalExpenseMinor() {
+        return totalExpenseMinor;
+    }
+
+    public int getIncomeCount() {
+        return incomeCount;
+    }
+
+    public int getExpenseCount() {
+        return expenseCount;
+    }
+
+    public Map<String, Long> getIncomeByCategory() {
+        return incomeByCategory;
+    }
+
+    public Map<String, Long> getExpenseByCategory() {
+        return expenseByCategory;
+    }
+}
@@ -6,25 +6,25 @@ package moneymate.model;
 public class RegularUser extends User {
     
     private String password;
-    private double initialBalance;
+    private Money initialBalance;
     
     public RegularUser(String userId, String username, String email, String password) {
         super(userId, username, email);
         this.password = password;
-        this.initialBalance = 0.0;
+        this.initialBalance = Money.ZERO;
     }
     
-    public RegularUser(String userId, String username, String email, String password, double initialBalance) {
+    public RegularUser(String userId, String username, String email, String password, Money initialBalance) {
         super(userId, username, email);
         this.password = password;
         this.initialBalance = initialBalance;
     }
     
-    public double getInitialBalance() {
+    public Money getInitialBalance() {
         return initialBalance;
     }
     
-    public void setInitialBalance(double initialBalance) {
+    public void setInitialBalance(Money initialBalance) {
         this.initialBalance = initialBalance;
     }
     
@@ -35,7 +35,7 @@ public class RegularUser extends User {
         System.out.println("Username : " + username);
         System.out.println("Email    : " + email);
         System.out.println("Terdaftar: " + createdAt);
-        System.out.println("Saldo Awal: Rp " + String.format("%.2f", initialBalance));
+        System.out.println("Saldo Awal: Rp " + String.format("%.2f", initialBalance.toBigDecimal()));
         System.out.println("========================");
     }
     
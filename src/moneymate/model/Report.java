@@ -1,97 +1,106 @@
 package moneymate.model;
 
-import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Class Report - untuk generate laporan keuangan
+ *
+ * Angka laporan dibaca dari MonthlyRollup (agregat per kategori), bukan
+ * dengan scan ulang daftar transaksi di setiap getter.
  */
 public class Report {
     
-    private List<Transaction> transactions;
+    private final Function<YearMonth, MonthlyRollup> rollupSource;
+    private final Function<YearMonth, List<Transaction>> transactionSource;
     private YearMonth reportPeriod; // periode laporan (bulan & tahun)
+    private MonthlyRollup rollup;
     
     public Report(List<Transaction> transactions, YearMonth reportPeriod) {
-        this.transactions = new ArrayList<>(transactions);
+        List<Transaction> copy = new ArrayList<>(transactions);
+        Function<YearMonth, List<Transaction>> byMonth = month -> copy.stream()
+            .filter(t -> YearMonth.from(t.getDate()).equals(month))
+            .collect(Collectors.toList());
+        this.transactionSource = byMonth;
+        this.rollupSource = month -> MonthlyRollup.fromTransactions(month, byMonth.apply(month));
         this.reportPeriod = reportPeriod;
+        this.rollup = rollupSource.apply(reportPeriod);
+    }
+
+    /**
+     * Report dari agregat yang sudah dihitung (mis. rollup TransactionManager)
+     * @param rollupSource ringkasan per bulan
+     * @param transactionSource daftar transaksi per bulan, hanya dipanggil oleh getTransactionsInPeriod()
+     */
+    public Report(Function<YearMonth, MonthlyRollup> rollupSource,
+                  Function<YearMonth, List<Transaction>> transactionSource,
+                  YearMonth reportPeriod) {
+        this.rollupSource = rollupSource;
+        this.transactionSource = transactionSource;
+        this.reportPeriod = reportPeriod;
+        this.rollup = rollupSource.apply(reportPeriod);
     }
     
     /**
      * Filter transaksi berdasarkan periode
      */
     public List<Transaction> getTransactionsInPeriod() {
-        return transactions.stream()
-            .filter(t -> {
-                YearMonth transactionMonth = YearMonth.from(t.getDate());
-                return transactionMonth.equals(reportPeriod);
-            })
-            .collect(Collectors.toList());
+        return transactionSource.apply(reportPeriod);
     }
     
     /**
      * Hitung total pemasukan dalam periode
      */
-    public double getTotalIncome() {
-        return getTransactionsInPeriod().stream()
-            .filter(t -> t instanceof Income)
-            .mapToDouble(Transaction::getAmount)
-            .sum();
+    public Money getTotalIncome() {
+        return Money.ofMinor(rollup.getTotalIncomeMinor());
     }
     
     /**
      * Hitung total pengeluaran dalam periode
      */
-    public double getTotalExpense() {
-        return getTransactionsInPeriod().stream()
-            .filter(t -> t instanceof Expense)
-            .mapToDouble(Transaction::getAmount)
-            .sum();
+    public Money getTotalExpense() {
+        return Money.ofMinor(rollup.getTotalExpenseMinor());
     }
     
     /**
      * Hitung saldo dalam periode
      */
-    public double getBalance() {
-        return getTotalIncome() - getTotalExpense();
+    public Money getBalance() {
+        return Money.ofMinor(rollup.getTotalIncomeMinor() - rollup.getTotalExpenseMinor());
     }
     
     /**
      * Get pengeluaran berdasarkan kategori
      */
-    public Map<String, Double> getExpenseByCategory() {
-        Map<String, Double> categoryMap = new HashMap<>();
-
-        getTransactionsInPeriod().stream()
-            .filter(t -> t instanceof Expense)
-            .forEach(t -> {
-                String cat = t.getCategory();
-                categoryMap.put(cat, categoryMap.getOrDefault(cat, 0.0) + t.getAmount());
-            });
-
-        return categoryMap;
+    public Map<String, Money> getExpenseByCategory() {
+        return toAmounts(rollup.getExpenseByCategory());
     }
 
     /**
      * Get pemasukan berdasarkan kategori
      */
-    public Map<String, Double> getIncomeByCategory() {
-        Map<String, Double> categoryMap = new HashMap<>();
-
-        getTransactionsInPeriod().stream()
-            .filter(t -> t instanceof Income)
-            .forEach(t -> {
-                String cat = t.getCategory();
-                categoryMap.put(cat, categoryMap.getOrDefault(cat, 0.0) + t.getAmount());
-            });
+    public Map<String, Money> getIncomeByCategory() {
+        return toAmounts(rollup.getIncomeByCategory());
+    }
 
+    private Map<String, Money> toAmounts(Map<String, Long> minorByCategory) {
+        Map<String, Money> categoryMap = new HashMap<>();
+        minorByCategory.forEach((cat, minor) -> categoryMap.put(cat, Money.ofMinor(minor)));
         return categoryMap;
     }
+
+    /**
+     * Ringkasan agregat periode laporan
+     */
+    public MonthlyRollup getRollup() {
+        return rollup;
+    }
     
     /**
      * Generate summary report
@@ -105,31 +114,33 @@ public class Report {
         sb.append("========================================\n");
         sb.append("Periode: ").append(reportPeriod.format(formatter)).append("\n");
         sb.append("----------------------------------------\n");
-        sb.append(String.format("Total Pemasukan  : Rp %,15.2f\n", getTotalIncome()));
-        sb.append(String.format("Total Pengeluaran: Rp %,15.2f\n", getTotalExpense()));
+        sb.append(String.format("Total Pemasukan  : Rp %,15.2f\n", getTotalIncome().toBigDecimal()));
+        sb.append(String.format("Total Pengeluaran: Rp %,15.2f\n", getTotalExpense().toBigDecimal()));
         sb.append("----------------------------------------\n");
-        sb.append(String.format("SALDO            : Rp %,15.2f\n", getBalance()));
+        sb.append(String.format("SALDO            : Rp %,15.2f\n", getBalance().toBigDecimal()));
         sb.append("========================================\n");
         
         // Breakdown per kategori pengeluaran
-        if (!getExpenseByCategory().isEmpty()) {
+        Map<String, Long> expenseByCategory = rollup.getExpenseByCategory();
+        if (!expenseByCategory.isEmpty()) {
             sb.append("\nPengeluaran per Kategori:\n");
             sb.append("----------------------------------------\n");
-            getExpenseByCategory().forEach((cat, amount) -> {
-                double percentage = (amount / getTotalExpense()) * 100;
+            expenseByCategory.forEach((cat, minor) -> {
+                double percentage = minor * 100.0 / rollup.getTotalExpenseMinor();
                 sb.append(String.format("%-20s: Rp %,12.2f (%.1f%%)\n",
-                                      cat, amount, percentage));
+                                      cat, Money.ofMinor(minor).toBigDecimal(), percentage));
             });
         }
 
         // Breakdown per kategori pemasukan
-        if (!getIncomeByCategory().isEmpty()) {
+        Map<String, Long> incomeByCategory = rollup.getIncomeByCategory();
+        if (!incomeByCategory.isEmpty()) {
             sb.append("\nPemasukan per Kategori:\n");
             sb.append("----------------------------------------\n");
-            getIncomeByCategory().forEach((cat, amount) -> {
-                double percentage = (amount / getTotalIncome()) * 100;
+            incomeByCategory.forEach((cat, minor) -> {
+                double percentage = minor * 100.0 / rollup.getTotalIncomeMinor();
                 sb.append(String.format("%-20s: Rp %,12.2f (%.1f%%)\n",
-                                      cat, amount, percentage));
+                                      cat, Money.ofMinor(minor).toBigDecimal(), percentage));
             });
         }
         
@@ -144,5 +155,6 @@ public class Report {
     
     public void setReportPeriod(YearMonth reportPeriod) {
         this.reportPeriod = reportPeriod;
+        this.rollup = rollupSource.apply(reportPeriod);
     }
 }
@@ -1,5 +1,7 @@
 package moneymate.model;
 
+import moneymate.interfaces.IdGenerator;
+import moneymate.util.TimeOrderedIdGenerator;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
@@ -9,15 +11,23 @@ import java.time.format.DateTimeFormatter;
 public abstract class Transaction {
     
     protected String transactionId;
-    protected double amount;
+    protected Money amount;
     protected String description;
     protected LocalDate date;
     protected String category;
 
-    protected static int transactionCounter = 0;
+    // Pluggable: bisa diganti lewat setIdGenerator (mis. untuk testing)
+    private static volatile IdGenerator idGenerator = new TimeOrderedIdGenerator();
 
-    public Transaction(double amount, String description, LocalDate date, String category) {
-        this.transactionId = generateTransactionId();
+    public Transaction(Money amount, String description, LocalDate date, String category) {
+        this(idGenerator.nextId(), amount, description, date, category);
+    }
+
+    /**
+     * Constructor rehydration - untuk transaksi yang sudah punya ID (dari database)
+     */
+    protected Transaction(String transactionId, Money amount, String description, LocalDate date, String category) {
+        this.transactionId = transactionId;
         this.amount = amount;
         this.description = description;
         this.date = date;
@@ -25,11 +35,17 @@ public abstract class Transaction {
     }
     
     /**
-     * Generate unique transaction ID
+     * Get generator ID yang dipakai untuk transaksi baru
      */
-    private String generateTransactionId() {
-        transactionCounter++;
-        return String.format("TRX%05d", transactionCounter);
+    public static IdGenerator getIdGenerator() {
+        return idGenerator;
+    }
+
+    /**
+     * Ganti generator ID untuk transaksi baru
+     */
+    public static void setIdGenerator(IdGenerator generator) {
+        idGenerator = generator;
     }
     
     // Getters
@@ -37,7 +53,7 @@ public abstract class Transaction {
         return transactionId;
     }
     
-    public double getAmount() {
+    public Money getAmount() {
         return amount;
     }
     
@@ -54,7 +70,7 @@ public abstract class Transaction {
     }
 
     // Setters
-    public void setAmount(double amount) {
+    public void setAmount(Money amount) {
         this.amount = amount;
     }
 
@@ -70,6 +86,11 @@ public abstract class Transaction {
         this.category = category;
     }
     
+    /**
+     * Salinan transaksi ini dengan ID lain (dipakai saat update: data baru, ID lama)
+     */
+    public abstract Transaction withTransactionId(String transactionId);
+    
     /**
      * Abstract method - setiap jenis transaksi punya tipe berbeda
      */
@@ -87,7 +108,7 @@ public abstract class Transaction {
                            transactionId,
                            getTransactionType(),
                            date.format(formatter),
-                           amount,
+                           amount.toBigDecimal(),
                            category,
                            description);
     }
@@ -0,0 +1,106 @@
+package moneymate.model;
+
+/**
+ * Class TransactionEvent - perubahan data yang dikirim ke TransactionListener
+ *
+ * Setiap mutasi di TransactionManager menghasilkan event transaksi
+ * (ADDED / UPDATED / DELETED, atau RESYNC untuk batch besar) diikuti satu
+ * event BALANCE berisi agregat terbaru. version = versi data setelah mutasi.
+ */
+public class TransactionEvent {
+
+    public enum Type {
+        ADDED, UPDATED, DELETED, BALANCE, RESYNC
+    }
+
+    private final Type type;
+    private final long version;
+    private final String transactionId;
+    private final Transaction transaction;
+    private final BalanceSummary balance;
+
+    private TransactionEvent(Type type, long version, String transactionId,
+                             Transaction transaction, BalanceSummary balance) {
+        this.type = type;
+        this.version = version;
+        this.transactionId = transactionId;
+        this.transaction = transaction;
+        this.balance = balance;
+    }
+
+    public static TransactionEvent added(long version, Transaction transaction) {
+        return new TransactionEvent(Type.ADDED, version, transaction.getTransactionId(), transaction, null);
+    }
+
+    public static TransactionEvent updated(long version, Transaction transaction) {
+        return new TransactionEvent(Type.UPDATED, version, transaction.getTransactionId(), transaction, null);
+    }
+
+    public static TransactionEvent deleted(long version, String transactionId) {
+        return new TransactionEvent(Type.DELETED, version, transactionId, null, null);
+    }
+
+    public static TransactionEvent balance(long version, BalanceSummary balance) {
+        return new TransactionEvent(Type.BALANCE, version, null, null, balance);
+    }
+
+    /**
+     * Terlalu banyak perubahan untuk dikirim satu per satu: penerima sebaiknya reload
+     */
+    public static TransactionEvent resync(long version) {
+        return new TransactionEvent(Type.RESYNC, version, null, null, null);
+    }
+
+    /**
+     * Salinan event dengan transaksi lain (dipakai saat menggabungkan event)
+     */
+    public TransactionEvent withTransaction(Transaction newTransaction) {
+        return new TransactionEvent(type, version, transactionId, newTransaction, balance);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public Transaction getTransaction() {
+        return transaction;
+    }
+
+    public BalanceSummary getBalance() {
+        return balance;
+    }
+
+    /**
+     * Agregat saldo setelah mutasi
+     */
+    public static class BalanceSummary {
+        private final Money totalBalance;
+        private final Money totalIncome;
+        private final Money totalExpense;
+        private final Money initialBalance;
+        private final int transactionCount;
+
+        public BalanceSummary(Money totalBalance, Money totalIncome, Money totalExpense,
+                              Money initialBalance, int transactionCount) {
+            this.totalBalance = totalBalance;
+            this.totalIncome = totalIncome;
+            this.totalExpense = totalExpense;
+            this.initialBalance = initialBalance;
+            this.transactionCount = transactionCount;
+        }
+
+        public Money getTotalBalance() { return totalBalance; }
+        public Money getTotalIncome() { return totalIncome; }
+        public Money getTotalExpense() { return totalExpense; }
+        public Money getInitialBalance() { return initialBalance; }
+        public int getTransactionCount() { return transactionCount; }
+    }
+}
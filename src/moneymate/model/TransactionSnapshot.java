@@ -0,0 +1,52 @@
+package moneymate.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class TransactionSnapshot - daftar transaksi immutable pada satu versi data
+ *
+ * Satu snapshot dipakai bersama oleh semua pembaca sampai ada mutasi
+ * berikutnya, jadi membaca daftar transaksi tidak perlu menyalin list.
+ * Versi naik setiap kali data berubah; bandingkan getVersion() dengan
+ * versi yang disimpan untuk tahu apakah ada perubahan.
+ */
+public class TransactionSnapshot {
+
+    private final long version;
+    private final List<Transaction> transactions;
+
+    /**
+     * @param transactions list baru milik snapshot ini (tidak disalin lagi)
+     */
+    public TransactionSnapshot(long version, List<Transaction> transactions) {
+        this.version = version;
+        this.transactions = Collections.unmodifiableList(transactions);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Transaksi urut tanggal terbaru dulu (read-only)
+     */
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    public int size() {
+        return transactions.size();
+    }
+
+    public boolean isEmpty() {
+        return transactions.isEmpty();
+    }
+
+    /**
+     * Apakah data sudah berubah sejak versi tertentu
+     */
+    public boolean hasChangedSince(long previousVersion) {
+        return version != previousVersion;
+    }
+}
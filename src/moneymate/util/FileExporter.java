@@ -4,10 +4,22 @@ import moneymate.model.*;
 import moneymate.controller.TransactionManager;
 import moneymate.exception.FileExportException;
 import moneymate.interfaces.Exportable;
+import java.io.Closeable;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
 import java.time.format.DateTimeFormatter;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -41,47 +53,60 @@ public class FileExporter implements Exportable {
             System.out.println("✓ File berhasil di-export ke: " + filePath);
         } catch (IOException e) {
             throw new FileExportException("Gagal menulis file: " + e.getMessage(), e);
+        } catch (SQLException e) {
+            throw new FileExportException("Gagal membaca transaksi: " + e.getMessage(), e);
         }
     }
     
     /**
      * Export ke format CSV
+     *
+     * Baris dibaca langsung dari cursor database dan ditulis ke FileChannel
+     * lewat buffer besar, tanpa menyalin list transaksi atau String.format
+     * per baris, jadi memory tetap konstan berapa pun jumlah transaksinya.
+     * Total pemasukan & pengeluaran dihitung di pass yang sama, sehingga
+     * ringkasan selalu cocok dengan baris yang tertulis.
      */
-    private void exportToCSV(String filePath) throws IOException {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(filePath))) {
+    private void exportToCSV(String filePath) throws IOException, SQLException {
+        try (ChannelTextWriter writer = new ChannelTextWriter(Path.of(filePath))) {
             // Header
-            writer.println("ID,Tipe,Tanggal,Kategori,Deskripsi,Jumlah,Detail");
-            
+            writer.append("ID,Tipe,Tanggal,Kategori,Deskripsi,Jumlah,Detail").newLine();
+
             // Data
-            List<Transaction> transactions = transactionManager.getTransactions();
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-            
-            for (Transaction t : transactions) {
-                String detail = "";
-                if (t instanceof Income) {
-                    detail = "Sumber: " + ((Income) t).getSource();
-                } else if (t instanceof Expense) {
-                    Expense exp = (Expense) t;
-                    detail = "Pembayaran: " + exp.getPaymentMethod() + 
-                            (exp.isRecurring() ? " [BERULANG]" : "");
-                }
-                
-                writer.printf("%s,%s,%s,%s,\"%s\",%.2f,\"%s\"\n",
-                    t.getTransactionId(),
-                    t.getTransactionType(),
-                    t.getDate().format(formatter),
-                    t.getCategory(),
-                    t.getDescription(),
-                    t.getAmount(),
-                    detail
-                );
+            long[] totals = new long[2]; // [pemasukan, pengeluaran] dalam sen
+            try {
+                transactionManager.scanAllTransactions((id, income, epochDay, amountMinor, category,
+                                                        description, source, paymentMethod, recurring) -> {
+                    totals[income ? 0 : 1] += amountMinor;
+
+                    writer.append(id).append(',')
+                          .append(income ? "PEMASUKAN" : "PENGELUARAN").append(',')
+                          .appendDate(epochDay).append(',')
+                          .append(category).append(",\"")
+                          .append(description).append("\",")
+                          .appendMinor(amountMinor).append(",\"");
+                    if (income) {
+                        writer.append("Sumber: ").append(source);
+                    } else {
+                        writer.append("Pembayaran: ").append(paymentMethod);
+                        if (recurring) {
+                            writer.append(" [BERULANG]");
+                        }
+                    }
+                    writer.append('"').newLine();
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
             }
-            
+
             // Summary
-            writer.println();
-            writer.printf("TOTAL PEMASUKAN,,,,,%,.2f,\n", transactionManager.calculateTotalIncome());
-            writer.printf("TOTAL PENGELUARAN,,,,,%,.2f,\n", transactionManager.calculateTotalExpense());
-            writer.printf("SALDO AKHIR,,,,,%,.2f,\n", transactionManager.calculateTotalBalance());
+            Money totalIncome = Money.ofMinor(totals[0]);
+            Money totalExpense = Money.ofMinor(totals[1]);
+            Money balance = transactionManager.getInitialBalance().plus(totalIncome).minus(totalExpense);
+            writer.newLine();
+            writer.append(String.format("TOTAL PEMASUKAN,,,,,%,.2f,", totalIncome.toBigDecimal())).newLine();
+            writer.append(String.format("TOTAL PENGELUARAN,,,,,%,.2f,", totalExpense.toBigDecimal())).newLine();
+            writer.append(String.format("SALDO AKHIR,,,,,%,.2f,", balance.toBigDecimal())).newLine();
         }
     }
     
@@ -112,11 +137,11 @@ public class FileExporter implements Exportable {
             writer.println("========================================");
             writer.println("RINGKASAN KEUANGAN");
             writer.println("========================================");
-            writer.printf("Saldo Awal       : Rp %,15.2f\n", transactionManager.getInitialBalance());
-            writer.printf("Total Pemasukan  : Rp %,15.2f\n", transactionManager.calculateTotalIncome());
-            writer.printf("Total Pengeluaran: Rp %,15.2f\n", transactionManager.calculateTotalExpense());
+            writer.printf("Saldo Awal       : Rp %,15.2f\n", transactionManager.getInitialBalance().toBigDecimal());
+            writer.printf("Total Pemasukan  : Rp %,15.2f\n", transactionManager.calculateTotalIncome().toBigDecimal());
+            writer.printf("Total Pengeluaran: Rp %,15.2f\n", transactionManager.calculateTotalExpense().toBigDecimal());
             writer.println("----------------------------------------");
-            writer.printf("SALDO AKHIR      : Rp %,15.2f\n", transactionManager.calculateTotalBalance());
+            writer.printf("SALDO AKHIR      : Rp %,15.2f\n", transactionManager.calculateTotalBalance().toBigDecimal());
             writer.println("========================================");
         }
     }
@@ -129,4 +154,125 @@ public class FileExporter implements Exportable {
     public void setFormat(String format) {
         this.format = format.toUpperCase();
     }
+
+    /**
+     * Penulis teks UTF-8 ke FileChannel dengan buffer 1 MB; angka & tanggal
+     * ditulis digit per digit (tanpa Formatter). Error I/O saat menulis baris
+     * dilempar sebagai UncheckedIOException karena dipanggil dari visitor.
+     */
+    private static final class ChannelTextWriter implements Closeable {
+        private static final int BUFFER_BYTES = 1 << 20;
+        private static final int FLUSH_CHARS = 1 << 16;
+
+        private final FileChannel channel;
+        private final ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final StringBuilder text = new StringBuilder(FLUSH_CHARS + 1024);
+        private char[] chars = new char[FLUSH_CHARS + 1024];
+
+        ChannelTextWriter(Path path) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                            StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        ChannelTextWriter append(String value) {
+            text.append(value);
+            return this;
+        }
+
+        ChannelTextWriter append(char value) {
+            text.append(value);
+            return this;
+        }
+
+        /**
+         * Tanggal dd/MM/yyyy
+         */
+        ChannelTextWriter appendDate(long epochDay) {
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            appendPadded(date.getDayOfMonth(), 2).append('/');
+            appendPadded(date.getMonthValue(), 2).append('/');
+            return appendPadded(date.getYear(), 4);
+        }
+
+        /**
+         * Jumlah sen sebagai desimal dua digit (1234 -> 12.34)
+         */
+        ChannelTextWriter appendMinor(long minor) {
+            if (minor < 0) {
+                text.append('-');
+            }
+            long units = Math.abs(minor / 100);
+            int cents = (int) Math.abs(minor % 100);
+            text.append(units).append('.');
+            if (cents < 10) {
+                text.append('0');
+            }
+            text.append(cents);
+            return this;
+        }
+
+        ChannelTextWriter newLine() {
+            text.append('\n'); // sama di semua OS, seperti export sebelumnya
+            if (text.length() >= FLUSH_CHARS) {
+                try {
+                    encodeText();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return this;
+        }
+
+        private ChannelTextWriter appendPadded(int value, int width) {
+            for (int limit = 10, digits = 1; digits < width; limit *= 10, digits++) {
+                if (value < limit) {
+                    text.append('0');
+                }
+            }
+            text.append(value);
+            return this;
+        }
+
+        private void encodeText() throws IOException {
+            int length = text.length();
+            if (chars.length < length) {
+                chars = new char[length];
+            }
+            text.getChars(0, length, chars, 0);
+            text.setLength(0);
+
+            CharBuffer input = CharBuffer.wrap(chars, 0, length);
+            while (encoder.encode(input, bytes, false).isOverflow()) {
+                writeBytes();
+            }
+        }
+
+        private void writeBytes() throws IOException {
+            bytes.flip();
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            bytes.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                encodeText();
+                CharBuffer empty = CharBuffer.allocate(0);
+                while (encoder.encode(empty, bytes, true).isOverflow()) {
+                    writeBytes();
+                }
+                while (encoder.flush(bytes).isOverflow()) {
+                    writeBytes();
+                }
+                writeBytes();
+            } finally {
+                channel.close();
+            }
+        }
+    }
 }
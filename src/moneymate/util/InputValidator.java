@@ -1,5 +1,6 @@
 package moneymate.util;
 
+import moneymate.model.Money;
 import java.util.Scanner;
 
 /**
@@ -43,6 +44,10 @@ public class InputValidator {
     public static boolean isValidAmount(double amount) {
         return amount > 0;
     }
+
+    public static boolean isValidAmount(Money amount) {
+        return amount != null && amount.isPositive();
+    }
     
     /**
      * Validasi string tidak kosong
@@ -85,16 +90,16 @@ public class InputValidator {
     }
     
     /**
-     * Get valid double input dari user
+     * Get valid jumlah uang dari user (dibulatkan ke sen)
      */
-    public static double getValidDoubleInput(Scanner scanner, String prompt) {
-        double value;
+    public static Money getValidMoneyInput(Scanner scanner, String prompt) {
+        Money value;
         while (true) {
             System.out.print(prompt);
             String input = scanner.nextLine().trim();
             
             if (isNumeric(input)) {
-                value = Double.parseDouble(input);
+                value = Money.parse(input);
                 if (isValidAmount(value)) {
                     return value;
                 } else {
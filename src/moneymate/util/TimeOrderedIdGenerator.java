@@ -0,0 +1,128 @@
+package moneymate.util;
+
+import moneymate.interfaces.IdGenerator;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TimeOrderedIdGenerator - ID transaksi 64-bit yang urut waktu
+ *
+ * Nilai = (epoch millis << 20) | (sequence << 10) | node, di-encode Crockford
+ * base32 dengan lebar tetap, jadi urutan string = urutan waktu dan insert ke
+ * primary key B-tree selalu di ujung kanan. Monotonic dan lock-free (satu
+ * AtomicLong): jika jam mundur atau sequence dalam 1 ms habis, nilai tetap naik.
+ *
+ * Node = 10 bit per proses. TransactionManager mengklaim node di tabel
+ * id_nodes saat start (TransactionDAO.claimIdNode), jadi GUI/CLI/server yang
+ * berjalan bersamaan di database yang sama selalu punya node berbeda dan ID
+ * mereka tidak bisa sama, juga di milidetik yang sama. Sebelum setNode()
+ * dipanggil (atau jika klaim gagal) node diambil acak, tanpa jaminan itu.
+ *
+ * Contoh: TRX01JA2B3C4D5E6
+ */
+public class TimeOrderedIdGenerator implements IdGenerator {
+
+    public static final String PREFIX = "TRX";
+
+    private static final int NODE_BITS = 10;
+
+    /**
+     * Jumlah node yang bisa dipakai bersamaan (node 0..NODE_COUNT-1)
+     */
+    public static final int NODE_COUNT = 1 << NODE_BITS;
+
+    private static final int SEQUENCE_BITS = 10;
+    private static final int ENCODED_LENGTH = 13; // 13 x 5 bit >= 63 bit
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final Clock clock;
+    private volatile long node;
+    private final AtomicLong last = new AtomicLong(); // (millis << SEQUENCE_BITS) | sequence, tanpa node
+
+    public TimeOrderedIdGenerator() {
+        this(Clock.systemUTC(), new SecureRandom().nextInt(NODE_COUNT));
+    }
+
+    public TimeOrderedIdGenerator(Clock clock, int node) {
+        this.clock = clock;
+        this.node = checkNode(node);
+    }
+
+    /**
+     * Pakai node yang sudah diklaim untuk proses ini; berlaku untuk ID berikutnya
+     */
+    public void setNode(int node) {
+        this.node = checkNode(node);
+    }
+
+    private static int checkNode(int node) {
+        if (node < 0 || node >= NODE_COUNT) {
+            throw new IllegalArgumentException("Node harus 0.." + (NODE_COUNT - 1) + ": " + node);
+        }
+        return node;
+    }
+
+    @Override
+    public String nextId() {
+        long now = clock.millis() << SEQUENCE_BITS;
+        long value = last.accumulateAndGet(now, (previous, time) -> Math.max(previous + 1, time));
+        return encode((value << NODE_BITS) | node);
+    }
+
+    /**
+     * Seed dari ID yang sudah ada; ID dengan format lain (mis. TRX00001) diabaikan
+     */
+    @Override
+    public void observe(String existingId) {
+        long value = decode(existingId);
+        if (value >= 0) {
+            // Node ID lain dibuang: sequence berikutnya tetap memakai node proses ini
+            last.accumulateAndGet(value >>> NODE_BITS, Math::max);
+        }
+    }
+
+    /**
+     * Panjang ID yang dihasilkan generator ini (prefix + base32)
+     */
+    public static int idLength() {
+        return PREFIX.length() + ENCODED_LENGTH;
+    }
+
+    private static String encode(long value) {
+        char[] chars = new char[PREFIX.length() + ENCODED_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), chars, 0);
+        for (int i = chars.length - 1; i >= PREFIX.length(); i--) {
+            chars[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @return nilai 64-bit, atau -1 jika bukan ID dari generator ini
+     */
+    private static long decode(String id) {
+        if (id == null || id.length() != idLength() || !id.startsWith(PREFIX)) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = PREFIX.length(); i < id.length(); i++) {
+            int digit = indexOf(id.charAt(i));
+            if (digit < 0 || (i == PREFIX.length() && digit > 7)) {
+                return -1;
+            }
+            value = (value << 5) | digit;
+        }
+        return value;
+    }
+
+    private static int indexOf(char c) {
+        for (int i = 0; i < ALPHABET.length; i++) {
+            if (ALPHABET[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
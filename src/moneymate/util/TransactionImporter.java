@@ -0,0 +1,312 @@
+package moneymate.util;
+
+import moneymate.model.*;
+import moneymate.controller.TransactionManager;
+import moneymate.exception.InsufficientBalanceException;
+import moneymate.exception.InvalidTransactionException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * TransactionImporter - import transaksi massal dari CSV atau NDJSON
+ *
+ * Input dibaca baris per baris (streaming), jadi file besar tidak pernah
+ * di-buffer utuh di memory. Baris yang valid dikumpulkan per chunk lalu
+ * disimpan lewat TransactionManager.addTransactions (batch insert); chunk
+ * yang ditolak dipecah supaya error tetap dilaporkan per baris.
+ *
+ * Kolom/field yang dikenali (CSV butuh header, NDJSON satu object per baris):
+ * type, amount, description, date, category, source, paymentMethod, recurring
+ */
+public class TransactionImporter {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final int DEFAULT_CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final TransactionManager transactionManager;
+    private final int chunkSize;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public TransactionImporter(TransactionManager transactionManager) {
+        this(transactionManager, DEFAULT_CHUNK_SIZE);
+    }
+
+    public TransactionImporter(TransactionManager transactionManager, int chunkSize) {
+        this.transactionManager = transactionManager;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Import dari stream dengan format tertentu
+     */
+    public ImportResult importFrom(InputStream input, Format format) throws IOException {
+        long start = System.nanoTime();
+        ImportResult result = new ImportResult();
+        List<Transaction> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkRows = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024)) {
+
+            Map<String, Integer> header = null;
+            String line;
+            long lineNumber = 0;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && header == null) {
+                    header = parseHeader(line);
+                    continue;
+                }
+
+                result.totalRows++;
+                try {
+                    Transaction transaction = format == Format.CSV
+                        ? fromCsv(parseCsvLine(line), header)
+                        : fromJson(objectMapper.readTree(line));
+                    if (!transaction.isValid()) {
+                        throw new IllegalArgumentException("Data transaksi tidak valid (jumlah harus > 0, deskripsi wajib)");
+                    }
+                    chunk.add(transaction);
+                    chunkRows.add(lineNumber);
+                } catch (IOException | RuntimeException e) {
+                    result.addError(lineNumber, e.getMessage());
+                }
+
+                if (chunk.size() >= chunkSize) {
+                    flush(chunk, chunkRows, result);
+                }
+            }
+            flush(chunk, chunkRows, result);
+        }
+
+        result.elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+        result.rowsPerSecond = result.elapsedMs == 0 ? result.totalRows
+                             : result.totalRows / (result.elapsedMs / 1000.0);
+        return result;
+    }
+
+    /**
+     * Simpan satu chunk (satu batch insert di jalur normal)
+     */
+    private void flush(List<Transaction> chunk, List<Long> chunkRows, ImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        save(chunk, chunkRows, 0, chunk.size(), result);
+        chunk.clear();
+        chunkRows.clear();
+    }
+
+    /**
+     * Simpan baris from..to (eksklusif); jika ditolak, bagi dua dan coba lagi
+     * berurutan sampai tinggal satu baris, jadi hanya baris penyebabnya yang
+     * dicatat sebagai error
+     */
+    private void save(List<Transaction> chunk, List<Long> chunkRows, int from, int to, ImportResult result) {
+        try {
+            transactionManager.addTransactions(chunk.subList(from, to));
+            result.imported += to - from;
+        } catch (InvalidTransactionException | InsufficientBalanceException e) {
+            if (to - from == 1) {
+                result.addError(chunkRows.get(from), e.getMessage());
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            save(chunk, chunkRows, from, mid, result);
+            save(chunk, chunkRows, mid, to, result);
+        }
+    }
+
+    private Map<String, Integer> parseHeader(String line) {
+        Map<String, Integer> header = new HashMap<>();
+        List<String> columns = parseCsvLine(line);
+        for (int i = 0; i < columns.size(); i++) {
+            String key = columns.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "");
+            header.put(key, i);
+        }
+        if (!header.containsKey("type") || !header.containsKey("amount") || !header.containsKey("date")) {
+            throw new IllegalArgumentException("CSV header wajib berisi kolom type, amount dan date");
+        }
+        return header;
+    }
+
+    private Transaction fromCsv(List<String> fields, Map<String, Integer> header) {
+        return createTransaction(
+            csvField(fields, header, "type"),
+            csvField(fields, header, "amount"),
+            csvField(fields, header, "description"),
+            csvField(fields, header, "date"),
+            csvField(fields, header, "category"),
+            csvField(fields, header, "source"),
+            csvField(fields, header, "paymentmethod"),
+            csvField(fields, header, "recurring"));
+    }
+
+    private String csvField(List<String> fields, Map<String, Integer> header, String name) {
+        Integer index = header.get(name);
+        return index == null || index >= fields.size() ? null : fields.get(index);
+    }
+
+    private Transaction fromJson(JsonNode node) {
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Baris NDJSON harus berupa object JSON");
+        }
+        return createTransaction(
+            jsonField(node, "type"),
+            jsonField(node, "amount"),
+            jsonField(node, "description"),
+            jsonField(node, "date"),
+            jsonField(node, "category"),
+            jsonField(node, "source"),
+            jsonField(node, "paymentMethod"),
+            jsonField(node, "recurring"));
+    }
+
+    private String jsonField(JsonNode node, String name) {
+        JsonNode value = node.get(name);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    /**
+     * Factory: buat Income/Expense dari field mentah (aturan sama dengan POST /api/transactions)
+     */
+    private Transaction createTransaction(String type, String amountText, String description, String dateText,
+                                          String category, String source, String paymentMethod, String recurring) {
+        if (type == null) {
+            throw new IllegalArgumentException("Kolom type wajib diisi");
+        }
+        if (amountText == null || amountText.isBlank()) {
+            throw new IllegalArgumentException("Kolom amount wajib diisi");
+        }
+        Money amount;
+        try {
+            amount = Money.parse(amountText);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Jumlah tidak valid: " + amountText);
+        }
+        LocalDate date = parseDate(dateText);
+        String cat = category == null || category.isBlank() ? "Lainnya" : category.trim();
+
+        switch (type.trim().toLowerCase(Locale.ROOT)) {
+            case "income":
+            case "pemasukan":
+                return source == null || source.isBlank()
+                    ? new Income(amount, description, date, cat)
+                    : new Income(amount, description, date, cat, source.trim());
+            case "expense":
+            case "pengeluaran":
+                return new Expense(amount, description, date, cat,
+                    paymentMethod == null || paymentMethod.isBlank() ? "Cash" : paymentMethod.trim(),
+                    isTrue(recurring));
+            default:
+                throw new IllegalArgumentException("Tipe transaksi tidak dikenal: " + type);
+        }
+    }
+
+    /**
+     * Terima format ISO (yyyy-MM-dd) maupun format export (dd/MM/yyyy)
+     */
+    private LocalDate parseDate(String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Kolom date wajib diisi");
+        }
+        String value = text.trim();
+        try {
+            return value.indexOf('/') >= 0 ? DateUtil.parseDate(value) : LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Tanggal tidak valid: " + text);
+        }
+    }
+
+    private boolean isTrue(String value) {
+        if (value == null) {
+            return false;
+        }
+        String v = value.trim().toLowerCase(Locale.ROOT);
+        return v.equals("true") || v.equals("1") || v.equals("ya") || v.equals("yes");
+    }
+
+    /**
+     * Split satu baris CSV; mendukung field ber-quote dengan "" sebagai escape
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    /**
+     * Hasil import: jumlah baris, error per baris, dan statistik throughput
+     */
+    public static class ImportResult {
+        private long totalRows;
+        private long imported;
+        private long failed;
+        private final List<RowError> errors = new ArrayList<>();
+        private double elapsedMs;
+        private double rowsPerSecond;
+
+        private void addError(long row, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(row, message));
+            }
+        }
+
+        public long getTotalRows() { return totalRows; }
+        public long getImported() { return imported; }
+        public long getFailed() { return failed; }
+        public List<RowError> getErrors() { return errors; }
+        public boolean isErrorsTruncated() { return failed > errors.size(); }
+        public double getElapsedMs() { return elapsedMs; }
+        public double getRowsPerSecond() { return rowsPerSecond; }
+    }
+
+    /**
+     * Error untuk satu baris input (nomor baris dihitung dari 1, termasuk header)
+     */
+    public record RowError(long row, String message) {}
+}
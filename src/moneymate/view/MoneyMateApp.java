@@ -50,8 +50,8 @@ public class MoneyMateApp {
         String balanceInput = scanner.nextLine().trim();
         
         if (InputValidator.isNumeric(balanceInput)) {
-            double initialBalance = Double.parseDouble(balanceInput);
-            if (initialBalance >= 0) {
+            Money initialBalance = Money.parse(balanceInput);
+            if (!initialBalance.isNegative()) {
                 currentUser.setInitialBalance(initialBalance);
                 transactionManager.setInitialBalance(initialBalance);
             }
@@ -125,7 +125,7 @@ public class MoneyMateApp {
         
         int type = InputValidator.getValidIntInput(scanner, "Pilih tipe (1-2): ", 1, 2);
         
-        double amount = InputValidator.getValidDoubleInput(scanner, "Masukkan jumlah (Rp): ");
+        Money amount = InputValidator.getValidMoneyInput(scanner, "Masukkan jumlah (Rp): ");
         String description = InputValidator.getValidStringInput(scanner, "Deskripsi: ");
         
         System.out.print("Tanggal (dd/MM/yyyy) [Enter untuk hari ini]: ");
@@ -183,7 +183,7 @@ public class MoneyMateApp {
             
             System.out.println("\nMasukkan data baru:");
             
-            double amount = InputValidator.getValidDoubleInput(scanner, "Jumlah baru (Rp): ");
+            Money amount = InputValidator.getValidMoneyInput(scanner, "Jumlah baru (Rp): ");
             String description = InputValidator.getValidStringInput(scanner, "Deskripsi baru: ");
 
             System.out.print("Tanggal baru (dd/MM/yyyy): ");
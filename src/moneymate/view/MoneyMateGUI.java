@@ -51,13 +51,13 @@ public class MoneyMateGUI extends JFrame {
         }
 
         String balanceStr = JOptionPane.showInputDialog(null, "Masukkan saldo awal (Rp):", "Setup User", JOptionPane.QUESTION_MESSAGE);
-        double initialBalance = 0.0;
+        Money initialBalance = Money.ZERO;
         try {
             if (balanceStr != null && !balanceStr.trim().isEmpty()) {
-                initialBalance = Double.parseDouble(balanceStr);
+                initialBalance = Money.parse(balanceStr);
             }
         } catch (NumberFormatException e) {
-            initialBalance = 0.0;
+            initialBalance = Money.ZERO;
         }
 
         currentUser = new RegularUser("USR001", username, email, "default");
@@ -295,7 +295,7 @@ public class MoneyMateGUI extends JFrame {
 
         saveButton.addActionListener(e -> {
             try {
-                double amount = Double.parseDouble(amountField.getText());
+                Money amount = Money.parse(amountField.getText());
                 String description = descField.getText();
                 LocalDate date = DateUtil.parseDate(dateField.getText());
                 String category = categoryField.getText().trim();
@@ -358,7 +358,7 @@ public class MoneyMateGUI extends JFrame {
                 t.getDate().format(formatter),
                 t.getCategory(),
                 t.getDescription(),
-                String.format("Rp %,.2f", t.getAmount()),
+                String.format("Rp %,.2f", t.getAmount().toBigDecimal()),
                 detail
             };
             tableModel.addRow(row);
@@ -366,13 +366,13 @@ public class MoneyMateGUI extends JFrame {
     }
 
     private void updateBalanceDisplay() {
-        double balance = transactionManager.calculateTotalBalance();
-        double income = transactionManager.calculateTotalIncome();
-        double expense = transactionManager.calculateTotalExpense();
+        Money balance = transactionManager.calculateTotalBalance();
+        Money income = transactionManager.calculateTotalIncome();
+        Money expense = transactionManager.calculateTotalExpense();
 
-        balanceLabel.setText(String.format("Saldo: Rp %,.2f", balance));
-        incomeLabel.setText(String.format("Pemasukan: Rp %,.2f", income));
-        expenseLabel.setText(String.format("Pengeluaran: Rp %,.2f", expense));
+        balanceLabel.setText(String.format("Saldo: Rp %,.2f", balance.toBigDecimal()));
+        incomeLabel.setText(String.format("Pemasukan: Rp %,.2f", income.toBigDecimal()));
+        expenseLabel.setText(String.format("Pengeluaran: Rp %,.2f", expense.toBigDecimal()));
     }
 
     private void deleteSelectedTransaction() {
@@ -429,7 +429,7 @@ public class MoneyMateGUI extends JFrame {
                 t.getDate().format(formatter),
                 t.getCategory(),
                 t.getDescription(),
-                String.format("Rp %,.2f", t.getAmount()),
+                String.format("Rp %,.2f", t.getAmount().toBigDecimal()),
                 detail
             };
             tableModel.addRow(row);
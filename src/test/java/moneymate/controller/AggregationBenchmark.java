@@ -0,0 +1,128 @@
+package moneymate.controller;
+
+import moneymate.database.ValueDictionary;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * AggregationBenchmark - group by TransactionColumns: sequential vs ForkJoin
+ *
+ * Untuk setiap jumlah baris, mengukur group by kategori (full range) secara
+ * sequential dan paralel dengan ForkJoinPool berukuran N thread, lalu
+ * menampilkan ukuran terkecil mulai dari mana paralel selalu lebih cepat.
+ * Angka ini yang dipakai untuk -Dmoneymate.parallel.threshold di host tersebut.
+ *
+ * Ada di source root test (tidak ikut jar), tapi bukan test surefire.
+ *
+ * Usage: mvn test-compile
+ *        java -cp target/test-classes:target/classes moneymate.controller.AggregationBenchmark
+ *            [--rows 10000,50000,100000,250000,1000000] [--threads 2,4]
+ *            [--iterations 20] [--seed 2000]
+ */
+public class AggregationBenchmark {
+
+    private static final String[] CATEGORIES = {
+        "Makanan", "Transport", "Belanja", "Hiburan", "Tagihan", "Gaji", "Bonus", "Kesehatan"
+    };
+    private static final String[] PAYMENT_METHODS = { "Cash", "Debit", "Kredit", "E-Wallet" };
+
+    private static volatile long sink; // mencegah JIT membuang hasil group by
+
+    public static void main(String[] args) {
+        int[] rows = { 10_000, 50_000, 100_000, 250_000, 1_000_000 };
+        int[] threads = { 2, Math.max(2, Runtime.getRuntime().availableProcessors()) };
+        int iterations = 20;
+        long seed = 2000;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--rows" -> rows = parseList(args[i + 1]);
+                case "--threads" -> threads = parseList(args[i + 1]);
+                case "--iterations" -> iterations = Integer.parseInt(args[i + 1]);
+                case "--seed" -> seed = Long.parseLong(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        threads = Arrays.stream(threads).distinct().toArray();
+
+        System.out.println("CPUs: " + Runtime.getRuntime().availableProcessors()
+            + ", iterations: " + iterations);
+        StringBuilder header = new StringBuilder(String.format("%10s %12s", "rows", "seq ms/op"));
+        for (int t : threads) {
+            header.append(String.format(" %12s", "fj" + t + " ms/op"));
+        }
+        System.out.println(header);
+
+        int[] crossover = new int[threads.length];
+        Arrays.fill(crossover, -1);
+        ForkJoinPool[] pools = new ForkJoinPool[threads.length];
+        for (int t = 0; t < threads.length; t++) {
+            pools[t] = new ForkJoinPool(threads[t]);
+        }
+
+        try {
+            for (int size : rows) {
+                TransactionColumns columns = build(size, seed);
+                double sequential = measure(columns, null, iterations);
+                StringBuilder line = new StringBuilder(String.format("%10d %12.3f", size, sequential));
+                for (int t = 0; t < threads.length; t++) {
+                    double parallel = measure(columns, pools[t], iterations);
+                    line.append(String.format(" %12.3f", parallel));
+                    // Crossover = ukuran terkecil yang paralel lebih cepat untuk semua ukuran di atasnya
+                    if (parallel >= sequential) {
+                        crossover[t] = -1;
+                    } else if (crossover[t] < 0) {
+                        crossover[t] = size;
+                    }
+                }
+                System.out.println(line);
+            }
+        } finally {
+            for (ForkJoinPool pool : pools) {
+                pool.shutdown();
+            }
+        }
+
+        for (int t = 0; t < threads.length; t++) {
+            System.out.println("Crossover " + threads[t] + " threads: "
+                + (crossover[t] < 0 ? "tidak ada (sequential selalu lebih cepat)" : crossover[t] + " rows"));
+        }
+    }
+
+    private static TransactionColumns build(int size, long seed) {
+        Random random = new Random(seed);
+        TransactionColumns columns = new TransactionColumns(ValueDictionary.inMemory());
+        for (int i = 0; i < size; i++) {
+            boolean income = random.nextInt(4) == 0;
+            columns.add(18_000 + random.nextInt(2_000), income, 1_000 + random.nextInt(1_000_000),
+                CATEGORIES[random.nextInt(CATEGORIES.length)],
+                income ? null : PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)]);
+        }
+        return columns;
+    }
+
+    /**
+     * Rata-rata ms per group by setelah warmup
+     */
+    private static double measure(TransactionColumns columns, ForkJoinPool pool, int iterations) {
+        long[] checksum = new long[1];
+        TransactionColumns.GroupConsumer consumer =
+            (key, incomeMinor, expenseMinor, count) -> checksum[0] += incomeMinor - expenseMinor + count;
+
+        for (int i = 0; i < Math.max(5, iterations / 2); i++) {
+            columns.forEachGroup(TransactionColumns.Dimension.CATEGORY, Long.MIN_VALUE, Long.MAX_VALUE, pool, consumer);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            columns.forEachGroup(TransactionColumns.Dimension.CATEGORY, Long.MIN_VALUE, Long.MAX_VALUE, pool, consumer);
+        }
+        double elapsed = (System.nanoTime() - start) / 1e6 / iterations;
+        sink = checksum[0];
+        return elapsed;
+    }
+
+    private static int[] parseList(String value) {
+        return Arrays.stream(value.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+}
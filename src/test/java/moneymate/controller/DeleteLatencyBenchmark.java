@@ -0,0 +1,165 @@
+package moneymate.controller;
+
+import moneymate.database.ValueDictionary;
+import moneymate.model.Expense;
+import moneymate.model.Income;
+import moneymate.model.Money;
+import moneymate.model.Transaction;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * DeleteLatencyBenchmark - find & delete by ID: TransactionStore vs ArrayList
+ *
+ * Untuk setiap jumlah baris, mengukur latency per operasi (rata-rata & p99):
+ * - find: TransactionStore.get(id)
+ * - delete: TransactionStore.remove(id)
+ * - list delete: cara lama TransactionManager (stream filter + List.remove),
+ *   sebagai pembanding
+ * Setiap transaksi yang dihapus dimasukkan lagi (tidak diukur), jadi jumlah
+ * baris tetap selama pengukuran.
+ *
+ * Usage: mvn test-compile
+ *        java -cp target/test-classes:target/classes moneymate.controller.DeleteLatencyBenchmark
+ *            [--rows 10000,100000,1000000] [--operations 20000]
+ *            [--list-operations 200] [--seed 2000]
+ */
+public class DeleteLatencyBenchmark {
+
+    private static final String[] CATEGORIES = {
+        "Makanan", "Transport", "Belanja", "Hiburan", "Tagihan", "Gaji", "Bonus", "Kesehatan"
+    };
+    private static final LocalDate BASE_DATE = LocalDate.of(2020, 1, 1);
+
+    private static volatile Object sink; // mencegah JIT membuang hasil lookup
+
+    public static void main(String[] args) {
+        int[] rows = { 10_000, 100_000, 1_000_000 };
+        int operations = 20_000;
+        int listOperations = 200;
+        long seed = 2000;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--rows" -> rows = parseList(args[i + 1]);
+                case "--operations" -> operations = Integer.parseInt(args[i + 1]);
+                case "--list-operations" -> listOperations = Integer.parseInt(args[i + 1]);
+                case "--seed" -> seed = Long.parseLong(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        System.out.println("operations: " + operations + " (list: " + listOperations + ")");
+        System.out.println(String.format("%10s %14s %14s %14s %14s %16s %16s", "rows",
+            "find us/op", "find p99 us", "delete us/op", "delete p99 us", "list del us/op", "list del p99 us"));
+
+        for (int size : rows) {
+            List<Transaction> transactions = build(size, seed);
+            TransactionStore store = new TransactionStore(ValueDictionary.inMemory(), false);
+            store.addAll(transactions);
+            List<Transaction> list = store.toList(); // urut tanggal seperti ArrayList lama
+            transactions = null;
+
+            Random random = new Random(seed);
+            String[] ids = new String[size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = list.get(i).getTransactionId();
+            }
+
+            // Warmup di ukuran ini, lalu ukur
+            measureFind(store, ids, random, operations);
+            long[] find = measureFind(store, ids, random, operations);
+            measureDelete(store, ids, random, operations);
+            long[] delete = measureDelete(store, ids, random, operations);
+            long[] listDelete = measureListDelete(new ArrayList<>(list), ids, random, listOperations);
+
+            System.out.println(String.format("%10d %14.3f %14.3f %14.3f %14.3f %16.3f %16.3f", size,
+                mean(find), p99(find), mean(delete), p99(delete), mean(listDelete), p99(listDelete)));
+        }
+    }
+
+    private static List<Transaction> build(int size, long seed) {
+        Random random = new Random(seed);
+        List<Transaction> transactions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String id = String.format("TRX%08d", i);
+            LocalDate date = BASE_DATE.plusDays(random.nextInt(2_000));
+            Money amount = Money.ofMinor(1_000 + random.nextInt(1_000_000));
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            transactions.add(random.nextInt(4) == 0
+                ? Income.restore(id, amount, "income " + i, date, category, "Kantor")
+                : Expense.restore(id, amount, "expense " + i, date, category, "Cash", false));
+        }
+        return transactions;
+    }
+
+    private static long[] measureFind(TransactionStore store, String[] ids, Random random, int operations) {
+        long[] nanos = new long[operations];
+        for (int i = 0; i < operations; i++) {
+            String id = ids[random.nextInt(ids.length)];
+            long start = System.nanoTime();
+            Transaction found = store.get(id);
+            nanos[i] = System.nanoTime() - start;
+            sink = found;
+        }
+        return nanos;
+    }
+
+    private static long[] measureDelete(TransactionStore store, String[] ids, Random random, int operations) {
+        long[] nanos = new long[operations];
+        for (int i = 0; i < operations; i++) {
+            String id = ids[random.nextInt(ids.length)];
+            long start = System.nanoTime();
+            Transaction removed = store.remove(id);
+            nanos[i] = System.nanoTime() - start;
+            store.add(removed);
+        }
+        return nanos;
+    }
+
+    /**
+     * Delete seperti TransactionManager sebelum TransactionStore: scan untuk cari, lalu List.remove(Object)
+     */
+    private static long[] measureListDelete(List<Transaction> list, String[] ids, Random random, int operations) {
+        long[] nanos = new long[operations];
+        for (int i = 0; i < operations; i++) {
+            String id = ids[random.nextInt(ids.length)];
+            int index = indexOf(list, id); // posisi untuk dimasukkan lagi, tidak diukur
+            long start = System.nanoTime();
+            Transaction found = list.stream()
+                .filter(t -> t.getTransactionId().equals(id))
+                .findFirst()
+                .orElse(null);
+            list.remove(found);
+            nanos[i] = System.nanoTime() - start;
+            list.add(index, found);
+        }
+        return nanos;
+    }
+
+    private static int indexOf(List<Transaction> list, String id) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i).getTransactionId().equals(id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static double mean(long[] nanos) {
+        return Arrays.stream(nanos).average().orElse(0) / 1_000.0;
+    }
+
+    private static double p99(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(sorted.length * 0.99) - 1)] / 1_000.0;
+    }
+
+    private static int[] parseList(String value) {
+        return Arrays.stream(value.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+}
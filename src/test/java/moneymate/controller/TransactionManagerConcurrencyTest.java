@@ -0,0 +1,232 @@
+package moneymate.controller;
+
+import moneymate.database.TransactionDAOImpl;
+import moneymate.exception.InsufficientBalanceException;
+import moneymate.model.Expense;
+import moneymate.model.Income;
+import moneymate.model.Money;
+import moneymate.model.Transaction;
+import moneymate.model.TransactionEvent;
+import moneymate.model.TransactionSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stress test TransactionManager: banyak writer (add/update/delete) bersamaan
+ * dengan reader yang memeriksa snapshot terhadap total saldo pada versi yang sama.
+ *
+ * Database moneymate.db ada di working directory surefire (target/test-db)
+ * dan dikosongkan sebelum setiap test.
+ */
+class TransactionManagerConcurrencyTest {
+
+    private static final int WRITERS = 16;
+    private static final int READERS = 4;
+    private static final int OPERATIONS_PER_WRITER = 60;
+    private static final LocalDate BASE_DATE = LocalDate.of(2025, 1, 1);
+
+    private TransactionManager manager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        new TransactionDAOImpl().deleteAll();
+        manager = new TransactionManager(Money.of(1000));
+        manager.setConsistencyCheck(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.close();
+    }
+
+    @Test
+    void balanceCheckAndInsertAreAtomic() throws Exception {
+        // 32 writer berebut 160 pengeluaran Rp 100 dari saldo Rp 1000
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        runConcurrently(32, worker -> {
+            for (int i = 0; i < 5; i++) {
+                try {
+                    manager.addTransaction(new Expense(Money.of(100), "expense " + worker + "-" + i,
+                                                       BASE_DATE.plusDays(i), "Makan", "Cash", false));
+                    accepted.incrementAndGet();
+                } catch (InsufficientBalanceException e) {
+                    rejected.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(10, accepted.get());
+        assertEquals(150, rejected.get());
+        assertEquals(Money.ZERO, manager.calculateTotalBalance());
+        assertEquals(10, manager.getTransactions().size());
+    }
+
+    @Test
+    void snapshotsAndTotalsStayConsistentUnderMixedWrites() throws Exception {
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ConcurrentLinkedQueue<String> violations = new ConcurrentLinkedQueue<>();
+        AtomicInteger checkedVersions = new AtomicInteger();
+
+        ExecutorService readers = Executors.newFixedThreadPool(READERS);
+        List<Future<?>> readerTasks = new ArrayList<>();
+        for (int r = 0; r < READERS; r++) {
+            readerTasks.add(readers.submit(() -> {
+                while (writing.get()) {
+                    TransactionEvent balance = manager.getBalanceEvent();
+                    TransactionSnapshot snapshot = manager.getSnapshot();
+                    if (snapshot.getVersion() == balance.getVersion()) {
+                        String problem = verify(snapshot.getTransactions(), balance.getBalance());
+                        if (problem != null) {
+                            violations.add("v" + snapshot.getVersion() + ": " + problem);
+                        }
+                        checkedVersions.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        try {
+            runConcurrently(WRITERS, worker -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                List<String> own = new ArrayList<>();
+                for (int i = 0; i < OPERATIONS_PER_WRITER; i++) {
+                    int action = own.isEmpty() ? 0 : random.nextInt(4);
+                    LocalDate date = BASE_DATE.plusDays(random.nextInt(365));
+                    if (action <= 1) {
+                        Transaction added = random.nextBoolean()
+                            ? new Income(Money.ofMinor(100 + random.nextInt(100_000)), "income " + worker, date, "Gaji")
+                            : new Expense(Money.ofMinor(1 + random.nextInt(500)), "expense " + worker, date, "Makan");
+                        try {
+                            manager.addTransaction(added);
+                            own.add(added.getTransactionId());
+                        } catch (InsufficientBalanceException e) {
+                            // Saldo habis: boleh ditolak
+                        }
+                    } else if (action == 2) {
+                        String id = own.get(random.nextInt(own.size()));
+                        manager.updateTransaction(id, new Income(Money.ofMinor(100 + random.nextInt(100_000)),
+                                                                 "updated " + worker, date, "Bonus"));
+                    } else {
+                        manager.deleteTransaction(own.remove(random.nextInt(own.size())));
+                    }
+                }
+            });
+        } finally {
+            writing.set(false);
+            for (Future<?> task : readerTasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+            readers.shutdown();
+        }
+
+        assertTrue(violations.isEmpty(), () -> "Snapshot tidak konsisten: " + violations);
+        assertTrue(checkedVersions.get() > 0, "Reader tidak pernah memeriksa snapshot");
+
+        TransactionEvent finalBalance = manager.getBalanceEvent();
+        assertEquals(null, verify(manager.getTransactions(), finalBalance.getBalance()));
+
+        // Database berisi data yang sama dengan memory
+        TransactionManager reloaded = new TransactionManager(Money.of(1000));
+        try {
+            assertEquals(manager.calculateTotalIncome(), reloaded.calculateTotalIncome());
+            assertEquals(manager.calculateTotalExpense(), reloaded.calculateTotalExpense());
+            assertEquals(ids(manager.getTransactions()), ids(reloaded.getTransactions()));
+        } finally {
+            reloaded.close();
+        }
+    }
+
+    /**
+     * Null jika daftar transaksi cocok dengan ringkasan saldo; jika tidak, penjelasannya
+     */
+    private static String verify(List<Transaction> transactions, TransactionEvent.BalanceSummary balance) {
+        long incomeMinor = 0;
+        long expenseMinor = 0;
+        Set<String> seen = new HashSet<>();
+        Transaction previous = null;
+        for (Transaction transaction : transactions) {
+            if (!seen.add(transaction.getTransactionId())) {
+                return "ID ganda " + transaction.getTransactionId();
+            }
+            if (previous != null && previous.getDate().isBefore(transaction.getDate())) {
+                return "urutan tanggal salah di " + transaction.getTransactionId();
+            }
+            previous = transaction;
+            if (transaction instanceof Income) {
+                incomeMinor += transaction.getAmount().getMinor();
+            } else {
+                expenseMinor += transaction.getAmount().getMinor();
+            }
+        }
+        if (transactions.size() != balance.getTransactionCount()) {
+            return "jumlah " + transactions.size() + " != " + balance.getTransactionCount();
+        }
+        if (incomeMinor != balance.getTotalIncome().getMinor()
+                || expenseMinor != balance.getTotalExpense().getMinor()) {
+            return "total " + incomeMinor + "/" + expenseMinor + " != "
+                + balance.getTotalIncome() + "/" + balance.getTotalExpense();
+        }
+        long balanceMinor = balance.getInitialBalance().getMinor() + incomeMinor - expenseMinor;
+        if (balanceMinor != balance.getTotalBalance().getMinor()) {
+            return "saldo " + balanceMinor + " != " + balance.getTotalBalance();
+        }
+        return null;
+    }
+
+    private static Set<String> ids(List<Transaction> transactions) {
+        Set<String> ids = new HashSet<>();
+        for (Transaction transaction : transactions) {
+            ids.add(transaction.getTransactionId());
+        }
+        return ids;
+    }
+
+    @FunctionalInterface
+    private interface Worker {
+        void run(int worker) throws Exception;
+    }
+
+    /**
+     * Jalankan worker di N thread yang mulai bersamaan; exception pertama dilempar ulang
+     */
+    private static void runConcurrently(int threads, Worker worker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            tasks.add(executor.submit(() -> {
+                start.await();
+                worker.run(id);
+                return null;
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<?> task : tasks) {
+                task.get(120, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
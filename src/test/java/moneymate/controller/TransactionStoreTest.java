@@ -0,0 +1,130 @@
+package moneymate.controller;
+
+import moneymate.database.ValueDictionary;
+import moneymate.model.Expense;
+import moneymate.model.Income;
+import moneymate.model.Money;
+import moneymate.model.Transaction;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Index ID & tanggal TransactionStore dibandingkan dengan model sederhana
+ * (HashMap + sort) setelah rangkaian add/remove/replace acak
+ */
+class TransactionStoreTest {
+
+    private static final LocalDate BASE_DATE = LocalDate.of(2024, 1, 1);
+    private static final int DAYS = 60;
+
+    // Sama dengan urutan store: tanggal terbaru dulu, lalu ID menurun
+    private static final Comparator<Transaction> NEWEST_FIRST =
+        Comparator.comparing(Transaction::getDate).thenComparing(Transaction::getTransactionId).reversed();
+
+    @Test
+    void indexesMatchReferenceModelAfterRandomMutations() {
+        TransactionStore store = new TransactionStore(ValueDictionary.inMemory(), false);
+        Map<String, Transaction> reference = new HashMap<>();
+        List<String> removed = new ArrayList<>();
+        Random random = new Random(2000);
+
+        for (int step = 0; step < 5000; step++) {
+            int action = reference.isEmpty() ? 0 : random.nextInt(5);
+            if (action <= 2) {
+                // ID sengaja sempit supaya banyak transaksi di tanggal yang sama & ID yang ditimpa
+                Transaction transaction = random(random, "TRX" + random.nextInt(2000));
+                store.add(transaction);
+                reference.put(transaction.getTransactionId(), transaction);
+            } else if (action == 3) {
+                String id = pick(random, reference);
+                assertSame(reference.remove(id), store.remove(id));
+                removed.add(id);
+            } else {
+                String id = pick(random, reference);
+                Transaction replacement = random(random, id);
+                assertSame(reference.put(id, replacement), store.replace(id, replacement));
+            }
+
+            if (step % 250 == 0) {
+                assertMatches(store, reference, random);
+            }
+        }
+        assertMatches(store, reference, random);
+
+        for (String id : removed) {
+            if (!reference.containsKey(id)) {
+                assertNull(store.get(id));
+            }
+        }
+        assertNull(store.remove("TRX-missing"));
+    }
+
+    @Test
+    void rangeBoundariesAreInclusive() {
+        TransactionStore store = new TransactionStore(ValueDictionary.inMemory(), false);
+        LocalDate day = BASE_DATE.plusDays(10);
+        store.add(Income.restore("A", Money.of(1), "a", day.minusDays(1), "Gaji", null));
+        store.add(Income.restore("B", Money.of(1), "b", day, "Gaji", null));
+        store.add(Income.restore("C", Money.of(1), "c", day, "Gaji", null));
+        store.add(Income.restore("D", Money.of(1), "d", day.plusDays(1), "Gaji", null));
+
+        assertEquals(List.of("C", "B"), ids(store.between(day, day)));
+        assertEquals(List.of("D", "C", "B", "A"), ids(store.between(day.minusDays(1), day.plusDays(1))));
+        assertTrue(store.between(day.plusDays(2), day.plusDays(5)).isEmpty());
+        assertEquals(List.of("D", "C", "B", "A"), ids(store.toList()));
+    }
+
+    private static void assertMatches(TransactionStore store, Map<String, Transaction> reference, Random random) {
+        store.verifyTotals();
+        assertEquals(reference.size(), store.size());
+        for (Map.Entry<String, Transaction> entry : reference.entrySet()) {
+            assertSame(entry.getValue(), store.get(entry.getKey()));
+        }
+
+        List<Transaction> expected = new ArrayList<>(reference.values());
+        expected.sort(NEWEST_FIRST);
+        assertEquals(ids(expected), ids(store.toList()));
+
+        for (int i = 0; i < 20; i++) {
+            LocalDate from = BASE_DATE.plusDays(random.nextInt(DAYS) - 5);
+            LocalDate to = from.plusDays(random.nextInt(15));
+            List<String> inRange = expected.stream()
+                .filter(t -> !t.getDate().isBefore(from) && !t.getDate().isAfter(to))
+                .map(Transaction::getTransactionId)
+                .collect(Collectors.toList());
+            assertEquals(inRange, ids(store.streamBetween(from, to).collect(Collectors.toList())),
+                () -> "streamBetween " + from + ".." + to);
+            assertEquals(inRange, ids(store.between(from, to)));
+        }
+    }
+
+    private static Transaction random(Random random, String id) {
+        LocalDate date = BASE_DATE.plusDays(random.nextInt(DAYS));
+        Money amount = Money.ofMinor(1 + random.nextInt(1_000_000));
+        return random.nextBoolean()
+            ? Income.restore(id, amount, "income", date, "Gaji", "Kantor")
+            : Expense.restore(id, amount, "expense", date, "Makan", "Cash", false);
+    }
+
+    private static String pick(Random random, Map<String, Transaction> reference) {
+        List<String> ids = new ArrayList<>(reference.keySet());
+        ids.sort(null);
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static List<String> ids(List<Transaction> transactions) {
+        return transactions.stream().map(Transaction::getTransactionId).collect(Collectors.toList());
+    }
+}
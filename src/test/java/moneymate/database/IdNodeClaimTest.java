@@ -0,0 +1,112 @@
+package moneymate.database;
+
+import moneymate.util.TimeOrderedIdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Klaim node generator ID di tabel id_nodes: node proses yang masih berjalan
+ * tidak pernah dibagikan lagi, node proses yang sudah berhenti dipakai ulang
+ */
+class IdNodeClaimTest {
+
+    private static final int CHILDREN = 4;
+
+    private final TransactionDAOImpl dao = new TransactionDAOImpl();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        try (Connection conn = DatabaseManager.getInstance().getWriteConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM id_nodes");
+        }
+    }
+
+    @Test
+    void skipsRunningProcessesAndReusesStaleNodes() throws Exception {
+        // Proses induk (Maven) masih berjalan; child java -version sudah selesai
+        ProcessHandle running = ProcessHandle.current().parent().orElseThrow();
+        Process stopped = new ProcessBuilder(javaCommand(), "-version")
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .start();
+        stopped.waitFor();
+        insert(0, running);
+        insert(1, stopped.toHandle());
+
+        int node = dao.claimIdNode(TimeOrderedIdGenerator.NODE_COUNT);
+        assertEquals(1, node);
+        assertEquals(node, dao.claimIdNode(TimeOrderedIdGenerator.NODE_COUNT), "klaim ulang proses yang sama");
+    }
+
+    @Test
+    void concurrentProcessesGetDistinctNodes() throws Exception {
+        List<Process> children = new ArrayList<>();
+        for (int i = 0; i < CHILDREN; i++) {
+            children.add(new ProcessBuilder(javaCommand(), "-cp", System.getProperty("java.class.path"),
+                                            IdNodeClaimTest.class.getName())
+                .directory(new File(System.getProperty("user.dir")))
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start());
+        }
+
+        Set<String> nodes = new HashSet<>();
+        try {
+            for (Process child : children) {
+                BufferedReader out = new BufferedReader(new InputStreamReader(child.getInputStream()));
+                String line;
+                while ((line = out.readLine()) != null && !line.startsWith("node=")) {
+                    // log startup database
+                }
+                assertNotNull(line, "child tidak mencetak node");
+                nodes.add(line);
+            }
+        } finally {
+            // Child menunggu stdin ditutup, jadi semua masih berjalan saat node dibandingkan
+            for (Process child : children) {
+                child.getOutputStream().close();
+                child.waitFor();
+            }
+        }
+        assertEquals(CHILDREN, nodes.size(), () -> "Node bentrok: " + nodes);
+    }
+
+    /**
+     * Child process untuk concurrentProcessesGetDistinctNodes
+     */
+    public static void main(String[] args) throws Exception {
+        System.out.println("node=" + new TransactionDAOImpl().claimIdNode(TimeOrderedIdGenerator.NODE_COUNT));
+        System.out.flush();
+        System.in.read();
+    }
+
+    private static String javaCommand() {
+        return ProcessHandle.current().info().command().orElse("java");
+    }
+
+    private static void insert(int node, ProcessHandle process) throws SQLException {
+        try (Connection conn = DatabaseManager.getInstance().getWriteConnection();
+             PreparedStatement insert = conn.prepareStatement(
+                 "INSERT INTO id_nodes (node, pid, started_ms) VALUES (?, ?, ?)")) {
+            insert.setInt(1, node);
+            insert.setLong(2, process.pid());
+            insert.setLong(3, process.info().startInstant().map(Instant::toEpochMilli).orElse(0L));
+            insert.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package moneymate.database;
+
+import moneymate.interfaces.IdGenerator;
+import moneymate.model.Expense;
+import moneymate.model.Income;
+import moneymate.model.Money;
+import moneymate.model.Transaction;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * RehydrationBenchmark - cold load semua transaksi: findAll() vs cara lama
+ *
+ * Cara lama (sebelum TransactionRowReader) direplikasi di sini: kolom dibaca
+ * per nama, tanggal di-parse dari string, objek dibuat lewat constructor
+ * publik dengan ID sementara TRX%05d (String.format), lalu ID asli ditulis
+ * lewat reflection. Keduanya membaca query yang sama dari database yang sama.
+ * Per run diukur waktu & byte yang dialokasikan thread pemanggil.
+ *
+ * Database moneymate.db di working directory diisi sampai --rows baris jika
+ * jumlahnya berbeda; jalankan di direktori terpisah, bukan di data asli.
+ *
+ * Usage: mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ *        mkdir -p target/bench && cd target/bench
+ *        java -Xmx4g -cp ../test-classes:../classes:$(cat ../classpath.txt) moneymate.database.RehydrationBenchmark
+ *            [--rows 1000000] [--runs 5] [--seed 2000]
+ */
+public class RehydrationBenchmark {
+
+    private static final String SQL = "SELECT * FROM transactions ORDER BY date_epoch DESC";
+    private static final String[] CATEGORIES = {
+        "Makanan", "Transport", "Belanja", "Hiburan", "Tagihan", "Gaji", "Bonus", "Kesehatan"
+    };
+    private static final String[] PAYMENT_METHODS = { "Cash", "Debit", "Kredit", "E-Wallet" };
+    private static final int INSERT_BATCH = 10_000;
+
+    private static volatile int sink; // mencegah JIT membuang hasil load
+
+    public static void main(String[] args) throws Exception {
+        int rows = 1_000_000;
+        int runs = 5;
+        long seed = 2000;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--rows" -> rows = Integer.parseInt(args[i + 1]);
+                case "--runs" -> runs = Integer.parseInt(args[i + 1]);
+                case "--seed" -> seed = Long.parseLong(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        TransactionDAOImpl dao = new TransactionDAOImpl();
+        prepare(dao, rows, seed);
+        Field idField = Transaction.class.getDeclaredField("transactionId");
+        IdGenerator generator = Transaction.getIdGenerator();
+
+        System.out.println("rows: " + rows + ", runs: " + runs);
+        System.out.println(String.format("%5s %12s %12s %12s %12s", "run", "legacy ms", "legacy MB", "findAll ms", "findAll MB"));
+        double[][] results = new double[4][runs];
+        try {
+            // Run 0 = warmup, tidak dihitung
+            for (int run = 0; run <= runs; run++) {
+                Transaction.setIdGenerator(new CounterIdGenerator());
+                double[] legacy = measure(() -> loadLegacy(idField));
+                Transaction.setIdGenerator(generator);
+                double[] current = measure(dao::findAll);
+                if (run == 0) {
+                    continue;
+                }
+                System.out.println(String.format("%5d %12.0f %12.0f %12.0f %12.0f",
+                    run, legacy[0], legacy[1], current[0], current[1]));
+                results[0][run - 1] = legacy[0];
+                results[1][run - 1] = legacy[1];
+                results[2][run - 1] = current[0];
+                results[3][run - 1] = current[1];
+            }
+        } finally {
+            Transaction.setIdGenerator(generator);
+            DatabaseManager.getInstance().closeConnection();
+        }
+        System.out.println(String.format("%5s %12.0f %12.0f %12.0f %12.0f", "med",
+            median(results[0]), median(results[1]), median(results[2]), median(results[3])));
+    }
+
+    /**
+     * Isi database sampai tepat rows baris (data acak, seed tetap)
+     */
+    private static void prepare(TransactionDAOImpl dao, int rows, long seed) throws SQLException {
+        if (count() == rows) {
+            return;
+        }
+        System.out.println("Generating " + rows + " rows...");
+        dao.deleteAll();
+        Random random = new Random(seed);
+        LocalDate base = LocalDate.of(2015, 1, 1);
+        List<Transaction> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < rows; i++) {
+            LocalDate date = base.plusDays(random.nextInt(3_650));
+            Money amount = Money.ofMinor(1_000 + random.nextInt(1_000_000));
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            batch.add(random.nextInt(4) == 0
+                ? new Income(amount, "income " + i, date, category, "Kantor")
+                : new Expense(amount, "expense " + i, date, category,
+                              PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)], random.nextInt(10) == 0));
+            if (batch.size() == INSERT_BATCH) {
+                dao.saveAll(batch);
+                batch.clear();
+            }
+        }
+        dao.saveAll(batch);
+    }
+
+    private static int count() throws SQLException {
+        try (Connection conn = DatabaseManager.getInstance().getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM transactions")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Load {
+        List<Transaction> run() throws Exception;
+    }
+
+    /**
+     * @return { ms, MB dialokasikan thread ini }
+     */
+    private static double[] measure(Load load) throws Exception {
+        System.gc();
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        List<Transaction> loaded = load.run();
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+        sink = loaded.size();
+        return new double[] { elapsed / 1e6, allocated / (1024.0 * 1024.0) };
+    }
+
+    /**
+     * Materialisasi baris seperti createTransactionFromResultSet sebelum TransactionRowReader
+     */
+    private static List<Transaction> loadLegacy(Field idField) throws Exception {
+        List<Transaction> transactions = new ArrayList<>();
+        try (Connection conn = DatabaseManager.getInstance().getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SQL)) {
+            while (rs.next()) {
+                String type = rs.getString("transaction_type");
+                double amount = rs.getDouble("amount");
+                String description = rs.getString("description");
+                LocalDate date = LocalDate.parse(rs.getString("date"));
+                String category = rs.getString("category");
+
+                Transaction transaction;
+                if (type.equals("PEMASUKAN")) {
+                    transaction = new Income(Money.of(amount), description, date, category, rs.getString("source"));
+                } else {
+                    transaction = new Expense(Money.of(amount), description, date, category,
+                                              rs.getString("payment_method"), rs.getInt("is_recurring") == 1);
+                }
+                idField.setAccessible(true);
+                idField.set(transaction, rs.getString("transaction_id"));
+                transactions.add(transaction);
+            }
+        }
+        return transactions;
+    }
+
+    /**
+     * Generator lama: counter + String.format (ID yang langsung ditimpa)
+     */
+    private static final class CounterIdGenerator implements IdGenerator {
+        private int counter;
+
+        @Override
+        public String nextId() {
+            return String.format("TRX%05d", ++counter);
+        }
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
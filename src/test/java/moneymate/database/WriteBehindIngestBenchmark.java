@@ -0,0 +1,155 @@
+package moneymate.database;
+
+import moneymate.model.Expense;
+import moneymate.model.Money;
+import moneymate.model.Transaction;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WriteBehindIngestBenchmark - throughput insert: SQLite langsung vs write-behind
+ *
+ * --writers thread menyimpan transaksi satu per satu (seperti satu POST per
+ * request), masing-masing --operations / writers kali. Mode:
+ * - direct: TransactionDAOImpl.save (satu commit SQLite per insert)
+ * - REQUEST / GROUP / PERIODIC: WriteBehindTransactionDAO.save lalu
+ *   awaitDurable(), sama seperti TransactionManager sebelum membalas request
+ * Per mode diukur throughput & latency yang dilihat pemanggil (accepted),
+ * lalu waktu sampai antrean selesai masuk SQLite (drain) dan throughput
+ * end-to-end (applied). Setiap run mulai dari tabel kosong & log baru.
+ *
+ * Database moneymate.db di working directory dikosongkan; jalankan di
+ * direktori terpisah, bukan di data asli.
+ *
+ * Usage: mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ *        mkdir -p target/bench && cd target/bench
+ *        java -cp ../test-classes:../classes:$(cat ../classpath.txt) moneymate.database.WriteBehindIngestBenchmark
+ *            [--writers 16] [--operations 20000] [--runs 3]
+ */
+public class WriteBehindIngestBenchmark {
+
+    private static final Path LOG = Path.of("ingest-bench.wbl");
+    private static final String[] MODES = { "direct", "REQUEST", "GROUP", "PERIODIC" };
+    private static final LocalDate BASE_DATE = LocalDate.of(2024, 1, 1);
+
+    private static final AtomicLong ids = new AtomicLong();
+
+    public static void main(String[] args) throws Exception {
+        int writers = 16;
+        int operations = 20_000;
+        int runs = 3;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--writers" -> writers = Integer.parseInt(args[i + 1]);
+                case "--operations" -> operations = Integer.parseInt(args[i + 1]);
+                case "--runs" -> runs = Integer.parseInt(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        int perWriter = Math.max(1, operations / writers);
+
+        TransactionDAOImpl delegate = new TransactionDAOImpl();
+        System.out.println("writers: " + writers + ", operations: " + perWriter * writers + ", runs: " + runs);
+        System.out.println(String.format("%10s %14s %12s %12s %10s %14s", "mode",
+            "accepted op/s", "mean us", "p99 us", "drain ms", "applied op/s"));
+        try {
+            for (String mode : MODES) {
+                double[][] results = new double[5][runs];
+                // Run 0 = warmup, tidak dihitung
+                for (int run = 0; run <= runs; run++) {
+                    double[] result = measure(delegate, mode, writers, perWriter);
+                    if (run > 0) {
+                        for (int k = 0; k < result.length; k++) {
+                            results[k][run - 1] = result[k];
+                        }
+                    }
+                }
+                System.out.println(String.format("%10s %14.0f %12.1f %12.1f %10.0f %14.0f", mode,
+                    median(results[0]), median(results[1]), median(results[2]), median(results[3]), median(results[4])));
+            }
+        } finally {
+            delegate.deleteAll();
+            DatabaseManager.getInstance().closeConnection();
+        }
+    }
+
+    /**
+     * @return { accepted op/s, mean us, p99 us, drain ms, applied op/s }
+     */
+    private static double[] measure(TransactionDAOImpl delegate, String mode, int writers, int perWriter)
+            throws Exception {
+        delegate.deleteAll();
+        Files.deleteIfExists(LOG);
+        WriteBehindTransactionDAO writeBehind = mode.equals("direct") ? null
+            : new WriteBehindTransactionDAO(delegate, LOG, WriteBehindTransactionDAO.Durability.valueOf(mode));
+        TransactionDAO dao = writeBehind == null ? delegate : writeBehind;
+
+        long[][] nanos = new long[writers][perWriter];
+        Exception[] failures = new Exception[writers];
+        List<Thread> threads = new ArrayList<>(writers);
+        long start = System.nanoTime();
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    for (int i = 0; i < perWriter; i++) {
+                        Transaction transaction = next();
+                        long begin = System.nanoTime();
+                        dao.save(transaction);
+                        dao.awaitDurable();
+                        nanos[writer][i] = System.nanoTime() - begin;
+                    }
+                } catch (Exception e) {
+                    failures[writer] = e;
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long accepted = System.nanoTime() - start;
+        for (Exception failure : failures) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        if (writeBehind != null) {
+            writeBehind.awaitApplied();
+        }
+        long applied = System.nanoTime() - start;
+        if (writeBehind != null) {
+            writeBehind.close();
+        }
+        Files.deleteIfExists(LOG);
+
+        long[] all = Arrays.stream(nanos).flatMapToLong(Arrays::stream).toArray();
+        Arrays.sort(all);
+        double total = all.length;
+        return new double[] {
+            total / (accepted / 1e9),
+            Arrays.stream(all).average().orElse(0) / 1_000.0,
+            all[(int) Math.min(all.length - 1, Math.ceil(all.length * 0.99) - 1)] / 1_000.0,
+            (applied - accepted) / 1e6,
+            total / (applied / 1e9)
+        };
+    }
+
+    private static Transaction next() {
+        long i = ids.incrementAndGet();
+        return Expense.restore(String.format("BENCH%010d", i), Money.ofMinor(1_000 + i % 100_000),
+                               "ingest " + i, BASE_DATE.plusDays(i % 365), "Makanan", "Cash", false);
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,217 @@
+package moneymate.util;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LoadTest - load test sederhana untuk REST API MoneyMate
+ *
+ * N client berjalan bersamaan (masing-masing satu virtual thread dengan
+ * koneksi HTTP keep-alive), mengirim campuran request baca (balance, halaman
+ * transaksi, search) dan sebagian kecil POST. Hasil: throughput dan latency
+ * p50/p90/p99/max. Dipakai oleh load-test.sh untuk membandingkan mode
+ * virtual thread dan platform thread.
+ *
+ * Usage: mvn test-compile
+ *        java -cp target/test-classes moneymate.util.LoadTest
+ *            [--url http://localhost:8080/api] [--clients 1000]
+ *            [--duration 30] [--warmup 5] [--writes 0.05] [--seed 2000] [--label name]
+ */
+public class LoadTest {
+
+    private static final String[] CATEGORIES = { "Makanan", "Transport", "Belanja", "Hiburan", "Tagihan" };
+    private static final String[] WORDS = { "makan", "bensin", "pulsa", "kopi", "listrik", "buku", "tiket" };
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final int clients;
+    private final Duration duration;
+    private final Duration warmup;
+    private final double writeRatio;
+
+    private final AtomicLong errors = new AtomicLong();
+    private final Queue<long[]> recorded = new ConcurrentLinkedQueue<>();
+
+    public LoadTest(String baseUrl, int clients, Duration duration, Duration warmup, double writeRatio) {
+        this.baseUrl = baseUrl;
+        this.clients = clients;
+        this.duration = duration;
+        this.warmup = warmup;
+        this.writeRatio = writeRatio;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = "http://localhost:8080/api";
+        int clients = 1000;
+        int duration = 30;
+        int warmup = 5;
+        double writes = 0.05;
+        int seed = 2000;
+        String label = "run";
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--url" -> url = args[i + 1];
+                case "--clients" -> clients = Integer.parseInt(args[i + 1]);
+                case "--duration" -> duration = Integer.parseInt(args[i + 1]);
+                case "--warmup" -> warmup = Integer.parseInt(args[i + 1]);
+                case "--writes" -> writes = Double.parseDouble(args[i + 1]);
+                case "--seed" -> seed = Integer.parseInt(args[i + 1]);
+                case "--label" -> label = args[i + 1];
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        LoadTest test = new LoadTest(url, clients, Duration.ofSeconds(duration), Duration.ofSeconds(warmup), writes);
+        test.seed(seed);
+        Result result = test.run();
+        System.out.println(result.format(label));
+    }
+
+    /**
+     * Isi data awal lewat API supaya query baca punya data
+     */
+    public void seed(int count) throws IOException, InterruptedException {
+        for (int i = 0; i < count; i++) {
+            send(postTransaction(i % 10 == 0 ? "income" : "expense"));
+        }
+    }
+
+    /**
+     * Jalankan semua client sampai durasi habis; latency dicatat setelah warmup
+     */
+    public Result run() throws InterruptedException {
+        long start = System.nanoTime();
+        long recordFrom = start + warmup.toNanos();
+        long end = recordFrom + duration.toNanos();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                workers.execute(() -> runClient(recordFrom, end));
+            }
+        }
+
+        long[] latencies = merge();
+        long measuredNanos = Math.max(1, System.nanoTime() - recordFrom);
+        return new Result(clients, latencies, errors.get(), measuredNanos);
+    }
+
+    private void runClient(long recordFrom, long end) {
+        long[] samples = new long[1024];
+        int count = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            HttpRequest request = nextRequest(random);
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                long latency = System.nanoTime() - now;
+                if (response.statusCode() >= 400) {
+                    errors.incrementAndGet();
+                } else if (now >= recordFrom) {
+                    if (count == samples.length) {
+                        samples = Arrays.copyOf(samples, count * 2);
+                    }
+                    samples[count++] = latency;
+                }
+            } catch (IOException e) {
+                errors.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        recorded.add(Arrays.copyOf(samples, count));
+    }
+
+    private HttpRequest nextRequest(ThreadLocalRandom random) {
+        if (random.nextDouble() < writeRatio) {
+            return postTransaction(random.nextInt(4) == 0 ? "income" : "expense");
+        }
+        return switch (random.nextInt(4)) {
+            case 0 -> get("/balance");
+            case 1 -> get("/transactions?limit=20");
+            case 2 -> get("/transactions?type=expense&limit=20&category="
+                + CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            default -> get("/transactions/search?q=" + WORDS[random.nextInt(WORDS.length)]);
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest postTransaction(String type) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+        String word = WORDS[random.nextInt(WORDS.length)];
+        String body = "income".equals(type)
+            ? String.format("{\"type\":\"income\",\"amount\":%d,\"description\":\"Gaji %s\","
+                + "\"date\":\"%s\",\"category\":\"Gaji\",\"source\":\"Load test\"}",
+                1_000_000, word, LocalDate.now())
+            : String.format("{\"type\":\"expense\",\"amount\":%d,\"description\":\"Beli %s\","
+                + "\"date\":\"%s\",\"category\":\"%s\",\"paymentMethod\":\"Cash\"}",
+                1_000 + random.nextInt(50_000), word, LocalDate.now().minusDays(random.nextInt(365)), category);
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/transactions"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    private void send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() >= 400) {
+            throw new IOException("Seed request failed: HTTP " + response.statusCode());
+        }
+    }
+
+    private long[] merge() {
+        long[] all = recorded.stream().flatMapToLong(Arrays::stream).toArray();
+        Arrays.sort(all);
+        return all;
+    }
+
+    /**
+     * Hasil satu run - latency dalam nanodetik, sudah terurut
+     */
+    public record Result(int clients, long[] latencies, long errors, long measuredNanos) {
+
+        public double throughput() {
+            return latencies.length / (measuredNanos / 1e9);
+        }
+
+        public double percentileMs(double percentile) {
+            if (latencies.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(latencies.length - 1, index))] / 1e6;
+        }
+
+        public String format(String label) {
+            return String.format("%-10s clients=%d requests=%d errors=%d throughput=%.0f req/s "
+                    + "p50=%.1f ms p90=%.1f ms p99=%.1f ms max=%.1f ms",
+                label, clients, latencies.length, errors, throughput(),
+                percentileMs(50), percentileMs(90), percentileMs(99), percentileMs(100));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package moneymate.util;
+
+import org.junit.jupiter.api.Test;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ID dari beberapa proses (node berbeda) pada database yang sama tidak boleh bentrok
+ */
+class TimeOrderedIdGeneratorTest {
+
+    private static final Clock FIXED = Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void generatorsWithDifferentNodesNeverCollide() {
+        // Dua proses yang sama-sama di-seed dari ID terbesar di database, jam berhenti
+        TimeOrderedIdGenerator first = new TimeOrderedIdGenerator(FIXED, 1);
+        TimeOrderedIdGenerator second = new TimeOrderedIdGenerator(FIXED, 2);
+        String seed = new TimeOrderedIdGenerator(FIXED, 3).nextId();
+        first.observe(seed);
+        second.observe(seed);
+
+        Set<String> ids = new HashSet<>();
+        String previous = seed;
+        for (int i = 0; i < 5000; i++) {
+            String a = first.nextId();
+            String b = second.nextId();
+            assertTrue(ids.add(a), a);
+            assertTrue(ids.add(b), b);
+            assertTrue(a.compareTo(previous) > 0, "ID tidak naik: " + a + " <= " + previous);
+            previous = a;
+        }
+        assertEquals(TimeOrderedIdGenerator.idLength(), previous.length());
+    }
+
+    @Test
+    void observeKeepsOwnNode() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(FIXED, 5);
+        String foreign = new TimeOrderedIdGenerator(FIXED, 900).nextId();
+        generator.observe(foreign);
+
+        String next = generator.nextId();
+        assertTrue(next.compareTo(foreign) > 0);
+        // 2 karakter terakhir = 10 bit node
+        assertEquals("05", next.substring(next.length() - 2));
+    }
+}